@@ -0,0 +1,129 @@
+package com.example.Personal_Budget_Tracker.benchmark;
+
+import com.example.Personal_Budget_Tracker.core.service.PdfChartRenderer;
+import com.example.Personal_Budget_Tracker.core.service.PdfDocumentFactory;
+import com.example.Personal_Budget_Tracker.core.service.PdfReportLayout;
+import com.example.Personal_Budget_Tracker.core.service.PdfReportRenderer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-document render time of the category breakdown export. "legacy" reproduces the
+ * previous hand-written renderer (a full text object and String.format call per cell);
+ * "layout" goes through {@link PdfReportRenderer}. Run with -prof gc to compare
+ * allocations per document.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PdfRenderBenchmark {
+    private static final float[] COLUMNS = {0, 150, 250, 350};
+    private static final String[] HEADERS = {"Category", "Amount", "Percentage", "Count"};
+    private static final PdfReportLayout.CellFormat[] FORMATS = {
+        PdfReportLayout.CellFormat.TEXT, PdfReportLayout.CellFormat.MONEY,
+        PdfReportLayout.CellFormat.PERCENT, PdfReportLayout.CellFormat.COUNT
+    };
+
+    @Param({"20", "500"})
+    private int rows;
+
+    private List<Object[]> data;
+    private PdfReportRenderer renderer;
+
+    @Setup
+    public void setUp() {
+        data = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            data.add(new Object[] {"Category " + i, 10.0 + i * 3.17, 100.0 / rows, i % 40 + 1});
+        }
+        renderer = new PdfReportRenderer(new PdfDocumentFactory(64L * 1024 * 1024, ""), new PdfChartRenderer(10));
+    }
+
+    @Benchmark
+    public byte[] layout() throws IOException {
+        PdfReportLayout layout = new PdfReportLayout("Monthly Spending Report", "Period: January 1, 2024 - January 31, 2024",
+                "Generated on January 31, 2024")
+            .heading("Summary")
+            .amount("Total Spending", 12345.67)
+            .heading("Category Breakdown")
+            .table(new PdfReportLayout.Table(COLUMNS, HEADERS, FORMATS, data));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        renderer.render(layout, out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] legacy() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            float margin = 50;
+            PDPage page = new PDPage(PDRectangle.A4);
+            document.addPage(page);
+            PDPageContentStream stream = new PDPageContentStream(document, page);
+            float y = PDRectangle.A4.getHeight() - margin;
+
+            show(stream, "Monthly Spending Report", PDType1Font.HELVETICA_BOLD, 16, margin, y);
+            y -= 24;
+            show(stream, "Period: January 1, 2024 - January 31, 2024", PDType1Font.HELVETICA, 12, margin, y);
+            y -= 36;
+            show(stream, "Summary", PDType1Font.HELVETICA_BOLD, 14, margin, y);
+            y -= 21;
+            show(stream, String.format("Total Spending: $%.2f", 12345.67), PDType1Font.HELVETICA, 12, margin, y);
+            y -= 36;
+            show(stream, "Category Breakdown", PDType1Font.HELVETICA_BOLD, 14, margin, y);
+            y -= 21;
+            y = header(stream, margin, y);
+
+            for (Object[] row : data) {
+                if (y - 12 < margin + 20) {
+                    show(stream, "Generated on January 31, 2024", PDType1Font.HELVETICA, 10, margin, margin);
+                    stream.close();
+                    page = new PDPage(PDRectangle.A4);
+                    document.addPage(page);
+                    stream = new PDPageContentStream(document, page);
+                    y = header(stream, margin, PDRectangle.A4.getHeight() - margin);
+                }
+                show(stream, (String) row[0], PDType1Font.HELVETICA, 12, margin + COLUMNS[0], y);
+                show(stream, String.format("$%.2f", row[1]), PDType1Font.HELVETICA, 12, margin + COLUMNS[1], y);
+                show(stream, String.format("%.1f%%", row[2]), PDType1Font.HELVETICA, 12, margin + COLUMNS[2], y);
+                show(stream, String.valueOf(row[3]), PDType1Font.HELVETICA, 12, margin + COLUMNS[3], y);
+                y -= 18;
+            }
+            show(stream, "Generated on January 31, 2024", PDType1Font.HELVETICA, 10, margin, margin);
+            stream.close();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static float header(PDPageContentStream stream, float margin, float y) throws IOException {
+        for (int i = 0; i < HEADERS.length; i++) {
+            show(stream, HEADERS[i], PDType1Font.HELVETICA_BOLD, 12, margin + COLUMNS[i], y);
+        }
+        return y - 18;
+    }
+
+    private static void show(PDPageContentStream stream, String text, PDFont font, float size, float x, float y)
+            throws IOException {
+        stream.beginText();
+        stream.setFont(font, size);
+        stream.newLineAtOffset(x, y);
+        stream.showText(text);
+        stream.endText();
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.Personal_Budget_Tracker.api.impl;
+
+import com.example.Personal_Budget_Tracker.core.api.categorysuggester.CategorySuggester;
+import com.example.Personal_Budget_Tracker.core.event.CategoryChangedEvent;
+import com.example.Personal_Budget_Tracker.core.service.TextNormalizer;
+import com.example.Personal_Budget_Tracker.rest.dto.SuggestionCacheStatsResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache with a time to live in front of another suggester. Descriptions are
+ * normalized before lookup, so "WALMART  #1234" and "walmart 1234" share an entry, and
+ * concurrent misses for one description share a single delegate call. Keys include the
+ * category-set version, which every category change bumps: the suggestion depends on the
+ * categories offered to the model, so entries never outlive the set they were chosen from.
+ */
+public class CachingCategorySuggester implements CategorySuggester {
+    private final CategorySuggester delegate;
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<Key, Entry> entries;
+    private final Map<Key, CompletableFuture<String>> inFlight = new HashMap<>();
+    private long categoryVersion;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong missNanos = new AtomicLong();
+    private final Logger logger = LoggerFactory.getLogger(CachingCategorySuggester.class);
+
+    public CachingCategorySuggester(CategorySuggester delegate, int maxEntries, Duration ttl) {
+        this(delegate, maxEntries, ttl, Clock.systemUTC());
+    }
+
+    CachingCategorySuggester(CategorySuggester delegate, int maxEntries, Duration ttl, Clock clock) {
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > CachingCategorySuggester.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public String suggestCategory(String description) {
+        try {
+            return suggestCategoryAsync(description).join();
+        } catch (CompletionException e) {
+            // Callers of the synchronous path see the delegate's own exception
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Concurrent misses for the same description share one delegate call: the first starts
+     * it and the others join its future, which is removed once the answer is cached.
+     */
+    @Override
+    public CompletableFuture<String> suggestCategoryAsync(String description) {
+        Key key;
+        CompletableFuture<String> shared;
+        synchronized (this) {
+            key = new Key(TextNormalizer.normalize(description), categoryVersion);
+            String cached = lookup(key, clock.millis());
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+            CompletableFuture<String> pending = inFlight.get(key);
+            if (pending != null) {
+                coalesced.incrementAndGet();
+                return pending;
+            }
+            shared = new CompletableFuture<>();
+            inFlight.put(key, shared);
+        }
+
+        misses.incrementAndGet();
+        long started = System.nanoTime();
+        CompletableFuture<String> answer;
+        try {
+            answer = delegate.suggestCategoryAsync(description);
+        } catch (RuntimeException e) {
+            answer = CompletableFuture.failedFuture(e);
+        }
+        answer.whenComplete((category, error) -> {
+            missNanos.addAndGet(System.nanoTime() - started);
+            synchronized (this) {
+                // Cached before leaving the in-flight map, so a later caller finds one or the other
+                if (error == null) {
+                    store(key, category);
+                }
+                inFlight.remove(key, shared);
+            }
+            if (error == null) {
+                shared.complete(category);
+            } else {
+                shared.completeExceptionally(error);
+            }
+        });
+        return shared;
+    }
+
+    /**
+     * Answers cached descriptions directly and passes the rest to the delegate as one
+     * batch, asking once for descriptions that repeat within the batch.
+     */
+    @Override
+    public List<String> suggestCategories(List<String> descriptions) {
+        String[] suggestions = new String[descriptions.size()];
+        Map<Key, List<Integer>> missing = new LinkedHashMap<>();
+        List<String> missingDescriptions = new ArrayList<>();
+        synchronized (this) {
+            long now = clock.millis();
+            for (int i = 0; i < suggestions.length; i++) {
+                Key key = new Key(TextNormalizer.normalize(descriptions.get(i)), categoryVersion);
+                suggestions[i] = missing.containsKey(key) ? null : lookup(key, now);
+                if (suggestions[i] == null) {
+                    int index = i;
+                    missing.computeIfAbsent(key, k -> {
+                        missingDescriptions.add(descriptions.get(index));
+                        return new ArrayList<>();
+                    }).add(i);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return Arrays.asList(suggestions);
+        }
+
+        misses.addAndGet(missing.size());
+        long started = System.nanoTime();
+        List<String> answers = delegate.suggestCategories(missingDescriptions);
+        missNanos.addAndGet(System.nanoTime() - started);
+
+        synchronized (this) {
+            int answer = 0;
+            for (Map.Entry<Key, List<Integer>> entry : missing.entrySet()) {
+                String category = answers.get(answer++);
+                store(entry.getKey(), category);
+                for (int index : entry.getValue()) {
+                    suggestions[index] = category;
+                }
+            }
+        }
+        return Arrays.asList(suggestions);
+    }
+
+    private String lookup(Key key, long now) {
+        Entry cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (now < cached.expiresAt) {
+            hits.incrementAndGet();
+            return cached.category;
+        }
+        entries.remove(key);
+        evictions.incrementAndGet();
+        return null;
+    }
+
+    private void store(Key key, String category) {
+        // A category change while the delegate was running makes the answer stale. The
+        // fallback is also what failures and timeouts answer, so it is never kept.
+        if (category != null && !category.isEmpty() && !FALLBACK_CATEGORY.equals(category)
+                && key.version == categoryVersion) {
+            entries.put(key, new Entry(category, clock.millis() + ttl.toMillis()));
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        categoryVersion++;
+        invalidations.addAndGet(entries.size());
+        entries.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        // Even a new category changes the choices offered to the model
+        logger.debug("Category {} {}, clearing suggestion cache", event.getCategoryId(), event.getChange());
+        invalidateAll();
+    }
+
+    /**
+     * Time saved is estimated as the average delegate latency on a miss times the number of
+     * hits and coalesced requests.
+     */
+    public synchronized SuggestionCacheStatsResponse getStats() {
+        long missCount = misses.get();
+        double averageMissMillis = missCount == 0 ? 0.0 : missNanos.get() / 1_000_000.0 / missCount;
+        return new SuggestionCacheStatsResponse(entries.size(), hits.get(), missCount, coalesced.get(),
+                evictions.get(), invalidations.get(), averageMissMillis,
+                (long) (averageMissMillis * (hits.get() + coalesced.get())));
+    }
+
+    private static final class Key {
+        private final String description;
+        private final long version;
+
+        private Key(String description, long version) {
+            this.description = description;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return version == other.version && description.equals(other.description);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(description, version);
+        }
+    }
+
+    private static final class Entry {
+        private final String category;
+        private final long expiresAt;
+
+        private Entry(String category, long expiresAt) {
+            this.category = category;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
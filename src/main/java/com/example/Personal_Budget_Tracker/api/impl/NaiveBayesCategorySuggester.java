@@ -0,0 +1,284 @@
+package com.example.Personal_Budget_Tracker.api.impl;
+
+import com.example.Personal_Budget_Tracker.core.api.categorysuggester.CategorySuggester;
+import com.example.Personal_Budget_Tracker.core.event.CategoryChangedEvent;
+import com.example.Personal_Budget_Tracker.core.event.TransactionChangedEvent;
+import com.example.Personal_Budget_Tracker.core.repository.TransactionRepository;
+import com.example.Personal_Budget_Tracker.core.repository.projection.LabeledDescription;
+import com.example.Personal_Budget_Tracker.core.service.CategoryRegistry;
+import com.example.Personal_Budget_Tracker.core.service.TextNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-process naive Bayes classifier over the words of transaction descriptions, trained on
+ * every transaction a user categorized at startup and kept current from committed transaction
+ * changes. Categories assigned by the background categorizer are left out, so the model
+ * never learns from its own guesses. A suggestion is answered locally when the model's posterior probability for the
+ * best category reaches the confidence threshold; otherwise, or while the model has seen
+ * too few examples, the description goes to the delegate.
+ * <p>
+ * Each description counts a word once, which suits short merchant strings better than raw
+ * word counts. Words made only of digits, such as store numbers, are ignored. The model is
+ * statistical, so a write counted twice while the startup load runs is harmless.
+ */
+public class NaiveBayesCategorySuggester implements CategorySuggester {
+    private final CategorySuggester delegate;
+    private final TransactionRepository transactionRepository;
+    private final CategoryRegistry categoryRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final double minConfidence;
+    private final int minExamples;
+    private final AtomicLong localAnswers = new AtomicLong();
+    private final AtomicLong delegatedAnswers = new AtomicLong();
+    private final Logger logger = LoggerFactory.getLogger(NaiveBayesCategorySuggester.class);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock
+    private final Map<Long, CategoryCounts> categories = new HashMap<>();
+    private final Map<String, Integer> vocabulary = new HashMap<>();
+    private int examples;
+
+    public NaiveBayesCategorySuggester(CategorySuggester delegate, TransactionRepository transactionRepository,
+                                       CategoryRegistry categoryRegistry,
+                                       PlatformTransactionManager transactionManager,
+                                       double minConfidence, int minExamples) {
+        this.delegate = delegate;
+        this.transactionRepository = transactionRepository;
+        this.categoryRegistry = categoryRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.minConfidence = minConfidence;
+        this.minExamples = minExamples;
+    }
+
+    public long getLocalAnswers() {
+        return localAnswers.get();
+    }
+
+    public long getDelegatedAnswers() {
+        return delegatedAnswers.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void train() {
+        int[] trained = {0};
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<LabeledDescription> rows = transactionRepository.streamLabeledDescriptions()) {
+                rows.forEach(row -> {
+                    learn(row.getDescription(), row.getCategoryId(), 1);
+                    trained[0]++;
+                });
+            }
+        });
+        logger.info("Trained local category model on {} transactions", trained[0]);
+    }
+
+    @Override
+    public String suggestCategory(String description) {
+        String local = classify(description);
+        if (local != null) {
+            localAnswers.incrementAndGet();
+            return local;
+        }
+        delegatedAnswers.incrementAndGet();
+        return delegate.suggestCategory(description);
+    }
+
+    @Override
+    public CompletableFuture<String> suggestCategoryAsync(String description) {
+        String local = classify(description);
+        if (local != null) {
+            localAnswers.incrementAndGet();
+            return CompletableFuture.completedFuture(local);
+        }
+        delegatedAnswers.incrementAndGet();
+        return delegate.suggestCategoryAsync(description);
+    }
+
+    /**
+     * Classifies every description locally and sends only the unconfident ones to the
+     * delegate, as one batch.
+     */
+    @Override
+    public List<String> suggestCategories(List<String> descriptions) {
+        List<String> suggestions = new ArrayList<>(descriptions.size());
+        List<Integer> unresolved = new ArrayList<>();
+        for (int i = 0; i < descriptions.size(); i++) {
+            String local = classify(descriptions.get(i));
+            suggestions.add(local);
+            if (local == null) {
+                unresolved.add(i);
+            }
+        }
+        localAnswers.addAndGet(descriptions.size() - unresolved.size());
+        if (unresolved.isEmpty()) {
+            return suggestions;
+        }
+
+        delegatedAnswers.addAndGet(unresolved.size());
+        List<String> pending = new ArrayList<>(unresolved.size());
+        for (int index : unresolved) {
+            pending.add(descriptions.get(index));
+        }
+        List<String> answers = delegate.suggestCategories(pending);
+        for (int i = 0; i < unresolved.size(); i++) {
+            suggestions.set(unresolved.get(i), answers.get(i));
+        }
+        return suggestions;
+    }
+
+    /**
+     * The lower-cased name of the most probable category, or null when the model has too
+     * few examples, knows none of the words, or is less confident than the threshold.
+     */
+    String classify(String description) {
+        Set<String> words = words(description);
+        lock.readLock().lock();
+        try {
+            if (examples < minExamples || categories.isEmpty()) {
+                return null;
+            }
+            List<String> known = new ArrayList<>(words.size());
+            for (String word : words) {
+                if (vocabulary.containsKey(word)) {
+                    known.add(word);
+                }
+            }
+            if (known.isEmpty()) {
+                return null;
+            }
+
+            // Log-space scores, then the posterior of the best one relative to all of them
+            int vocabularySize = vocabulary.size();
+            Long best = null;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            double[] scores = new double[categories.size()];
+            int c = 0;
+            for (Map.Entry<Long, CategoryCounts> entry : categories.entrySet()) {
+                CategoryCounts counts = entry.getValue();
+                double score = Math.log((double) counts.examples / examples);
+                double denominator = Math.log(counts.words + vocabularySize);
+                for (String word : known) {
+                    score += Math.log(counts.wordCounts.getOrDefault(word, 0) + 1) - denominator;
+                }
+                scores[c++] = score;
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = entry.getKey();
+                }
+            }
+            double sum = 0;
+            for (double score : scores) {
+                sum += Math.exp(score - bestScore);
+            }
+            double confidence = 1 / sum;
+            String name = categoryRegistry.snapshot().nameOf(best);
+            return confidence >= minConfidence && name != null ? name.toLowerCase() : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        TransactionChangedEvent.Snapshot previous = event.getPrevious();
+        TransactionChangedEvent.Snapshot current = event.getCurrent();
+        // Automatic categories were never learned, so they are neither added nor taken back
+        if (previous != null && !previous.isAutomatic()) {
+            learn(previous.getDescription(), previous.getCategoryId(), -1);
+        }
+        if (current != null && !current.isAutomatic()) {
+            learn(current.getDescription(), current.getCategoryId(), 1);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.getChange() != CategoryChangedEvent.Change.DELETED) {
+            // Names are read from the category registry, so renames need nothing here
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            CategoryCounts removed = categories.remove(event.getCategoryId());
+            if (removed != null) {
+                examples -= removed.examples;
+                removed.wordCounts.forEach((word, count) -> forget(word, count));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds (delta 1) or removes (delta -1) one example.
+     */
+    private void learn(String description, Long categoryId, int delta) {
+        if (description == null || categoryId == null) {
+            return;
+        }
+        Set<String> words = words(description);
+        lock.writeLock().lock();
+        try {
+            CategoryCounts counts = delta > 0
+                    ? categories.computeIfAbsent(categoryId, id -> new CategoryCounts())
+                    : categories.get(categoryId);
+            if (counts == null) {
+                // Removing an example the model never saw, e.g. of a deleted category
+                return;
+            }
+            counts.examples += delta;
+            examples += delta;
+            for (String word : words) {
+                counts.words += delta;
+                if (counts.wordCounts.merge(word, delta, Integer::sum) <= 0) {
+                    counts.wordCounts.remove(word);
+                }
+                if (delta > 0) {
+                    vocabulary.merge(word, 1, Integer::sum);
+                } else {
+                    forget(word, 1);
+                }
+            }
+            if (counts.examples <= 0) {
+                categories.remove(categoryId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void forget(String word, int count) {
+        if (vocabulary.merge(word, -count, Integer::sum) <= 0) {
+            vocabulary.remove(word);
+        }
+    }
+
+    static Set<String> words(String description) {
+        Set<String> words = new LinkedHashSet<>();
+        for (String word : TextNormalizer.normalize(description).split(" ")) {
+            if (word.length() > 1 && !word.chars().allMatch(Character::isDigit)) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static final class CategoryCounts {
+        private int examples;
+        private long words;
+        private final Map<String, Integer> wordCounts = new HashMap<>();
+    }
+}
@@ -1,34 +1,73 @@
 package com.example.Personal_Budget_Tracker.api.impl;
 
 import com.example.Personal_Budget_Tracker.core.api.categorysuggester.CategorySuggester;
-import com.example.Personal_Budget_Tracker.core.repository.CategoryRepository;
+import com.example.Personal_Budget_Tracker.core.service.CategoryRegistry;
 import com.theokanning.openai.completion.CompletionRequest;
 import com.theokanning.openai.service.OpenAiService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import java.util.stream.Collectors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Component
 public class OpenAICategorySuggester implements CategorySuggester {
+    // "12. groceries", also accepting "12)" or "12:" as the separator
+    private static final Pattern ANSWER_LINE = Pattern.compile("^\\s*(\\d{1,9})\\s*[.):]\\s*(\\S.*)$");
+
     private final OpenAiService openAiService;
-    private final CategoryRepository categoryRepository;
+    private final CategoryRegistry categoryRegistry;
+    private final int chunkSize;
+    private final ExecutorService executor;
     private final Logger logger = LoggerFactory.getLogger(OpenAICategorySuggester.class);
 
-    public OpenAICategorySuggester(OpenAiService openAiService, CategoryRepository categoryRepository) {
+    public OpenAICategorySuggester(OpenAiService openAiService, CategoryRegistry categoryRegistry,
+                                   @Value("${openai.batch.chunk-size:25}") int chunkSize,
+                                   @Value("${openai.batch.concurrency:4}") int concurrency) {
         this.openAiService = openAiService;
-        this.categoryRepository = categoryRepository;
+        this.categoryRegistry = categoryRegistry;
+        this.chunkSize = Math.max(1, chunkSize);
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, concurrency), runnable -> {
+            Thread thread = new Thread(runnable, "suggest-batch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     @Override
     public String suggestCategory(String description) {
+        try {
+            return requestCategory(description);
+        } catch (Exception e) {
+            logger.error("Error getting category suggestion from OpenAI: {}", e.getMessage(), e);
+            return FALLBACK_CATEGORY;
+        }
+    }
+
+    /**
+     * Asks the model for one description on the calling thread. Unlike
+     * {@link #suggestCategory(String)}, failures are thrown rather than answered with the
+     * fallback category, so a caller can tell them apart from a real answer.
+     */
+    public String requestCategory(String description) {
         logger.info("Generating category suggestion for: {}", description);
         
         // Get all available categories
-        String availableCategories = categoryRepository.findAll()
-            .stream()
-            .map(category -> category.getName().toLowerCase())
-            .collect(Collectors.joining(", "));
+        String availableCategories = availableCategories();
         
         String prompt = String.format(
             "Given this transaction description: '%s'\n" +
@@ -41,23 +80,165 @@ public class OpenAICategorySuggester implements CategorySuggester {
         
         logger.debug("Sending prompt to OpenAI: {}", prompt);
         
+        CompletionRequest completionRequest = CompletionRequest.builder()
+                .prompt(prompt)
+                .model("gpt-3.5-turbo-instruct")
+                .maxTokens(10)
+                .temperature(0.1)
+                .build();
+        
+        String response = openAiService.createCompletion(completionRequest)
+                .getChoices().get(0).getText().trim().toLowerCase();
+        
+        logger.info("OpenAI suggested category: {}", response);
+        return response;
+    }
+
+    /**
+     * Packs up to openai.batch.chunk-size descriptions into each completion request and
+     * runs the chunks on a pool of openai.batch.concurrency threads. Descriptions the
+     * model leaves out of its answer are asked again in one follow-up request; a chunk
+     * whose requests fail gets the fallback category for every description, as a single
+     * call would.
+     */
+    @Override
+    public List<String> suggestCategories(List<String> descriptions) {
+        if (descriptions.isEmpty()) {
+            return List.of();
+        }
+        logger.info("Generating category suggestions for {} descriptions", descriptions.size());
+        String availableCategories = availableCategories();
+
+        List<Future<String[]>> chunks = new ArrayList<>();
+        for (int from = 0; from < descriptions.size(); from += chunkSize) {
+            List<String> chunk = descriptions.subList(from, Math.min(from + chunkSize, descriptions.size()));
+            chunks.add(executor.submit(() -> suggestChunk(chunk, availableCategories)));
+        }
+
+        List<String> suggestions = new ArrayList<>(descriptions.size());
         try {
-            CompletionRequest completionRequest = CompletionRequest.builder()
-                    .prompt(prompt)
-                    .model("gpt-3.5-turbo-instruct")
-                    .maxTokens(10)
-                    .temperature(0.1)
-                    .build();
-            
-            String response = openAiService.createCompletion(completionRequest)
-                    .getChoices().get(0).getText().trim().toLowerCase();
-            
-            logger.info("OpenAI suggested category: {}", response);
-            return response;
-            
+            for (Future<String[]> chunk : chunks) {
+                suggestions.addAll(Arrays.asList(chunk.get()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw new RuntimeException("Interrupted while suggesting categories", e);
+        } catch (ExecutionException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw new RuntimeException("Failed to suggest categories", e.getCause());
+        }
+        return suggestions;
+    }
+
+    private String[] suggestChunk(List<String> descriptions, String availableCategories) {
+        try {
+            return requestChunk(descriptions, availableCategories);
         } catch (Exception e) {
-            logger.error("Error getting category suggestion from OpenAI: {}", e.getMessage(), e);
-            return "other"; // fallback category
+            logger.error("Error getting batch category suggestions from OpenAI: {}", e.getMessage(), e);
+            String[] suggestions = new String[descriptions.size()];
+            Arrays.fill(suggestions, FALLBACK_CATEGORY);
+            return suggestions;
+        }
+    }
+
+    /**
+     * Asks the model for one chunk of descriptions in a single completion request on the
+     * calling thread, plus one follow-up request for any descriptions the model left out.
+     * Like {@link #requestCategory(String)}, a failed request, or descriptions still
+     * unanswered after the follow-up, are thrown rather than answered with the fallback.
+     */
+    public List<String> requestCategories(List<String> descriptions) {
+        return Arrays.asList(requestChunk(descriptions, availableCategories()));
+    }
+
+    private String[] requestChunk(List<String> descriptions, String availableCategories) {
+        String[] suggestions = askChunk(descriptions, availableCategories);
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < suggestions.length; i++) {
+            if (suggestions[i] == null) {
+                missing.add(i);
+            }
+        }
+        if (missing.isEmpty()) {
+            return suggestions;
+        }
+        logger.warn("OpenAI left {} of {} descriptions unanswered, asking for them again",
+                missing.size(), descriptions.size());
+
+        String[] retried;
+        if (missing.size() == 1) {
+            retried = new String[] {requestCategory(descriptions.get(missing.get(0)))};
+        } else {
+            List<String> retry = new ArrayList<>(missing.size());
+            missing.forEach(i -> retry.add(descriptions.get(i)));
+            retried = askChunk(retry, availableCategories);
+        }
+        for (int i = 0; i < retried.length; i++) {
+            if (retried[i] == null) {
+                throw new IllegalStateException("OpenAI left " + Arrays.stream(retried).filter(Objects::isNull).count()
+                        + " of " + descriptions.size() + " descriptions unanswered after a retry");
+            }
+            suggestions[missing.get(i)] = retried[i];
+        }
+        return suggestions;
+    }
+
+    // Answers the model left out stay null
+    private String[] askChunk(List<String> descriptions, String availableCategories) {
+        StringBuilder prompt = new StringBuilder(64 * descriptions.size() + 256)
+            .append("Categorize each of these transaction descriptions:\n");
+        for (int i = 0; i < descriptions.size(); i++) {
+            // One description per line, so embedded line breaks would shift the numbering
+            String description = descriptions.get(i) == null ? "" : descriptions.get(i).replaceAll("[\\r\\n]+", " ");
+            prompt.append(i + 1).append(". ").append(description).append('\n');
+        }
+        prompt.append("Choose ONLY from these available categories: ").append(availableCategories).append('\n')
+            .append("Reply with one line per description in the form '<number>. <category>', ")
+            .append("with the category name in lowercase and nothing else.");
+
+        CompletionRequest completionRequest = CompletionRequest.builder()
+                .prompt(prompt.toString())
+                .model("gpt-3.5-turbo-instruct")
+                .maxTokens(12 * descriptions.size())
+                .temperature(0.1)
+                .build();
+
+        String response = openAiService.createCompletion(completionRequest)
+                .getChoices().get(0).getText();
+        String[] suggestions = new String[descriptions.size()];
+        parseAnswers(response, suggestions);
+        return suggestions;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    // Shared with ResilientCategorySuggester, so openai.batch.concurrency bounds its chunks as well
+    ExecutorService getBatchExecutor() {
+        return executor;
+    }
+
+    static void parseAnswers(String response, String[] suggestions) {
+        for (String line : response.split("\\R")) {
+            Matcher matcher = ANSWER_LINE.matcher(line);
+            if (!matcher.matches()) {
+                continue;
+            }
+            int index = Integer.parseInt(matcher.group(1)) - 1;
+            if (index >= 0 && index < suggestions.length && suggestions[index] == null) {
+                suggestions[index] = matcher.group(2).trim().toLowerCase();
+            }
         }
     }
+
+    private String availableCategories() {
+        return categoryRegistry.snapshot().getPromptNames();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
 }
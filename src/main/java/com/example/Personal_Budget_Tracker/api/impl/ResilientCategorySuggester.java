@@ -0,0 +1,296 @@
+package com.example.Personal_Budget_Tracker.api.impl;
+
+import com.example.Personal_Budget_Tracker.core.api.categorysuggester.CategorySuggester;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Runs single OpenAI suggestions on a dedicated, bounded pool so a slow model ties up these
+ * threads instead of the web server's. Every call has a deadline that includes its time in
+ * the queue; a call that misses it, fails, or finds the pool and queue full is answered
+ * with the fallback category. After enough consecutive failures the circuit opens and calls
+ * get the fallback without reaching OpenAI until a single trial call succeeds again.
+ * <p>
+ * Batches are split into chunks that run on the OpenAI suggester's own batch pool, sized by
+ * openai.batch.concurrency, so a large batch never fills the pool single calls rely on. Each
+ * chunk checks the circuit and starts its deadline only when it begins running, so chunks
+ * waiting behind others neither time out nor count as failures; a chunk that runs and fails
+ * counts as one failed call. Chunks are not hedged.
+ * <p>
+ * With a hedge delay set, a call still unanswered after that delay is sent a second time
+ * and the first answer wins; the loser is cancelled. Hedging trims slow outliers at the
+ * cost of extra requests, so it is off by default.
+ */
+public class ResilientCategorySuggester implements CategorySuggester {
+    public enum CircuitState { CLOSED, OPEN, HALF_OPEN }
+
+    private final OpenAICategorySuggester delegate;
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService batchExecutor;
+    private final Duration timeout;
+    private final Duration hedgeDelay;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong rejections = new AtomicLong();
+    private final AtomicLong shortCircuits = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final Logger logger = LoggerFactory.getLogger(ResilientCategorySuggester.class);
+
+    // Guarded by this
+    private CircuitState state = CircuitState.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    public ResilientCategorySuggester(OpenAICategorySuggester delegate, int threads, int queueCapacity,
+                                      Duration timeout, Duration hedgeDelay, int failureThreshold,
+                                      Duration openDuration) {
+        this(delegate, threads, queueCapacity, timeout, hedgeDelay, failureThreshold, openDuration,
+                Clock.systemUTC());
+    }
+
+    ResilientCategorySuggester(OpenAICategorySuggester delegate, int threads, int queueCapacity,
+                               Duration timeout, Duration hedgeDelay, int failureThreshold,
+                               Duration openDuration, Clock clock) {
+        this.delegate = delegate;
+        this.batchExecutor = delegate.getBatchExecutor();
+        this.timeout = timeout;
+        this.hedgeDelay = hedgeDelay;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDuration = openDuration;
+        this.clock = clock;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                    Thread thread = new Thread(runnable, "suggest-call-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public String suggestCategory(String description) {
+        return suggestCategoryAsync(description).join();
+    }
+
+    /**
+     * Never completes exceptionally: every failure is answered with the fallback category.
+     */
+    @Override
+    public CompletableFuture<String> suggestCategoryAsync(String description) {
+        return call(() -> delegate.requestCategory(description), FALLBACK_CATEGORY, 1);
+    }
+
+    /**
+     * Sends each chunk of openai.batch.chunk-size descriptions as one call; a chunk that is
+     * short-circuited, late or failed gets the fallback for all its descriptions.
+     */
+    @Override
+    public List<String> suggestCategories(List<String> descriptions) {
+        int chunkSize = delegate.getChunkSize();
+        List<CompletableFuture<List<String>>> chunks = new ArrayList<>();
+        for (int from = 0; from < descriptions.size(); from += chunkSize) {
+            chunks.add(suggestChunk(descriptions.subList(from, Math.min(from + chunkSize, descriptions.size()))));
+        }
+
+        List<String> suggestions = new ArrayList<>(descriptions.size());
+        chunks.forEach(chunk -> suggestions.addAll(chunk.join()));
+        return suggestions;
+    }
+
+    private CompletableFuture<List<String>> suggestChunk(List<String> chunk) {
+        List<String> fallback = Collections.nCopies(chunk.size(), FALLBACK_CATEGORY);
+        CompletableFuture<List<String>> result = new CompletableFuture<>();
+        AtomicReference<Future<?>> attempt = new AtomicReference<>();
+        AtomicBoolean shortCircuited = new AtomicBoolean();
+        try {
+            attempt.set(batchExecutor.submit(() -> {
+                if (!allowRequest()) {
+                    shortCircuits.addAndGet(chunk.size());
+                    shortCircuited.set(true);
+                    result.complete(fallback);
+                    return;
+                }
+                // The deadline starts here, so the time spent behind other chunks never counts
+                CompletableFuture.delayedExecutor(timeout.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+                    Future<?> running = attempt.get();
+                    if (result.completeExceptionally(new TimeoutException()) && running != null) {
+                        running.cancel(true);
+                    }
+                });
+                try {
+                    result.complete(delegate.requestCategories(chunk));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            // Only once the batch pool has been shut down
+            rejections.incrementAndGet();
+            return CompletableFuture.completedFuture(fallback);
+        }
+        return result.handle((answer, error) -> shortCircuited.get() ? fallback : settle(answer, error, fallback));
+    }
+
+    private <T> CompletableFuture<T> call(Supplier<T> request, T fallback, int descriptions) {
+        if (!allowRequest()) {
+            shortCircuits.addAndGet(descriptions);
+            return CompletableFuture.completedFuture(fallback);
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Queue<Future<?>> attempts = new ConcurrentLinkedQueue<>();
+        AtomicInteger running = new AtomicInteger(1);
+        if (!attempt(request, result, attempts, running)) {
+            rejections.incrementAndGet();
+            release();
+            logger.warn("Suggestion pool is full, answering with the fallback category");
+            return CompletableFuture.completedFuture(fallback);
+        }
+        if (!hedgeDelay.isZero()) {
+            CompletableFuture.delayedExecutor(hedgeDelay.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+                if (!result.isDone()) {
+                    running.incrementAndGet();
+                    hedges.incrementAndGet();
+                    if (!attempt(request, result, attempts, running)) {
+                        running.decrementAndGet();
+                    }
+                }
+            });
+        }
+
+        // Whichever way the call ends, stop the attempts still holding pool threads
+        result.whenComplete((answer, error) -> attempts.forEach(attempt -> attempt.cancel(true)));
+        return result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((answer, error) -> settle(answer, error, fallback));
+    }
+
+    private <T> T settle(T answer, Throwable error, T fallback) {
+        if (error == null) {
+            recordSuccess();
+            return answer;
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
+            timeouts.incrementAndGet();
+            logger.warn("OpenAI suggestion timed out after {} ms", timeout.toMillis());
+        } else {
+            logger.error("Error getting category suggestion from OpenAI: {}", cause.getMessage(), cause);
+        }
+        recordFailure();
+        return fallback;
+    }
+
+    private <T> boolean attempt(Supplier<T> request, CompletableFuture<T> result, Queue<Future<?>> attempts,
+                                AtomicInteger running) {
+        Future<?> future;
+        try {
+            future = executor.submit(() -> {
+                try {
+                    result.complete(request.get());
+                } catch (RuntimeException e) {
+                    // A hedge still running may yet answer
+                    if (running.decrementAndGet() == 0) {
+                        result.completeExceptionally(e);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+        attempts.add(future);
+        if (result.isDone()) {
+            future.cancel(true);
+        }
+        return true;
+    }
+
+    private synchronized boolean allowRequest() {
+        if (state == CircuitState.CLOSED) {
+            return true;
+        }
+        if (state == CircuitState.OPEN && clock.millis() - openedAt >= openDuration.toMillis()) {
+            // This call is the trial; others keep getting the fallback until it ends
+            state = CircuitState.HALF_OPEN;
+            return true;
+        }
+        return false;
+    }
+
+    private synchronized void recordSuccess() {
+        if (state != CircuitState.CLOSED) {
+            logger.info("OpenAI answered again, closing suggestion circuit");
+        }
+        state = CircuitState.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    private synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == CircuitState.HALF_OPEN
+                || state == CircuitState.CLOSED && consecutiveFailures >= failureThreshold) {
+            logger.warn("OpenAI failed {} times in a row, opening suggestion circuit for {} s",
+                    consecutiveFailures, openDuration.toSeconds());
+            state = CircuitState.OPEN;
+            openedAt = clock.millis();
+        }
+    }
+
+    // A trial call that never ran says nothing about OpenAI, so the next call may try again
+    private synchronized void release() {
+        if (state == CircuitState.HALF_OPEN) {
+            state = CircuitState.OPEN;
+        }
+    }
+
+    public synchronized CircuitState getCircuitState() {
+        return state;
+    }
+
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    public long getRejections() {
+        return rejections.get();
+    }
+
+    public long getShortCircuits() {
+        return shortCircuits.get();
+    }
+
+    public long getHedges() {
+        return hedges.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.Personal_Budget_Tracker.api.impl;
+
+import com.example.Personal_Budget_Tracker.core.api.categorysuggester.CategorySuggester;
+import com.example.Personal_Budget_Tracker.core.model.MerchantRule;
+import com.example.Personal_Budget_Tracker.core.service.CategoryRegistry;
+import com.example.Personal_Budget_Tracker.core.service.MerchantRuleMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers from the user's merchant rules when one matches the description, and asks the
+ * delegate otherwise. Rules are explicit user choices, so they are consulted before any
+ * model.
+ */
+public class RuleBasedCategorySuggester implements CategorySuggester {
+    private final CategorySuggester delegate;
+    private final MerchantRuleMatcher merchantRuleMatcher;
+    private final CategoryRegistry categoryRegistry;
+    private final AtomicLong ruleAnswers = new AtomicLong();
+    private final AtomicLong delegatedAnswers = new AtomicLong();
+
+    public RuleBasedCategorySuggester(CategorySuggester delegate, MerchantRuleMatcher merchantRuleMatcher,
+                                      CategoryRegistry categoryRegistry) {
+        this.delegate = delegate;
+        this.merchantRuleMatcher = merchantRuleMatcher;
+        this.categoryRegistry = categoryRegistry;
+    }
+
+    public long getRuleAnswers() {
+        return ruleAnswers.get();
+    }
+
+    public long getDelegatedAnswers() {
+        return delegatedAnswers.get();
+    }
+
+    @Override
+    public String suggestCategory(String description) {
+        String matched = match(description);
+        if (matched != null) {
+            ruleAnswers.incrementAndGet();
+            return matched;
+        }
+        delegatedAnswers.incrementAndGet();
+        return delegate.suggestCategory(description);
+    }
+
+    @Override
+    public CompletableFuture<String> suggestCategoryAsync(String description) {
+        String matched = match(description);
+        if (matched != null) {
+            ruleAnswers.incrementAndGet();
+            return CompletableFuture.completedFuture(matched);
+        }
+        delegatedAnswers.incrementAndGet();
+        return delegate.suggestCategoryAsync(description);
+    }
+
+    /**
+     * Matches every description against the rules and sends only the unmatched ones to the
+     * delegate, as one batch.
+     */
+    @Override
+    public List<String> suggestCategories(List<String> descriptions) {
+        List<String> suggestions = new ArrayList<>(descriptions.size());
+        List<Integer> unmatched = new ArrayList<>();
+        for (int i = 0; i < descriptions.size(); i++) {
+            String matched = match(descriptions.get(i));
+            suggestions.add(matched);
+            if (matched == null) {
+                unmatched.add(i);
+            }
+        }
+        ruleAnswers.addAndGet(descriptions.size() - unmatched.size());
+        if (unmatched.isEmpty()) {
+            return suggestions;
+        }
+
+        delegatedAnswers.addAndGet(unmatched.size());
+        List<String> pending = new ArrayList<>(unmatched.size());
+        for (int index : unmatched) {
+            pending.add(descriptions.get(index));
+        }
+        List<String> answers = delegate.suggestCategories(pending);
+        for (int i = 0; i < unmatched.size(); i++) {
+            suggestions.set(unmatched.get(i), answers.get(i));
+        }
+        return suggestions;
+    }
+
+    /**
+     * The lower-cased name of the best matching rule's category, or null when no rule matches.
+     */
+    private String match(String description) {
+        Optional<MerchantRule> rule = merchantRuleMatcher.bestMatch(description);
+        if (rule.isEmpty()) {
+            return null;
+        }
+        String name = categoryRegistry.snapshot().nameOf(rule.get().getCategoryId());
+        return name == null ? null : name.toLowerCase();
+    }
+}
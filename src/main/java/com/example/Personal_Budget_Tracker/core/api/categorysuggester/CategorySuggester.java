@@ -1,6 +1,39 @@
 package com.example.Personal_Budget_Tracker.core.api.categorysuggester;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface CategorySuggester {
+    /**
+     * Answered when no suggestion could be made, e.g. because the model failed or timed out.
+     */
+    String FALLBACK_CATEGORY = "other";
+
     String suggestCategory(String description);
+
+    /**
+     * Suggests a category without holding the caller's thread while a remote model answers.
+     * The default answers on the calling thread; implementations backed by a remote model
+     * should override this.
+     */
+    default CompletableFuture<String> suggestCategoryAsync(String description) {
+        try {
+            return CompletableFuture.completedFuture(suggestCategory(description));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Suggests a category for each description, returned in the same order. Implementations
+     * backed by a remote model should override this to answer many descriptions per call.
+     */
+    default List<String> suggestCategories(List<String> descriptions) {
+        List<String> suggestions = new ArrayList<>(descriptions.size());
+        for (String description : descriptions) {
+            suggestions.add(suggestCategory(description));
+        }
+        return suggestions;
+    }
 }
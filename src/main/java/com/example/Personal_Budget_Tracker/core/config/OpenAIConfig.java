@@ -1,12 +1,19 @@
 package com.example.Personal_Budget_Tracker.core.config;
 
+import com.example.Personal_Budget_Tracker.api.impl.CachingCategorySuggester;
+import com.example.Personal_Budget_Tracker.api.impl.NaiveBayesCategorySuggester;
 import com.example.Personal_Budget_Tracker.api.impl.OpenAICategorySuggester;
-import com.example.Personal_Budget_Tracker.core.api.categorysuggester.CategorySuggester;
-import com.example.Personal_Budget_Tracker.core.repository.CategoryRepository;
+import com.example.Personal_Budget_Tracker.api.impl.ResilientCategorySuggester;
+import com.example.Personal_Budget_Tracker.api.impl.RuleBasedCategorySuggester;
+import com.example.Personal_Budget_Tracker.core.repository.TransactionRepository;
+import com.example.Personal_Budget_Tracker.core.service.CategoryRegistry;
+import com.example.Personal_Budget_Tracker.core.service.MerchantRuleMatcher;
 import com.theokanning.openai.service.OpenAiService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.PlatformTransactionManager;
 import java.time.Duration;
 
 @Configuration
@@ -24,7 +31,45 @@ public class OpenAIConfig {
     }
 
     @Bean
-    public CategorySuggester categorySuggester(CategoryRepository categoryRepository) {
-        return new OpenAICategorySuggester(openAiService(), categoryRepository);
+    public ResilientCategorySuggester resilientSuggester(
+            OpenAICategorySuggester openAICategorySuggester,
+            @Value("${openai.async.threads:8}") int threads,
+            @Value("${openai.async.queue-capacity:32}") int queueCapacity,
+            @Value("${openai.async.timeout-millis:5000}") long timeoutMillis,
+            @Value("${openai.async.hedge-delay-millis:0}") long hedgeDelayMillis,
+            @Value("${openai.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${openai.circuit-breaker.open-seconds:30}") long openSeconds) {
+        return new ResilientCategorySuggester(openAICategorySuggester, threads, queueCapacity,
+                Duration.ofMillis(timeoutMillis), Duration.ofMillis(hedgeDelayMillis), failureThreshold,
+                Duration.ofSeconds(openSeconds));
+    }
+
+    @Bean
+    public CachingCategorySuggester suggestionCache(ResilientCategorySuggester resilientSuggester,
+                                                    @Value("${suggestions.cache.max-entries:1000}") int maxEntries,
+                                                    @Value("${suggestions.cache.ttl-minutes:1440}") long ttlMinutes) {
+        return new CachingCategorySuggester(resilientSuggester, maxEntries, Duration.ofMinutes(ttlMinutes));
+    }
+
+    @Bean
+    public NaiveBayesCategorySuggester localModelSuggester(
+            CachingCategorySuggester suggestionCache, TransactionRepository transactionRepository,
+            CategoryRegistry categoryRegistry, PlatformTransactionManager transactionManager,
+            @Value("${suggestions.local.min-confidence:0.9}") double minConfidence,
+            @Value("${suggestions.local.min-examples:20}") int minExamples) {
+        return new NaiveBayesCategorySuggester(suggestionCache, transactionRepository, categoryRegistry,
+                transactionManager, minConfidence, minExamples);
+    }
+
+    /**
+     * The suggester the application uses: the user's merchant rules, then the local model,
+     * then cached OpenAI suggestions when the model is not confident.
+     */
+    @Bean
+    @Primary
+    public RuleBasedCategorySuggester categorySuggester(NaiveBayesCategorySuggester localModelSuggester,
+                                                       MerchantRuleMatcher merchantRuleMatcher,
+                                                       CategoryRegistry categoryRegistry) {
+        return new RuleBasedCategorySuggester(localModelSuggester, merchantRuleMatcher, categoryRegistry);
     }
 }
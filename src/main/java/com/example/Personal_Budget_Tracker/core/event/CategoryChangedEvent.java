@@ -0,0 +1,24 @@
+package com.example.Personal_Budget_Tracker.core.event;
+
+/**
+ * Published by CategoryService whenever a category is created, updated or deleted.
+ */
+public class CategoryChangedEvent {
+    public enum Change { CREATED, UPDATED, DELETED }
+
+    private final Long categoryId;
+    private final Change change;
+
+    public CategoryChangedEvent(Long categoryId, Change change) {
+        this.categoryId = categoryId;
+        this.change = change;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public Change getChange() {
+        return change;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.Personal_Budget_Tracker.core.event;
+
+/**
+ * Published by MerchantRuleService whenever a merchant rule is created, updated or deleted.
+ */
+public class MerchantRuleChangedEvent {
+    public enum Change { CREATED, UPDATED, DELETED }
+
+    private final Long ruleId;
+    private final Change change;
+
+    public MerchantRuleChangedEvent(Long ruleId, Change change) {
+        this.ruleId = ruleId;
+        this.change = change;
+    }
+
+    public Long getRuleId() {
+        return ruleId;
+    }
+
+    public Change getChange() {
+        return change;
+    }
+}
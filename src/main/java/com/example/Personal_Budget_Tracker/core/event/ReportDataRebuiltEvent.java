@@ -0,0 +1,17 @@
+package com.example.Personal_Budget_Tracker.core.event;
+
+/**
+ * Published by MonthlyRollupService after the monthly rollup has been rebuilt from the
+ * transaction table, so every cache derived from report data starts over.
+ */
+public class ReportDataRebuiltEvent {
+    private final int rollupRows;
+
+    public ReportDataRebuiltEvent(int rollupRows) {
+        this.rollupRows = rollupRows;
+    }
+
+    public int getRollupRows() {
+        return rollupRows;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.Personal_Budget_Tracker.core.event;
+
+import com.example.Personal_Budget_Tracker.core.model.Transaction;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Published by TransactionService whenever a transaction is created, updated or deleted.
+ * Holds the values reports and the local category model depend on before and after the
+ * write; previous is null for a create and current is null for a delete. A snapshot whose
+ * category was picked by the background categorizer is marked automatic.
+ */
+public class TransactionChangedEvent {
+    private final Snapshot previous;
+    private final Snapshot current;
+
+    public TransactionChangedEvent(Snapshot previous, Snapshot current) {
+        this.previous = previous;
+        this.current = current;
+    }
+
+    public Snapshot getPrevious() {
+        return previous;
+    }
+
+    public Snapshot getCurrent() {
+        return current;
+    }
+
+    /**
+     * Every date whose totals may have changed: the old and the new date of an update.
+     */
+    public Set<LocalDate> getAffectedDates() {
+        Set<LocalDate> affected = new LinkedHashSet<>();
+        if (previous != null && previous.getDate() != null) {
+            affected.add(previous.getDate());
+        }
+        if (current != null && current.getDate() != null) {
+            affected.add(current.getDate());
+        }
+        return Collections.unmodifiableSet(affected);
+    }
+
+    public static class Snapshot {
+        private final LocalDate date;
+        private final Long categoryId;
+        private final Double amount;
+        private final String description;
+        private final boolean automatic;
+
+        public Snapshot(LocalDate date, Long categoryId, Double amount) {
+            this(date, categoryId, amount, null);
+        }
+
+        public Snapshot(LocalDate date, Long categoryId, Double amount, String description) {
+            this(date, categoryId, amount, description, false);
+        }
+
+        public Snapshot(LocalDate date, Long categoryId, Double amount, String description, boolean automatic) {
+            this.date = date;
+            this.categoryId = categoryId;
+            this.amount = amount;
+            this.description = description;
+            this.automatic = automatic;
+        }
+
+        public static Snapshot of(Transaction transaction) {
+            Long categoryId = transaction.getCategory() != null ? transaction.getCategory().getId() : null;
+            return new Snapshot(transaction.getDate(), categoryId, transaction.getAmount(), transaction.getDescription(),
+                    transaction.isAutoCategorized());
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public Long getCategoryId() {
+            return categoryId;
+        }
+
+        public Double getAmount() {
+            return amount;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public boolean isAutomatic() {
+            return automatic;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.Personal_Budget_Tracker.core.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Progress of the background auto-categorization. There is a single row, saved in the
+ * same transaction as each page of assignments, so after a restart a run carries on
+ * after the last transaction it committed.
+ */
+@Entity
+@Table(name = "auto_categorization_checkpoint")
+public class AutoCategorizationCheckpoint {
+    public enum Status {
+        IDLE, RUNNING, STOPPED, FAILED, COMPLETED
+    }
+
+    @Id
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private Status status = Status.IDLE;
+
+    private long lastTransactionId;
+    private long scanned;
+    private long assigned;
+    private Instant startedAt;
+    private Instant updatedAt;
+    private Instant finishedAt;
+    private String error;
+
+    public AutoCategorizationCheckpoint(Long id) {
+        this.id = id;
+    }
+
+    // Default Constructor
+    public AutoCategorizationCheckpoint() {}
+
+    /**
+     * Resets the cursor and counters for a run over every uncategorized transaction.
+     */
+    public void start(Instant at) {
+        status = Status.RUNNING;
+        lastTransactionId = 0;
+        scanned = 0;
+        assigned = 0;
+        startedAt = at;
+        updatedAt = at;
+        finishedAt = null;
+        error = null;
+    }
+
+    /**
+     * Continues a stopped or failed run from its cursor.
+     */
+    public void resume(Instant at) {
+        status = Status.RUNNING;
+        updatedAt = at;
+        finishedAt = null;
+        error = null;
+    }
+
+    public void advance(long lastTransactionId, int scanned, int assigned, Instant at) {
+        this.lastTransactionId = lastTransactionId;
+        this.scanned += scanned;
+        this.assigned += assigned;
+        this.updatedAt = at;
+    }
+
+    public void finish(Status status, String error, Instant at) {
+        this.status = status;
+        this.error = error;
+        this.updatedAt = at;
+        this.finishedAt = at;
+    }
+
+    public boolean isResumable() {
+        return status == Status.RUNNING || status == Status.STOPPED || status == Status.FAILED;
+    }
+
+    public AutoCategorizationCheckpoint copy() {
+        AutoCategorizationCheckpoint copy = new AutoCategorizationCheckpoint(id);
+        copy.status = status;
+        copy.lastTransactionId = lastTransactionId;
+        copy.scanned = scanned;
+        copy.assigned = assigned;
+        copy.startedAt = startedAt;
+        copy.updatedAt = updatedAt;
+        copy.finishedAt = finishedAt;
+        copy.error = error;
+        return copy;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getLastTransactionId() {
+        return lastTransactionId;
+    }
+
+    public long getScanned() {
+        return scanned;
+    }
+
+    public long getAssigned() {
+        return assigned;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.Personal_Budget_Tracker.core.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+
+/**
+ * User-managed rule that files every transaction whose description contains the keyword
+ * under the category. Keywords match whole words, ignoring case and punctuation, so
+ * "Whole Foods" matches "WHOLE FOODS MKT #102" but "shell" does not match "bombshell".
+ */
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Entity
+@Table(name = "merchant_rule")
+public class MerchantRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String keyword;
+    private Long categoryId;
+
+    // Constructor for Dependency Injection
+    public MerchantRule(String keyword, Long categoryId) {
+        this.keyword = keyword;
+        this.categoryId = categoryId;
+    }
+
+    // Default Constructor
+    public MerchantRule() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public void setKeyword(String keyword) {
+        this.keyword = keyword;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+}
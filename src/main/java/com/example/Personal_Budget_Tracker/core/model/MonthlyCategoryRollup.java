@@ -0,0 +1,100 @@
+package com.example.Personal_Budget_Tracker.core.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+
+/**
+ * Pre-aggregated transaction totals for one month, category and transaction type.
+ * Maintained by delta on every transaction write so reports do not have to scan
+ * raw transactions for months that have not changed.
+ */
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Entity
+@Table(name = "monthly_category_rollup", indexes = {
+        @Index(name = "idx_rollup_period", columnList = "period")
+}, uniqueConstraints = {
+        // What the upsert keys on; category_id is never null because NULLs never collide
+        @UniqueConstraint(name = "uk_rollup_period_category_type", columnNames = {"period", "category_id", "type"})
+})
+public class MonthlyCategoryRollup {
+    /**
+     * Category id stored for uncategorized transactions. Never a real id, as ids start at 1.
+     */
+    public static final long UNCATEGORIZED = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Integer period; // yyyyMM, e.g. 202401
+    @Column(nullable = false)
+    private Long categoryId; // UNCATEGORIZED for uncategorized transactions
+    private String type;
+    private Double total;
+    private Long count;
+
+    // Constructor used by the rebuild query
+    public MonthlyCategoryRollup(Integer period, Long categoryId, String type, Double total, Long count) {
+        this.period = period;
+        this.categoryId = key(categoryId);
+        this.type = type;
+        this.total = total;
+        this.count = count;
+    }
+
+    // Default Constructor
+    public MonthlyCategoryRollup() {}
+
+    public static long key(Long categoryId) {
+        return categoryId != null ? categoryId : UNCATEGORIZED;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(Integer period) {
+        this.period = period;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = key(categoryId);
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Double getTotal() {
+        return total;
+    }
+
+    public void setTotal(Double total) {
+        this.total = total;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+}
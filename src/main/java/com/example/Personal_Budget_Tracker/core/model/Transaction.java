@@ -1,11 +1,14 @@
 package com.example.Personal_Budget_Tracker.core.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDate;
 
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Entity
+@Table(indexes = @Index(name = "idx_transaction_date", columnList = "date"))
 public class Transaction {
 
     @Id
@@ -24,6 +27,12 @@ public class Transaction {
     @JoinColumn(name = "budgetgoal_id", nullable = true)
     private BudgetGoal budgetgoal;
 
+    // Set when the background categorizer picked the category, cleared once the user edits the transaction
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(nullable = false)
+    @ColumnDefault("false")
+    private boolean autoCategorized;
+
     // Constructor for Dependency Injection
     public Transaction(Double amount, String type, String description, LocalDate date, Category category) {
         this.amount = amount;
@@ -92,4 +101,12 @@ public class Transaction {
     public void setBudgetgoal(BudgetGoal budgetgoal) {
         this.budgetgoal = budgetgoal;
     }
+
+    public boolean isAutoCategorized() {
+        return autoCategorized;
+    }
+
+    public void setAutoCategorized(boolean autoCategorized) {
+        this.autoCategorized = autoCategorized;
+    }
 }
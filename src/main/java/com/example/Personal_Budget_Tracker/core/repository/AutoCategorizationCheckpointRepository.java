@@ -0,0 +1,7 @@
+package com.example.Personal_Budget_Tracker.core.repository;
+
+import com.example.Personal_Budget_Tracker.core.model.AutoCategorizationCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AutoCategorizationCheckpointRepository extends JpaRepository<AutoCategorizationCheckpoint, Long> {
+}
@@ -0,0 +1,16 @@
+package com.example.Personal_Budget_Tracker.core.repository;
+
+import com.example.Personal_Budget_Tracker.core.model.MerchantRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface MerchantRuleRepository extends JpaRepository<MerchantRule, Long> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM MerchantRule r WHERE r.categoryId = :categoryId")
+    int deleteByCategoryId(@Param("categoryId") Long categoryId);
+}
@@ -0,0 +1,50 @@
+package com.example.Personal_Budget_Tracker.core.repository;
+
+import com.example.Personal_Budget_Tracker.core.model.MonthlyCategoryRollup;
+import com.example.Personal_Budget_Tracker.core.repository.projection.MonthlyCategoryTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface MonthlyCategoryRollupRepository extends JpaRepository<MonthlyCategoryRollup, Long> {
+
+    @Query("SELECT new com.example.Personal_Budget_Tracker.core.repository.projection.MonthlyCategoryTotal(" +
+           "r.period, c.name, SUM(r.total), SUM(r.count)) " +
+           "FROM MonthlyCategoryRollup r LEFT JOIN Category c ON c.id = r.categoryId " +
+           "WHERE r.period BETWEEN :fromPeriod AND :toPeriod " +
+           "GROUP BY r.period, c.name")
+    List<MonthlyCategoryTotal> sumByPeriodBetween(@Param("fromPeriod") Integer fromPeriod,
+                                                  @Param("toPeriod") Integer toPeriod);
+
+    // Increment in place so concurrent writers to an existing row never lose an update
+    @Modifying
+    @Query("UPDATE MonthlyCategoryRollup r SET r.total = r.total + :amount, r.count = r.count + :count " +
+           "WHERE r.period = :period AND r.categoryId = :categoryId AND r.type = :type")
+    int applyDelta(@Param("period") Integer period,
+                   @Param("categoryId") Long categoryId,
+                   @Param("type") String type,
+                   @Param("amount") Double amount,
+                   @Param("count") Long count);
+
+    // Creates the row or adds to it in one statement, so two writers racing on the first
+    // transaction of a month, category and type cannot both insert
+    @Modifying
+    @Query(value = "INSERT INTO monthly_category_rollup (period, category_id, type, total, count) " +
+                   "VALUES (:period, :categoryId, :type, :amount, :count) " +
+                   "ON DUPLICATE KEY UPDATE total = total + VALUES(total), count = count + VALUES(count)",
+           nativeQuery = true)
+    int upsertDelta(@Param("period") Integer period,
+                    @Param("categoryId") Long categoryId,
+                    @Param("type") String type,
+                    @Param("amount") Double amount,
+                    @Param("count") Long count);
+
+    boolean existsByCategoryIdIsNull();
+
+    @Modifying
+    @Query("DELETE FROM MonthlyCategoryRollup r WHERE r.period = :period AND r.count <= 0")
+    int deleteEmpty(@Param("period") Integer period);
+}
@@ -1,12 +1,130 @@
 package com.example.Personal_Budget_Tracker.core.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 import com.example.Personal_Budget_Tracker.core.model.Transaction;
 import com.example.Personal_Budget_Tracker.core.model.BudgetGoal;
+import com.example.Personal_Budget_Tracker.core.model.Category;
+import com.example.Personal_Budget_Tracker.core.model.MonthlyCategoryRollup;
+import com.example.Personal_Budget_Tracker.core.repository.projection.CategoryTotal;
+import com.example.Personal_Budget_Tracker.core.repository.projection.DailyCategoryTotal;
+import com.example.Personal_Budget_Tracker.core.repository.projection.DateSpan;
+import com.example.Personal_Budget_Tracker.core.repository.projection.LabeledDescription;
+import com.example.Personal_Budget_Tracker.core.repository.projection.ReportRow;
+import com.example.Personal_Budget_Tracker.core.repository.projection.TransactionExportRow;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     List<Transaction> findByBudgetgoal(BudgetGoal budgetGoal);
+
+    // List endpoints serialize category and budget goal, so fetch them in the same query
+    @Override
+    @EntityGraph(attributePaths = {"category", "budgetgoal"})
+    List<Transaction> findAll();
+
+    @EntityGraph(attributePaths = {"category", "budgetgoal"})
     List<Transaction> findByDateBetween(LocalDate startDate, LocalDate endDate);
+
+    // Left join keeps uncategorized transactions as a single row with a null category
+    @Query("SELECT c.name AS category, SUM(t.amount) AS total, COUNT(t) AS count " +
+           "FROM Transaction t LEFT JOIN t.category c " +
+           "WHERE t.date BETWEEN :startDate AND :endDate " +
+           "GROUP BY c.name")
+    List<CategoryTotal> sumByCategory(@Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.example.Personal_Budget_Tracker.core.model.MonthlyCategoryRollup(" +
+           "YEAR(t.date) * 100 + MONTH(t.date), c.id, t.type, SUM(t.amount), COUNT(t)) " +
+           "FROM Transaction t LEFT JOIN t.category c " +
+           "WHERE t.date IS NOT NULL " +
+           "GROUP BY YEAR(t.date) * 100 + MONTH(t.date), c.id, t.type")
+    List<MonthlyCategoryRollup> summarizeByMonthCategoryAndType();
+
+    @Query("SELECT new com.example.Personal_Budget_Tracker.core.repository.projection.DailyCategoryTotal(" +
+           "t.date, c.id, SUM(t.amount), COUNT(t)) " +
+           "FROM Transaction t LEFT JOIN t.category c " +
+           "WHERE t.date IS NOT NULL " +
+           "GROUP BY t.date, c.id")
+    List<DailyCategoryTotal> sumByDayAndCategory();
+
+    // Two index seeks on idx_transaction_date
+    @Query("SELECT new com.example.Personal_Budget_Tracker.core.repository.projection.DateSpan(" +
+           "MIN(t.date), MAX(t.date)) FROM Transaction t")
+    DateSpan findDateSpan();
+
+    @Query("SELECT new com.example.Personal_Budget_Tracker.core.repository.projection.DailyCategoryTotal(" +
+           "t.date, c.id, SUM(t.amount), COUNT(t)) " +
+           "FROM Transaction t LEFT JOIN t.category c " +
+           "WHERE t.date BETWEEN :startDate AND :endDate " +
+           "GROUP BY t.date, c.id " +
+           "ORDER BY t.date")
+    List<DailyCategoryTotal> sumByDayAndCategoryBetween(@Param("startDate") LocalDate startDate,
+                                                        @Param("endDate") LocalDate endDate);
+
+    // Must be consumed inside a transaction and closed. MySQL only honours the fetch size with
+    // useCursorFetch=true, which application.yml sets on the Hikari data source
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.Personal_Budget_Tracker.core.repository.projection.ReportRow(" +
+           "t.date, c.name, t.amount) " +
+           "FROM Transaction t LEFT JOIN t.category c " +
+           "WHERE t.date BETWEEN :startDate AND :endDate")
+    Stream<ReportRow> streamReportRows(@Param("startDate") LocalDate startDate,
+                                       @Param("endDate") LocalDate endDate);
+
+    // Same streaming contract as streamReportRows; the export relies on the cursor fetch
+    // enabled in application.yml to keep large ranges out of memory
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.Personal_Budget_Tracker.core.repository.projection.TransactionExportRow(" +
+           "t.id, t.date, t.type, t.description, c.name, t.amount) " +
+           "FROM Transaction t LEFT JOIN t.category c " +
+           "WHERE t.date BETWEEN :startDate AND :endDate " +
+           "ORDER BY t.date, t.id")
+    Stream<TransactionExportRow> streamExportRows(@Param("startDate") LocalDate startDate,
+                                                  @Param("endDate") LocalDate endDate);
+
+    // Same streaming contract as streamReportRows
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.Personal_Budget_Tracker.core.repository.projection.LabeledDescription(" +
+           "t.description, t.category.id) " +
+           "FROM Transaction t " +
+           "WHERE t.category IS NOT NULL AND t.description IS NOT NULL AND t.autoCategorized = false")
+    Stream<LabeledDescription> streamLabeledDescriptions();
+
+    // Keyset page: seeks past the last id seen instead of counting skipped rows with an offset
+    @Query("SELECT t FROM Transaction t " +
+           "WHERE t.category IS NULL AND t.description IS NOT NULL AND t.id > :afterId " +
+           "ORDER BY t.id")
+    List<Transaction> findUncategorizedAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    long countByCategoryIsNull();
+
+    // Rows categorized since they were read are left out, so a user's own choice is never overwritten
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transaction t WHERE t.id IN :ids AND t.category IS NULL")
+    List<Transaction> lockUncategorized(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Transaction t SET t.category = :category, t.autoCategorized = true WHERE t.id IN :ids")
+    int assignCategory(@Param("category") Category category, @Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,11 @@
+package com.example.Personal_Budget_Tracker.core.repository.projection;
+
+/**
+ * Aggregated transaction amount and count for a single category name.
+ * The category is null for the row that groups uncategorized transactions.
+ */
+public interface CategoryTotal {
+    String getCategory();
+    Double getTotal();
+    Long getCount();
+}
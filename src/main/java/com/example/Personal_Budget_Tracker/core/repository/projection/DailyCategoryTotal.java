@@ -0,0 +1,37 @@
+package com.example.Personal_Budget_Tracker.core.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Aggregated transaction amount and count for one day and category id.
+ * The category id is null for uncategorized transactions.
+ */
+public class DailyCategoryTotal {
+    private final LocalDate date;
+    private final Long categoryId;
+    private final Double total;
+    private final Long count;
+
+    public DailyCategoryTotal(LocalDate date, Long categoryId, Double total, Long count) {
+        this.date = date;
+        this.categoryId = categoryId;
+        this.total = total;
+        this.count = count;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public Double getTotal() {
+        return total;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+}
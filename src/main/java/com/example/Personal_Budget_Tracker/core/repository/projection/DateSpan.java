@@ -0,0 +1,24 @@
+package com.example.Personal_Budget_Tracker.core.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Earliest and latest transaction date; both are null when there are no dated transactions.
+ */
+public class DateSpan {
+    private final LocalDate first;
+    private final LocalDate last;
+
+    public DateSpan(LocalDate first, LocalDate last) {
+        this.first = first;
+        this.last = last;
+    }
+
+    public LocalDate getFirst() {
+        return first;
+    }
+
+    public LocalDate getLast() {
+        return last;
+    }
+}
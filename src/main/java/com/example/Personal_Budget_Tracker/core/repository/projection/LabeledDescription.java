@@ -0,0 +1,23 @@
+package com.example.Personal_Budget_Tracker.core.repository.projection;
+
+/**
+ * The description and category of one categorized transaction, used to train the local
+ * category model. Built with a constructor expression, so rows are never managed entities.
+ */
+public class LabeledDescription {
+    private final String description;
+    private final Long categoryId;
+
+    public LabeledDescription(String description, Long categoryId) {
+        this.description = description;
+        this.categoryId = categoryId;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+}
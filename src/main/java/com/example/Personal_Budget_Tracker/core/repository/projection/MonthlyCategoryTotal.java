@@ -0,0 +1,45 @@
+package com.example.Personal_Budget_Tracker.core.repository.projection;
+
+import java.time.YearMonth;
+
+/**
+ * Aggregated transaction amount and count for one month and category name.
+ * The category is null for uncategorized transactions.
+ */
+public class MonthlyCategoryTotal {
+    private final Integer period;
+    private final String category;
+    private final Double total;
+    private final Long count;
+
+    public MonthlyCategoryTotal(Integer period, String category, Double total, Long count) {
+        this.period = period;
+        this.category = category;
+        this.total = total;
+        this.count = count;
+    }
+
+    public static int toPeriod(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    public Integer getPeriod() {
+        return period;
+    }
+
+    public YearMonth getYearMonth() {
+        return YearMonth.of(period / 100, period % 100);
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public Double getTotal() {
+        return total;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+}
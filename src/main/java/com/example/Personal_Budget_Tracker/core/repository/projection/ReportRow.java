@@ -0,0 +1,31 @@
+package com.example.Personal_Budget_Tracker.core.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * The fields of a single transaction that reports aggregate.
+ * Built with a constructor expression, so rows are never managed entities.
+ */
+public class ReportRow {
+    private final LocalDate date;
+    private final String category;
+    private final Double amount;
+
+    public ReportRow(LocalDate date, String category, Double amount) {
+        this.date = date;
+        this.category = category;
+        this.amount = amount;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public Double getAmount() {
+        return amount;
+    }
+}
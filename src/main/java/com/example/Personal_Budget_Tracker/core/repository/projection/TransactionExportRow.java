@@ -0,0 +1,50 @@
+package com.example.Personal_Budget_Tracker.core.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * One transaction as written to a CSV export.
+ * Built with a constructor expression, so rows are never managed entities.
+ */
+public class TransactionExportRow {
+    private final Long id;
+    private final LocalDate date;
+    private final String type;
+    private final String description;
+    private final String category;
+    private final Double amount;
+
+    public TransactionExportRow(Long id, LocalDate date, String type, String description, String category,
+                                Double amount) {
+        this.id = id;
+        this.date = date;
+        this.type = type;
+        this.description = description;
+        this.category = category;
+        this.amount = amount;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public Double getAmount() {
+        return amount;
+    }
+}
@@ -0,0 +1,331 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.core.api.categorysuggester.CategorySuggester;
+import com.example.Personal_Budget_Tracker.core.event.TransactionChangedEvent;
+import com.example.Personal_Budget_Tracker.core.model.AutoCategorizationCheckpoint;
+import com.example.Personal_Budget_Tracker.core.model.Category;
+import com.example.Personal_Budget_Tracker.core.model.Transaction;
+import com.example.Personal_Budget_Tracker.core.repository.AutoCategorizationCheckpointRepository;
+import com.example.Personal_Budget_Tracker.core.repository.CategoryRepository;
+import com.example.Personal_Budget_Tracker.core.repository.TransactionRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Files uncategorized transactions in the background. A single worker walks them in id
+ * order a page at a time, asks the category suggester about the whole page at once and
+ * writes the answers back with one update per category. The checkpoint is saved in the
+ * same transaction as each page, so a run interrupted by a restart or a failure carries on
+ * after the last page it committed.
+ *
+ * <p>Descriptions are sent to the suggester at a fixed rate, and no connection is held
+ * while it answers. Before each page the worker waits while the connection pool is close
+ * to exhausted, so request threads are always served first. Transactions the suggester
+ * could not place stay uncategorized and are tried again by the next run.
+ */
+@Service
+public class AutoCategorizationService {
+    static final long CHECKPOINT_ID = 1L;
+
+    private final TransactionRepository transactionRepository;
+    private final CategoryRepository categoryRepository;
+    private final AutoCategorizationCheckpointRepository checkpointRepository;
+    private final CategorySuggester categorySuggester;
+    private final CategoryRegistry categoryRegistry;
+    private final MonthlyRollupService monthlyRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readTemplate;
+    private final TransactionTemplate writeTemplate;
+    private final boolean enabled;
+    private final int pageSize;
+    private final RateLimiter rateLimiter;
+    private final BooleanSupplier poolBusy;
+    private final Duration busyBackoff;
+    private final ExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopRequested;
+    private volatile AutoCategorizationCheckpoint progress;
+    private final Logger logger = LoggerFactory.getLogger(AutoCategorizationService.class);
+
+    @Autowired
+    public AutoCategorizationService(TransactionRepository transactionRepository,
+                                     CategoryRepository categoryRepository,
+                                     AutoCategorizationCheckpointRepository checkpointRepository,
+                                     CategorySuggester categorySuggester,
+                                     CategoryRegistry categoryRegistry,
+                                     MonthlyRollupService monthlyRollupService,
+                                     ApplicationEventPublisher eventPublisher,
+                                     PlatformTransactionManager transactionManager,
+                                     DataSource dataSource,
+                                     @Value("${categorization.auto.enabled:false}") boolean enabled,
+                                     @Value("${categorization.auto.page-size:100}") int pageSize,
+                                     @Value("${categorization.auto.descriptions-per-second:2}") double descriptionsPerSecond,
+                                     @Value("${categorization.auto.reserved-connections:2}") int reservedConnections,
+                                     @Value("${categorization.auto.busy-backoff-millis:500}") long busyBackoffMillis) {
+        this(transactionRepository, categoryRepository, checkpointRepository, categorySuggester, categoryRegistry,
+                monthlyRollupService, eventPublisher, transactionManager, enabled, pageSize,
+                new RateLimiter(descriptionsPerSecond), poolSaturation(dataSource, reservedConnections),
+                Duration.ofMillis(busyBackoffMillis));
+    }
+
+    AutoCategorizationService(TransactionRepository transactionRepository,
+                              CategoryRepository categoryRepository,
+                              AutoCategorizationCheckpointRepository checkpointRepository,
+                              CategorySuggester categorySuggester,
+                              CategoryRegistry categoryRegistry,
+                              MonthlyRollupService monthlyRollupService,
+                              ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager,
+                              boolean enabled, int pageSize, RateLimiter rateLimiter,
+                              BooleanSupplier poolBusy, Duration busyBackoff) {
+        this.transactionRepository = transactionRepository;
+        this.categoryRepository = categoryRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.categorySuggester = categorySuggester;
+        this.categoryRegistry = categoryRegistry;
+        this.monthlyRollupService = monthlyRollupService;
+        this.eventPublisher = eventPublisher;
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+        this.rateLimiter = rateLimiter;
+        this.poolBusy = poolBusy;
+        this.busyBackoff = busyBackoff;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "auto-categorize");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Busy when callers are already queueing for a connection or fewer than the reserved
+     * connections are free. Pools other than Hikari are never reported busy.
+     */
+    static BooleanSupplier poolSaturation(DataSource dataSource, int reservedConnections) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+                return () -> {
+                    HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+                    return pool != null && (pool.getThreadsAwaitingConnection() > 0
+                            || pool.getActiveConnections() >= hikari.getMaximumPoolSize() - reservedConnections);
+                };
+            }
+        } catch (SQLException e) {
+            // Fall through to an unmonitored pool
+        }
+        return () -> false;
+    }
+
+    /**
+     * Starts a run on the worker, resuming the previous one if it did not complete.
+     *
+     * @return false when a run is already in progress
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        stopRequested = false;
+        try {
+            executor.execute(this::run);
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * Asks the worker to stop after the page it is on; the next start resumes from there.
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public AutoCategorizationCheckpoint getProgress() {
+        AutoCategorizationCheckpoint current = progress;
+        if (current != null) {
+            return current;
+        }
+        return checkpointRepository.findById(CHECKPOINT_ID)
+                .orElseGet(() -> new AutoCategorizationCheckpoint(CHECKPOINT_ID));
+    }
+
+    public long countUncategorized() {
+        return transactionRepository.countByCategoryIsNull();
+    }
+
+    // The first run after a restart also picks up an interrupted one
+    @Scheduled(fixedDelayString = "${categorization.auto.interval-ms:3600000}",
+               initialDelayString = "${categorization.auto.initial-delay-ms:60000}")
+    public void scheduledRun() {
+        if (enabled) {
+            start();
+        }
+    }
+
+    void run() {
+        AutoCategorizationCheckpoint checkpoint = null;
+        try {
+            checkpoint = checkpointRepository.findById(CHECKPOINT_ID)
+                    .orElseGet(() -> new AutoCategorizationCheckpoint(CHECKPOINT_ID));
+            if (checkpoint.isResumable()) {
+                logger.info("Resuming auto-categorization after transaction {}", checkpoint.getLastTransactionId());
+                checkpoint.resume(Instant.now());
+            } else {
+                logger.info("Starting auto-categorization of {} transactions", countUncategorized());
+                checkpoint.start(Instant.now());
+            }
+            checkpoint = publish(checkpointRepository.save(checkpoint));
+
+            while (!stopRequested) {
+                awaitPool();
+                long afterId = checkpoint.getLastTransactionId();
+                List<Transaction> page = readTemplate.execute(status ->
+                        transactionRepository.findUncategorizedAfter(afterId, PageRequest.of(0, pageSize)));
+                if (page.isEmpty()) {
+                    checkpoint = finish(checkpoint, AutoCategorizationCheckpoint.Status.COMPLETED, null);
+                    logger.info("Auto-categorization completed: {} of {} transactions assigned",
+                            checkpoint.getAssigned(), checkpoint.getScanned());
+                    return;
+                }
+                checkpoint = publish(categorize(checkpoint, page));
+            }
+            checkpoint = finish(checkpoint, AutoCategorizationCheckpoint.Status.STOPPED, null);
+            logger.info("Auto-categorization stopped after transaction {}", checkpoint.getLastTransactionId());
+        } catch (InterruptedException e) {
+            // Shutting down; the checkpoint stays running so the next start resumes
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.error("Auto-categorization failed: {}", e.getMessage(), e);
+            if (checkpoint != null) {
+                try {
+                    finish(checkpoint, AutoCategorizationCheckpoint.Status.FAILED, e.getMessage());
+                } catch (RuntimeException saveFailure) {
+                    logger.warn("Could not record auto-categorization failure: {}", saveFailure.getMessage());
+                }
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private AutoCategorizationCheckpoint categorize(AutoCategorizationCheckpoint checkpoint, List<Transaction> page)
+            throws InterruptedException {
+        List<String> descriptions = page.stream().map(Transaction::getDescription).collect(Collectors.toList());
+        TimeUnit.NANOSECONDS.sleep(rateLimiter.reserve(descriptions.size()));
+        List<String> suggestions = categorySuggester.suggestCategories(descriptions);
+
+        Map<String, Long> idsByName = new HashMap<>();
+        for (Category category : categoryRegistry.snapshot().getCategories()) {
+            idsByName.put(category.getName().toLowerCase(), category.getId());
+        }
+        Map<Long, Long> assignments = new LinkedHashMap<>();
+        for (int i = 0; i < page.size() && i < suggestions.size(); i++) {
+            String suggestion = suggestions.get(i);
+            // The fallback means the suggester had no answer, not that the user's "Other" fits
+            if (suggestion == null || suggestion.isBlank()
+                    || CategorySuggester.FALLBACK_CATEGORY.equalsIgnoreCase(suggestion.trim())) {
+                continue;
+            }
+            Long categoryId = idsByName.get(suggestion.trim().toLowerCase());
+            if (categoryId != null) {
+                assignments.put(page.get(i).getId(), categoryId);
+            }
+        }
+
+        long lastId = page.get(page.size() - 1).getId();
+        return writeTemplate.execute(status -> write(checkpoint, assignments, lastId, page.size()));
+    }
+
+    private AutoCategorizationCheckpoint write(AutoCategorizationCheckpoint checkpoint, Map<Long, Long> assignments,
+                                               long lastId, int scanned) {
+        Map<Long, List<Transaction>> byCategory = new LinkedHashMap<>();
+        if (!assignments.isEmpty()) {
+            for (Transaction transaction : transactionRepository.lockUncategorized(assignments.keySet())) {
+                byCategory.computeIfAbsent(assignments.get(transaction.getId()), id -> new ArrayList<>())
+                        .add(transaction);
+            }
+        }
+
+        int assigned = 0;
+        for (Map.Entry<Long, List<Transaction>> entry : byCategory.entrySet()) {
+            Long categoryId = entry.getKey();
+            List<Transaction> transactions = entry.getValue();
+            List<Long> ids = transactions.stream().map(Transaction::getId).collect(Collectors.toList());
+            assigned += transactionRepository.assignCategory(categoryRepository.getReferenceById(categoryId), ids);
+            monthlyRollupService.assignCategory(transactions, categoryId);
+            for (Transaction transaction : transactions) {
+                eventPublisher.publishEvent(new TransactionChangedEvent(
+                        TransactionChangedEvent.Snapshot.of(transaction),
+                        new TransactionChangedEvent.Snapshot(transaction.getDate(), categoryId,
+                                transaction.getAmount(), transaction.getDescription(), true)));
+            }
+        }
+
+        AutoCategorizationCheckpoint next = checkpoint.copy();
+        next.advance(lastId, scanned, assigned, Instant.now());
+        logger.debug("Auto-categorized {} of {} transactions up to {}", assigned, scanned, lastId);
+        return checkpointRepository.save(next);
+    }
+
+    private void awaitPool() throws InterruptedException {
+        while (!stopRequested && poolBusy.getAsBoolean()) {
+            logger.debug("Connection pool is busy, pausing auto-categorization");
+            Thread.sleep(busyBackoff.toMillis());
+        }
+    }
+
+    private AutoCategorizationCheckpoint finish(AutoCategorizationCheckpoint checkpoint,
+                                                AutoCategorizationCheckpoint.Status status, String error) {
+        AutoCategorizationCheckpoint next = checkpoint.copy();
+        next.finish(status, error, Instant.now());
+        return publish(checkpointRepository.save(next));
+    }
+
+    private AutoCategorizationCheckpoint publish(AutoCategorizationCheckpoint checkpoint) {
+        progress = checkpoint;
+        return checkpoint;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
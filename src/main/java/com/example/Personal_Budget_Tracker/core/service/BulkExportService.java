@@ -0,0 +1,209 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.core.repository.TransactionRepository;
+import com.example.Personal_Budget_Tracker.core.repository.projection.DailyCategoryTotal;
+import com.example.Personal_Budget_Tracker.core.repository.projection.MonthlyCategoryTotal;
+import com.example.Personal_Budget_Tracker.rest.dto.PDFExportRequest;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Renders many report PDFs into one streamed ZIP archive. The daily per-category totals
+ * covering every requested range are fetched in a single query and shared by all entries.
+ * Entries render on a fixed pool with at most reports.bulk.parallelism in flight and are
+ * written to the archive in completion order, so memory holds only the entries in flight.
+ */
+@Service
+public class BulkExportService {
+    private static final Set<String> REPORT_TYPES = Set.of("monthly", "category", "spending");
+
+    private final TransactionRepository transactionRepository;
+    private final CategoryRegistry categoryRegistry;
+    private final PdfReportRenderer pdfReportRenderer;
+    private final int parallelism;
+    private final int maxEntries;
+    private final ExecutorService executor;
+    private final Logger logger = LoggerFactory.getLogger(BulkExportService.class);
+
+    public BulkExportService(TransactionRepository transactionRepository, CategoryRegistry categoryRegistry,
+                             PdfReportRenderer pdfReportRenderer,
+                             @Value("${reports.bulk.parallelism:4}") int parallelism,
+                             @Value("${reports.bulk.max-entries:100}") int maxEntries) {
+        this.transactionRepository = transactionRepository;
+        this.categoryRegistry = categoryRegistry;
+        this.pdfReportRenderer = pdfReportRenderer;
+        this.parallelism = Math.max(1, parallelism);
+        this.maxEntries = maxEntries;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-export-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Validates the specs and loads the shared data immediately, so failures surface
+     * before the response starts, and returns a body that streams the archive.
+     *
+     * @throws IllegalArgumentException for an empty or oversized list, an unknown report
+     *                                  type or an inverted range
+     */
+    public StreamingResponseBody streamZip(List<PDFExportRequest> specs) {
+        validate(specs);
+        LocalDate from = specs.stream().map(PDFExportRequest::getStartDate).min(Comparator.naturalOrder()).get();
+        LocalDate to = specs.stream().map(PDFExportRequest::getEndDate).max(Comparator.naturalOrder()).get();
+
+        List<DailyCategoryTotal> days = transactionRepository.sumByDayAndCategoryBetween(from, to);
+        Map<Long, String> names = categoryRegistry.snapshot().getNamesById();
+        logger.info("Bulk export of {} reports over {} to {} from {} daily totals", specs.size(), from, to, days.size());
+
+        return out -> {
+            ZipOutputStream zip = new ZipOutputStream(out);
+            writeEntries(zip, specs, days, names);
+            zip.finish();
+        };
+    }
+
+    private void validate(List<PDFExportRequest> specs) {
+        if (specs == null || specs.isEmpty()) {
+            throw new IllegalArgumentException("At least one report is required");
+        }
+        if (specs.size() > maxEntries) {
+            throw new IllegalArgumentException("At most " + maxEntries + " reports can be exported at once");
+        }
+        for (PDFExportRequest spec : specs) {
+            if (spec.getReportType() == null || !REPORT_TYPES.contains(spec.getReportType().toLowerCase())) {
+                throw new IllegalArgumentException("Invalid report type: " + spec.getReportType());
+            }
+            if (spec.getStartDate() == null || spec.getEndDate() == null) {
+                throw new IllegalArgumentException("Start and end date are required");
+            }
+            if (spec.getEndDate().isBefore(spec.getStartDate())) {
+                throw new IllegalArgumentException("End date cannot be before start date");
+            }
+        }
+    }
+
+    private void writeEntries(ZipOutputStream zip, List<PDFExportRequest> specs, List<DailyCategoryTotal> days,
+                              Map<Long, String> names) throws IOException {
+        CompletionService<Entry> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Entry>> futures = new ArrayList<>();
+        Set<String> usedNames = new HashSet<>();
+        int next = 0;
+        try {
+            for (; next < specs.size() && next < parallelism; next++) {
+                futures.add(submit(completion, specs.get(next), days, names));
+            }
+            for (int written = 0; written < specs.size(); written++) {
+                Entry entry = completion.take().get();
+                if (next < specs.size()) {
+                    futures.add(submit(completion, specs.get(next++), days, names));
+                }
+                zip.putNextEntry(new ZipEntry(uniqueName(entry.name, usedNames)));
+                zip.write(entry.pdf);
+                zip.closeEntry();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while rendering bulk export", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to render bulk export entry", e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private Future<Entry> submit(CompletionService<Entry> completion, PDFExportRequest spec,
+                                 List<DailyCategoryTotal> days, Map<Long, String> names) {
+        return completion.submit(() -> render(spec, days, names));
+    }
+
+    private Entry render(PDFExportRequest spec, List<DailyCategoryTotal> days, Map<Long, String> names) {
+        LocalDate startDate = spec.getStartDate();
+        LocalDate endDate = spec.getEndDate();
+        ReportAggregator aggregator = aggregate(days, names, startDate, endDate);
+
+        String type = spec.getReportType().toLowerCase();
+        PdfReportLayout layout = switch (type) {
+            case "monthly" -> PdfReportLayout.totals("Monthly Spending Report",
+                    ReportService.monthlyReport(startDate, endDate, aggregator));
+            case "category" -> PdfReportLayout.totals("Category Spending Report",
+                    ReportService.categoryReport(startDate, endDate, aggregator));
+            default -> PDFExportService.breakdownLayout(ReportService.monthlySpending(startDate, endDate, aggregator,
+                    spec.getSelectedCategories()), ReportService.categoryTrends(aggregator, spec.getSelectedCategories()),
+                    startDate, endDate);
+        };
+
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        try {
+            pdfReportRenderer.render(layout, pdf);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Entry(type + "-report-" + startDate + "-to-" + endDate + ".pdf", pdf.toByteArray());
+    }
+
+    static ReportAggregator aggregate(List<DailyCategoryTotal> days, Map<Long, String> names,
+                                      LocalDate startDate, LocalDate endDate) {
+        ReportAggregator aggregator = new ReportAggregator(startDate, endDate);
+        // Days are sorted, so skip straight to the first one in range
+        int low = 0;
+        int high = days.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (days.get(mid).getDate().isBefore(startDate)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int i = low; i < days.size() && !days.get(i).getDate().isAfter(endDate); i++) {
+            DailyCategoryTotal day = days.get(i);
+            Long categoryId = day.getCategoryId();
+            aggregator.add(MonthlyCategoryTotal.toPeriod(YearMonth.from(day.getDate())),
+                    categoryId == null ? null : names.get(categoryId),
+                    day.getTotal() != null ? day.getTotal() : 0.0, day.getCount());
+        }
+        return aggregator;
+    }
+
+    private static String uniqueName(String name, Set<String> used) {
+        String candidate = name;
+        for (int i = 2; !used.add(candidate); i++) {
+            candidate = name.replace(".pdf", "-" + i + ".pdf");
+        }
+        return candidate;
+    }
+
+    private static class Entry {
+        private final String name;
+        private final byte[] pdf;
+
+        Entry(String name, byte[] pdf) {
+            this.name = name;
+            this.pdf = pdf;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.core.event.CategoryChangedEvent;
+import com.example.Personal_Budget_Tracker.core.model.Category;
+import com.example.Personal_Budget_Tracker.core.repository.CategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of the category table for the paths that read it on every request.
+ * Readers get an immutable, versioned snapshot with O(1) lookups in both directions; a
+ * committed category change loads a new snapshot and swaps it in atomically, so readers
+ * never lock and never see a half-applied change. The first snapshot loads lazily.
+ */
+@Component
+public class CategoryRegistry {
+    private final CategoryRepository categoryRepository;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final Logger logger = LoggerFactory.getLogger(CategoryRegistry.class);
+
+    public CategoryRegistry(CategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    public Snapshot snapshot() {
+        Snapshot snapshot = current.get();
+        return snapshot != null ? snapshot : reload();
+    }
+
+    // Serialized so two reloads cannot publish versions out of order
+    public synchronized Snapshot reload() {
+        Snapshot previous = current.get();
+        Snapshot snapshot = new Snapshot(previous == null ? 1 : previous.version + 1, categoryRepository.findAll());
+        current.set(snapshot);
+        logger.debug("Loaded category snapshot version {} with {} categories", snapshot.version,
+                snapshot.categories.size());
+        return snapshot;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        reload();
+    }
+
+    public static final class Snapshot {
+        private final long version;
+        private final List<Category> categories;
+        private final Map<Long, String> namesById;
+        private final Map<String, Long> idsByName;
+        private final String promptNames;
+
+        Snapshot(long version, List<Category> loaded) {
+            this.version = version;
+            List<Category> categories = new ArrayList<>(loaded.size());
+            Map<Long, String> namesById = new HashMap<>();
+            Map<String, Long> idsByName = new HashMap<>();
+            for (Category category : loaded) {
+                // Copies, so a caller changing an entity it loaded elsewhere cannot change the snapshot
+                Category copy = new Category(category.getName());
+                copy.setId(category.getId());
+                categories.add(copy);
+                namesById.put(category.getId(), category.getName());
+                idsByName.put(category.getName(), category.getId());
+            }
+            this.categories = Collections.unmodifiableList(categories);
+            this.namesById = Collections.unmodifiableMap(namesById);
+            this.idsByName = Collections.unmodifiableMap(idsByName);
+            this.promptNames = categories.stream()
+                    .map(category -> category.getName().toLowerCase())
+                    .collect(Collectors.joining(", "));
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * Shared by every reader of this snapshot; the entities must not be modified.
+         */
+        public List<Category> getCategories() {
+            return categories;
+        }
+
+        public String nameOf(Long id) {
+            return id == null ? null : namesById.get(id);
+        }
+
+        public Long idOf(String name) {
+            return name == null ? null : idsByName.get(name);
+        }
+
+        public Map<Long, String> getNamesById() {
+            return namesById;
+        }
+
+        /**
+         * Every category name in lower case, comma separated, as offered to a suggester.
+         */
+        public String getPromptNames() {
+            return promptNames;
+        }
+    }
+}
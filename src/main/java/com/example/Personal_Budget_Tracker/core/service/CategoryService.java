@@ -1,11 +1,15 @@
 package com.example.Personal_Budget_Tracker.core.service;
 
 import com.example.Personal_Budget_Tracker.core.api.categorysuggester.CategorySuggester;
+import com.example.Personal_Budget_Tracker.core.event.CategoryChangedEvent;
 import com.example.Personal_Budget_Tracker.core.model.Category;
 import com.example.Personal_Budget_Tracker.core.model.Transaction;
 import com.example.Personal_Budget_Tracker.core.repository.CategoryRepository;
+import com.example.Personal_Budget_Tracker.core.repository.MerchantRuleRepository;
 import com.example.Personal_Budget_Tracker.core.repository.TransactionRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,18 +22,26 @@ public class CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategorySuggester categorySuggester;
     private final TransactionRepository transactionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CategoryRegistry categoryRegistry;
+    private final MerchantRuleRepository merchantRuleRepository;
     private final Logger logger = LoggerFactory.getLogger(CategoryService.class);
 
-    public CategoryService(CategoryRepository categoryRepository, CategorySuggester categorySuggester, TransactionRepository transactionRepository) {
+    public CategoryService(CategoryRepository categoryRepository, CategorySuggester categorySuggester,
+                           TransactionRepository transactionRepository, ApplicationEventPublisher eventPublisher,
+                           CategoryRegistry categoryRegistry, MerchantRuleRepository merchantRuleRepository) {
         this.categoryRepository = categoryRepository;
         this.categorySuggester = categorySuggester;
         this.transactionRepository = transactionRepository;
+        this.eventPublisher = eventPublisher;
+        this.categoryRegistry = categoryRegistry;
+        this.merchantRuleRepository = merchantRuleRepository;
     }
 
     public List<Category> getAllCategories() {
         try {
             logger.info("Getting all categories");
-            List<Category> categories = categoryRepository.findAll();
+            List<Category> categories = categoryRegistry.snapshot().getCategories();
             logger.info("Found {} categories", categories.size());
             logger.debug("Categories: {}", categories);
             return categories;
@@ -46,6 +58,7 @@ public class CategoryService {
                 throw new IllegalArgumentException("Category name cannot be empty");
             }
             Category created = categoryRepository.save(category);
+            eventPublisher.publishEvent(new CategoryChangedEvent(created.getId(), CategoryChangedEvent.Change.CREATED));
             logger.info("Created category with id: {}", created.getId());
             return created;
         } catch (Exception e) {
@@ -69,6 +82,7 @@ public class CategoryService {
             }
             
             Category updated = categoryRepository.save(category);
+            eventPublisher.publishEvent(new CategoryChangedEvent(updated.getId(), CategoryChangedEvent.Change.UPDATED));
             logger.info("Successfully updated category: {}", updated);
             return updated;
         } catch (Exception e) {
@@ -77,10 +91,19 @@ public class CategoryService {
         }
     }
 
+    /**
+     * Removes the category together with its merchant rules, so a failed delete keeps the rules.
+     */
+    @Transactional
     public void deleteCategory(Long id) {
         try {
             logger.info("Deleting category with id: {}", id);
+            int rules = merchantRuleRepository.deleteByCategoryId(id);
+            if (rules > 0) {
+                logger.info("Deleted {} merchant rules of category {}", rules, id);
+            }
             categoryRepository.deleteById(id);
+            eventPublisher.publishEvent(new CategoryChangedEvent(id, CategoryChangedEvent.Change.DELETED));
             logger.info("Successfully deleted category with id: {}", id);
         } catch (Exception e) {
             logger.error("Error deleting category with id {}: {}", id, e.getMessage(), e);
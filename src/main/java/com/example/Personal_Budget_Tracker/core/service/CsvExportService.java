@@ -0,0 +1,202 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.core.repository.TransactionRepository;
+import com.example.Personal_Budget_Tracker.core.repository.projection.TransactionExportRow;
+import com.example.Personal_Budget_Tracker.rest.dto.CategoryTrendResponse;
+import com.example.Personal_Budget_Tracker.rest.dto.MonthlyReportResponse;
+import com.example.Personal_Budget_Tracker.rest.dto.MonthlySpendingDTO;
+import com.example.Personal_Budget_Tracker.rest.dto.MonthlyTrendData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CSV exports of transactions and reports. Transactions are streamed from the database
+ * inside a read-only transaction and written row by row through a small buffer, so a
+ * range of millions of rows never exists in memory at once. Report tables are already
+ * aggregated and are loaded up front, like the PDF exports.
+ */
+@Service
+public class CsvExportService {
+    private static final int BUFFER_SIZE = 8192;
+    private static final Pattern NUMBER = Pattern.compile("-?\\d+(\\.\\d+)?");
+
+    private final TransactionRepository transactionRepository;
+    private final ReportService reportService;
+    private final TransactionTemplate transactionTemplate;
+    private final Logger logger = LoggerFactory.getLogger(CsvExportService.class);
+
+    public CsvExportService(TransactionRepository transactionRepository, ReportService reportService,
+                            PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.reportService = reportService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * The query runs when the body is written, on the thread that writes the response.
+     */
+    public StreamingResponseBody streamTransactions(LocalDate startDate, LocalDate endDate) {
+        return out -> {
+            Writer writer = writer(out);
+            writeRow(writer, "id", "date", "type", "description", "category", "amount");
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<TransactionExportRow> rows = transactionRepository.streamExportRows(startDate, endDate)) {
+                        rows.forEach(row -> {
+                            try {
+                                writeRow(writer, String.valueOf(row.getId()), String.valueOf(row.getDate()),
+                                        row.getType(), row.getDescription(), row.getCategory(),
+                                        amount(row.getAmount()));
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // Usually the client went away mid-download
+                logger.warn("Transaction CSV export from {} to {} aborted: {}", startDate, endDate, e.getMessage());
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+    }
+
+    public StreamingResponseBody streamMonthlyReport(LocalDate startDate, LocalDate endDate) {
+        return totals("month", reportTotals(reportService.generateMonthlyReport(startDate, endDate), "monthlyTotals"));
+    }
+
+    public StreamingResponseBody streamCategoryReport(LocalDate startDate, LocalDate endDate) {
+        return totals("category", reportTotals(reportService.generateCategoryReport(startDate, endDate), "categoryTotals"));
+    }
+
+    public StreamingResponseBody streamMonthlySpending(LocalDate startDate, LocalDate endDate, List<String> categories) {
+        MonthlyReportResponse report = reportService.getMonthlySpending(startDate, endDate, categories);
+        return out -> {
+            Writer writer = writer(out);
+            writeRow(writer, "category", "amount", "percentage", "transactionCount");
+            for (MonthlySpendingDTO spending : report.getSpendingByCategory()) {
+                writeRow(writer, spending.getCategory(), amount(spending.getAmount()),
+                        amount(spending.getPercentage()), String.valueOf(spending.getTransactionCount()));
+            }
+            writer.flush();
+        };
+    }
+
+    public StreamingResponseBody streamCategoryTrends(LocalDate startDate, LocalDate endDate, List<String> categories) {
+        CategoryTrendResponse trends = reportService.getCategoryTrends(startDate, endDate, categories);
+        return out -> {
+            Writer writer = writer(out);
+            writeRow(writer, "month", "category", "amount");
+            for (MonthlyTrendData month : trends.getTrends()) {
+                for (Map.Entry<String, Double> entry : month.getCategoryData().entrySet()) {
+                    writeRow(writer, month.getMonth(), entry.getKey(), amount(entry.getValue()));
+                }
+            }
+            writer.flush();
+        };
+    }
+
+    /**
+     * Wraps a body so that everything it writes is gzip-compressed.
+     */
+    public static StreamingResponseBody gzip(StreamingResponseBody body) {
+        return out -> {
+            GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+            body.writeTo(gzip);
+            gzip.finish();
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Double> reportTotals(Map<String, Object> report, String key) {
+        Map<String, Double> totals = (Map<String, Double>) report.get(key);
+        return totals != null ? totals : Map.of();
+    }
+
+    private static StreamingResponseBody totals(String keyHeader, Map<String, Double> totals) {
+        return out -> {
+            Writer writer = writer(out);
+            writeRow(writer, keyHeader, "total");
+            for (Map.Entry<String, Double> entry : totals.entrySet()) {
+                writeRow(writer, entry.getKey(), amount(entry.getValue()));
+            }
+            writer.flush();
+        };
+    }
+
+    private static Writer writer(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    // Double.toString switches to exponent notation above 10^7, which spreadsheets misread
+    private static String amount(Double value) {
+        return value != null ? BigDecimal.valueOf(value).toPlainString() : "";
+    }
+
+    static void writeRow(Writer writer, String... cells) throws IOException {
+        for (int i = 0; i < cells.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCell(writer, cells[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180: quote cells containing separators, quotes or line breaks, doubling inner quotes
+    private static void writeCell(Writer writer, String cell) throws IOException {
+        if (cell == null) {
+            return;
+        }
+        cell = neutralizeFormula(cell);
+        boolean quote = false;
+        for (int i = 0; i < cell.length() && !quote; i++) {
+            char c = cell.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(cell);
+            return;
+        }
+        writer.write('"');
+        writer.write(cell.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /**
+     * Spreadsheets run a cell starting with =, +, -, @, tab or carriage return as a formula,
+     * so such text is prefixed with an apostrophe to be shown as typed. Plain numbers, such
+     * as negative amounts, are left as they are.
+     */
+    static String neutralizeFormula(String cell) {
+        if (cell.isEmpty() || NUMBER.matcher(cell).matches()) {
+            return cell;
+        }
+        char first = cell.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r') {
+            return "'" + cell;
+        }
+        return cell;
+    }
+}
@@ -0,0 +1,349 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.core.event.ReportDataRebuiltEvent;
+import com.example.Personal_Budget_Tracker.core.event.TransactionChangedEvent;
+import com.example.Personal_Budget_Tracker.core.repository.TransactionRepository;
+import com.example.Personal_Budget_Tracker.core.repository.projection.DailyCategoryTotal;
+import com.example.Personal_Budget_Tracker.core.repository.projection.DateSpan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory index of daily transaction totals per category, one Fenwick tree per
+ * category over epoch days. Any date-range total is answered in O(log days) per
+ * category, and each committed transaction write is applied in O(log days).
+ *
+ * The index is built lazily from the database on the first query. A build is discarded
+ * if a transaction write was in flight while it read, so a write is never counted twice;
+ * callers fall back to the rollup when the index is unavailable. A build that fails, because
+ * of such a write or because the dates span more than max-days, is not tried again until
+ * another write lands or the retry interval passes, so a failing index does not scan the
+ * table on every query.
+ */
+@Component
+public class DailyTotalsIndex {
+    private static final int PADDING_DAYS = 366;
+
+    private final TransactionRepository transactionRepository;
+    private final boolean enabled;
+    private final int maxDays;
+    private final long retryNanos;
+    private final LongSupplier nanoTime;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicInteger writesInFlight = new AtomicInteger();
+    private final AtomicLong appliedWrites = new AtomicLong();
+    private final Logger logger = LoggerFactory.getLogger(DailyTotalsIndex.class);
+
+    // Guarded by lock
+    private boolean built;
+    private long baseDay;
+    private int days;
+    private final Map<Long, FenwickTree> trees = new HashMap<>();
+    // Set by a failed build; no new build is tried before retryAt unless a write has landed since
+    private volatile boolean unavailable;
+    private volatile long retryAt;
+    private volatile long failedAtWrites;
+
+    @Autowired
+    public DailyTotalsIndex(TransactionRepository transactionRepository,
+                            @Value("${reports.index.enabled:true}") boolean enabled,
+                            @Value("${reports.index.max-days:20000}") int maxDays,
+                            @Value("${reports.index.retry-seconds:60}") long retrySeconds) {
+        this(transactionRepository, enabled, maxDays, Duration.ofSeconds(retrySeconds), System::nanoTime);
+    }
+
+    DailyTotalsIndex(TransactionRepository transactionRepository, boolean enabled, int maxDays,
+                     Duration retryInterval, LongSupplier nanoTime) {
+        this.transactionRepository = transactionRepository;
+        this.enabled = enabled;
+        this.maxDays = maxDays;
+        this.retryNanos = retryInterval.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Totals per category id (null for uncategorized) for categories with at least one
+     * transaction in the range, or empty if the index is disabled or could not be built.
+     */
+    public Optional<Map<Long, RangeTotal>> sumByCategory(LocalDate startDate, LocalDate endDate) {
+        if (!enabled || !ensureBuilt()) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            if (!built) {
+                return Optional.empty();
+            }
+            Map<Long, RangeTotal> totals = new HashMap<>();
+            long from = Math.max(startDate.toEpochDay(), baseDay);
+            long to = Math.min(endDate.toEpochDay(), baseDay + days - 1);
+            if (from > to) {
+                return Optional.of(totals);
+            }
+            int fromIndex = (int) (from - baseDay) + 1;
+            int toIndex = (int) (to - baseDay) + 1;
+            for (Map.Entry<Long, FenwickTree> entry : trees.entrySet()) {
+                FenwickTree tree = entry.getValue();
+                long count = tree.prefixCount(toIndex) - tree.prefixCount(fromIndex - 1);
+                if (count > 0) {
+                    double total = tree.prefixSum(toIndex) - tree.prefixSum(fromIndex - 1);
+                    totals.put(entry.getKey(), new RangeTotal(total, count));
+                }
+            }
+            return Optional.of(totals);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean ensureBuilt() {
+        lock.readLock().lock();
+        try {
+            if (built) {
+                return true;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (writesInFlight.get() > 0 || backingOff()) {
+            return false;
+        }
+        long observedWrites = appliedWrites.get();
+        // The cheap bounds check spares the full scan when the span alone rules the index out
+        DateSpan span = transactionRepository.findDateSpan();
+        if (span != null && span.getFirst() != null && spanDays(span.getFirst(), span.getLast()) > maxDays) {
+            logger.warn("Transaction dates {} to {} span more than the {} days the daily totals index allows",
+                    span.getFirst(), span.getLast(), maxDays);
+            markUnavailable();
+            return false;
+        }
+        List<DailyCategoryTotal> rows = transactionRepository.sumByDayAndCategory();
+
+        lock.writeLock().lock();
+        try {
+            if (built) {
+                return true;
+            }
+            if (writesInFlight.get() > 0 || appliedWrites.get() != observedWrites) {
+                logger.debug("Transactions changed while building the daily totals index, retrying later");
+                markUnavailable();
+                return false;
+            }
+            if (!build(rows)) {
+                markUnavailable();
+                return false;
+            }
+            unavailable = false;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean build(List<DailyCategoryTotal> rows) {
+        long minDay = LocalDate.now().toEpochDay();
+        long maxDay = minDay;
+        for (DailyCategoryTotal row : rows) {
+            minDay = Math.min(minDay, row.getDate().toEpochDay());
+            maxDay = Math.max(maxDay, row.getDate().toEpochDay());
+        }
+        long span = spanDays(LocalDate.ofEpochDay(minDay), LocalDate.ofEpochDay(maxDay));
+        if (span > maxDays) {
+            logger.warn("Transaction dates span {} days, more than the {} the daily totals index allows", span, maxDays);
+            return false;
+        }
+
+        baseDay = minDay - PADDING_DAYS;
+        days = (int) span;
+        trees.clear();
+        for (DailyCategoryTotal row : rows) {
+            trees.computeIfAbsent(row.getCategoryId(), id -> new FenwickTree(days))
+                    .set((int) (row.getDate().toEpochDay() - baseDay) + 1, row.getTotal(), row.getCount());
+        }
+        trees.values().forEach(FenwickTree::buildFromPoints);
+        built = true;
+        logger.info("Built daily totals index over {} days for {} categories", days, trees.size());
+        return true;
+    }
+
+    // Leave room on both sides so new transactions rarely force a rebuild
+    private static long spanDays(LocalDate first, LocalDate last) {
+        LocalDate today = LocalDate.now();
+        LocalDate from = first.isBefore(today) ? first : today;
+        LocalDate to = last.isAfter(today) ? last : today;
+        return to.toEpochDay() - from.toEpochDay() + 1 + 2L * PADDING_DAYS;
+    }
+
+    private boolean backingOff() {
+        return unavailable && appliedWrites.get() == failedAtWrites && nanoTime.getAsLong() - retryAt < 0;
+    }
+
+    private void markUnavailable() {
+        failedAtWrites = appliedWrites.get();
+        retryAt = nanoTime.getAsLong() + retryNanos;
+        unavailable = true;
+    }
+
+    @EventListener
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(event);
+            return;
+        }
+        // Counted from before commit so a concurrent build can tell it may have missed or seen this write
+        writesInFlight.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            // Ahead of the after-commit listeners, so ReportCache invalidates only once the trees
+            // hold the write and a report cached after that can never carry the old total
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCommit() {
+                apply(event);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                writesInFlight.decrementAndGet();
+            }
+        });
+    }
+
+    // A rebuild is the way to resync report data by hand, so the index is read again too
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportDataRebuilt(ReportDataRebuiltEvent event) {
+        lock.writeLock().lock();
+        try {
+            // Counted as a write so a build already reading the table is discarded
+            appliedWrites.incrementAndGet();
+            built = false;
+            unavailable = false;
+            trees.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(TransactionChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            appliedWrites.incrementAndGet();
+            if (!built) {
+                return;
+            }
+            if (event.getPrevious() != null) {
+                applyPoint(event.getPrevious(), -1);
+            }
+            if (event.getCurrent() != null && built) {
+                applyPoint(event.getCurrent(), 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyPoint(TransactionChangedEvent.Snapshot snapshot, int sign) {
+        if (snapshot.getDate() == null || snapshot.getAmount() == null) {
+            return;
+        }
+        long offset = snapshot.getDate().toEpochDay() - baseDay;
+        if (offset < 0 || offset >= days) {
+            // Outside the indexed window: drop the index and rebuild it on the next query
+            built = false;
+            trees.clear();
+            return;
+        }
+        trees.computeIfAbsent(snapshot.getCategoryId(), id -> new FenwickTree(days))
+                .add((int) offset + 1, sign * snapshot.getAmount(), sign);
+    }
+
+    public static class RangeTotal {
+        private final double total;
+        private final long count;
+
+        public RangeTotal(double total, long count) {
+            this.total = total;
+            this.count = count;
+        }
+
+        public double getTotal() {
+            return total;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+
+    /**
+     * Binary indexed tree of amounts and counts over 1-based day positions.
+     */
+    static final class FenwickTree {
+        private final double[] sums;
+        private final long[] counts;
+
+        FenwickTree(int size) {
+            this.sums = new double[size + 1];
+            this.counts = new long[size + 1];
+        }
+
+        void set(int index, double amount, long count) {
+            sums[index] += amount;
+            counts[index] += count;
+        }
+
+        // Turns point values written with set() into tree form in O(n)
+        void buildFromPoints() {
+            for (int i = 1; i < sums.length; i++) {
+                int parent = i + (i & -i);
+                if (parent < sums.length) {
+                    sums[parent] += sums[i];
+                    counts[parent] += counts[i];
+                }
+            }
+        }
+
+        void add(int index, double amount, long count) {
+            for (int i = index; i < sums.length; i += i & -i) {
+                sums[i] += amount;
+                counts[i] += count;
+            }
+        }
+
+        double prefixSum(int index) {
+            double sum = 0.0;
+            for (int i = index; i > 0; i -= i & -i) {
+                sum += sums[i];
+            }
+            return sum;
+        }
+
+        long prefixCount(int index) {
+            long count = 0;
+            for (int i = index; i > 0; i -= i & -i) {
+                count += counts[i];
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * State of one asynchronous PDF export. Status fields are written by the worker
+ * thread and read by pollers, so they are volatile.
+ */
+public class ExportJob {
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private final String id;
+    private final String reportType;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final Instant createdAt;
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile Path file;
+
+    public ExportJob(String id, String reportType, LocalDate startDate, LocalDate endDate, Instant createdAt) {
+        this.id = id;
+        this.reportType = reportType;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.createdAt = createdAt;
+    }
+
+    void running() {
+        status = Status.RUNNING;
+    }
+
+    void completed(Path file, Instant at) {
+        this.file = file;
+        this.finishedAt = at;
+        this.status = Status.COMPLETED;
+    }
+
+    void failed(String error, Instant at) {
+        this.error = error;
+        this.finishedAt = at;
+        this.status = Status.FAILED;
+    }
+
+    public String getFilename() {
+        return reportType.toLowerCase() + "-report-" + startDate + "-to-" + endDate + ".pdf";
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getReportType() {
+        return reportType;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+}
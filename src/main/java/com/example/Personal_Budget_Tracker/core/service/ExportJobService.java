@@ -0,0 +1,145 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renders PDF exports in the background on a small fixed pool with a bounded queue,
+ * so report rendering cannot take over the request threads. Finished files are kept in
+ * a local directory and removed, along with their job, once the TTL has passed. Jobs
+ * live only in memory, so files left by a previous run are removed on startup.
+ */
+@Service
+public class ExportJobService {
+    private final PDFExportService pdfExportService;
+    private final Path directory;
+    private final Duration ttl;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private final Logger logger = LoggerFactory.getLogger(ExportJobService.class);
+
+    public ExportJobService(PDFExportService pdfExportService,
+                            @Value("${reports.export.dir:}") String directory,
+                            @Value("${reports.export.workers:2}") int workers,
+                            @Value("${reports.export.queue-capacity:20}") int queueCapacity,
+                            @Value("${reports.export.ttl-minutes:30}") long ttlMinutes) {
+        this.pdfExportService = pdfExportService;
+        this.directory = directory.isEmpty()
+                ? Paths.get(System.getProperty("java.io.tmpdir"), "budget-tracker-exports")
+                : Paths.get(directory);
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        try {
+            Files.createDirectories(this.directory);
+            // No job refers to these any more, so the purge would never reach them
+            try (DirectoryStream<Path> stale = Files.newDirectoryStream(this.directory, "*.{pdf,part}")) {
+                stale.forEach(this::deleteQuietly);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot prepare export directory " + this.directory, e);
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "pdf-export-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Queues a report export and returns its job immediately.
+     *
+     * @throws RejectedExecutionException when the queue is full
+     */
+    public ExportJob submit(String reportType, LocalDate startDate, LocalDate endDate, List<String> categories) {
+        ExportJob job = new ExportJob(UUID.randomUUID().toString(), reportType, startDate, endDate, Instant.now());
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> render(job, categories));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw e;
+        }
+        logger.info("Queued {} export job {} for {} to {}", reportType, job.getId(), startDate, endDate);
+        return job;
+    }
+
+    public Optional<ExportJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    private void render(ExportJob job, List<String> categories) {
+        job.running();
+        Path target = directory.resolve(job.getId() + ".pdf");
+        Path partial = directory.resolve(job.getId() + ".pdf.part");
+        try {
+            StreamingResponseBody pdf = pdfExportService.streamReportPDF(job.getStartDate(), job.getEndDate(), categories);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                pdf.writeTo(out);
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.completed(target, Instant.now());
+            logger.info("Export job {} completed", job.getId());
+        } catch (Exception e) {
+            logger.error("Export job {} failed: {}", job.getId(), e.getMessage(), e);
+            deleteQuietly(partial);
+            job.failed(e.getMessage(), Instant.now());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reports.export.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        purgeExpired(Instant.now());
+    }
+
+    void purgeExpired(Instant now) {
+        jobs.values().removeIf(job -> {
+            Instant finishedAt = job.getFinishedAt();
+            if (finishedAt == null || finishedAt.plus(ttl).isAfter(now)) {
+                return false;
+            }
+            if (job.getFile() != null) {
+                deleteQuietly(job.getFile());
+            }
+            logger.debug("Expired export job {}", job.getId());
+            return true;
+        });
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete export file {}: {}", path, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.core.event.CategoryChangedEvent;
+import com.example.Personal_Budget_Tracker.core.event.MerchantRuleChangedEvent;
+import com.example.Personal_Budget_Tracker.core.model.MerchantRule;
+import com.example.Personal_Budget_Tracker.core.repository.MerchantRuleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Finds the merchant rules whose keywords occur in a description. All keywords are compiled
+ * into one Aho-Corasick automaton, so a description is scanned once however many rules
+ * there are. The automaton is immutable: a committed rule or category change builds a new
+ * one and swaps it in atomically, and the first one builds lazily.
+ * <p>
+ * Descriptions are normalized while they are scanned, the same way TextNormalizer treats
+ * keywords when they are compiled: lower case, with every run of characters other than
+ * letters and digits read as one space. Keywords are padded with a space on each side and so is the
+ * description, which makes a keyword match whole words only.
+ */
+@Component
+public class MerchantRuleMatcher {
+    private final MerchantRuleRepository merchantRuleRepository;
+    private final CategoryRegistry categoryRegistry;
+    private final AtomicReference<Automaton> current = new AtomicReference<>();
+    private final Logger logger = LoggerFactory.getLogger(MerchantRuleMatcher.class);
+
+    public MerchantRuleMatcher(MerchantRuleRepository merchantRuleRepository, CategoryRegistry categoryRegistry) {
+        this.merchantRuleRepository = merchantRuleRepository;
+        this.categoryRegistry = categoryRegistry;
+    }
+
+    /**
+     * Every rule whose keyword occurs in the description, in the order the rules were created.
+     */
+    public List<MerchantRule> matchAll(String description) {
+        return automaton().search(description);
+    }
+
+    /**
+     * The rule with the longest matching keyword, the most specific one, or the oldest of
+     * equally long ones; empty when no rule matches.
+     */
+    public Optional<MerchantRule> bestMatch(String description) {
+        MerchantRule best = null;
+        int bestLength = 0;
+        for (MerchantRule rule : automaton().search(description)) {
+            int length = TextNormalizer.normalize(rule.getKeyword()).length();
+            if (length > bestLength) {
+                best = rule;
+                bestLength = length;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    private Automaton automaton() {
+        Automaton automaton = current.get();
+        return automaton != null ? automaton : rebuild();
+    }
+
+    // Serialized so an older rule set can never replace a newer one
+    public synchronized Automaton rebuild() {
+        CategoryRegistry.Snapshot categories = categoryRegistry.snapshot();
+        List<MerchantRule> rules = new ArrayList<>();
+        for (MerchantRule rule : merchantRuleRepository.findAll(Sort.by("id"))) {
+            // Rules of a category deleted since they were loaded have nothing to suggest
+            if (categories.nameOf(rule.getCategoryId()) != null && !TextNormalizer.normalize(rule.getKeyword()).isEmpty()) {
+                rules.add(rule);
+            }
+        }
+        Automaton automaton = new Automaton(rules);
+        current.set(automaton);
+        logger.debug("Compiled {} merchant rules into {} automaton states", rules.size(), automaton.states());
+        return automaton;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMerchantRuleChanged(MerchantRuleChangedEvent event) {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.getChange() == CategoryChangedEvent.Change.DELETED) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Aho-Corasick automaton over the padded, normalized keywords. Each state keeps its
+     * outgoing characters sorted for binary search, its failure link to the longest proper
+     * suffix that is also a keyword prefix, and a link to the nearest such suffix state at
+     * which a keyword ends, so every match is reported without walking failure chains.
+     */
+    public static final class Automaton {
+        private static final int ROOT = 0;
+        private static final int[] NONE = new int[0];
+
+        private final List<MerchantRule> rules;
+        private final char[][] edgeChars;
+        private final int[][] edgeTargets;
+        private final int[] fail;
+        private final int[][] outputs;
+        private final int[] outputLinks;
+
+        Automaton(List<MerchantRule> loaded) {
+            List<MerchantRule> rules = new ArrayList<>(loaded.size());
+            for (MerchantRule rule : loaded) {
+                // Copies, so a caller changing an entity it loaded elsewhere cannot change a match
+                MerchantRule copy = new MerchantRule(rule.getKeyword(), rule.getCategoryId());
+                copy.setId(rule.getId());
+                rules.add(copy);
+            }
+            this.rules = Collections.unmodifiableList(rules);
+
+            // Trie of the padded keywords
+            List<TreeMap<Character, Integer>> children = new ArrayList<>();
+            List<List<Integer>> ends = new ArrayList<>();
+            children.add(new TreeMap<>());
+            ends.add(new ArrayList<>());
+            for (int r = 0; r < rules.size(); r++) {
+                String keyword = " " + TextNormalizer.normalize(rules.get(r).getKeyword()) + " ";
+                int state = ROOT;
+                for (int i = 0; i < keyword.length(); i++) {
+                    Integer next = children.get(state).get(keyword.charAt(i));
+                    if (next == null) {
+                        next = children.size();
+                        children.get(state).put(keyword.charAt(i), next);
+                        children.add(new TreeMap<>());
+                        ends.add(new ArrayList<>());
+                    }
+                    state = next;
+                }
+                ends.get(state).add(r);
+            }
+
+            int states = children.size();
+            this.edgeChars = new char[states][];
+            this.edgeTargets = new int[states][];
+            this.outputs = new int[states][];
+            for (int state = 0; state < states; state++) {
+                TreeMap<Character, Integer> edges = children.get(state);
+                edgeChars[state] = new char[edges.size()];
+                edgeTargets[state] = new int[edges.size()];
+                int e = 0;
+                for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                    edgeChars[state][e] = edge.getKey();
+                    edgeTargets[state][e++] = edge.getValue();
+                }
+                outputs[state] = ends.get(state).isEmpty()
+                        ? NONE : ends.get(state).stream().mapToInt(Integer::intValue).toArray();
+            }
+
+            // Failure and output links, breadth first so a state's links are set before its children's
+            this.fail = new int[states];
+            this.outputLinks = new int[states];
+            Deque<Integer> queue = new ArrayDeque<>();
+            for (int child : edgeTargets[ROOT]) {
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                for (int e = 0; e < edgeChars[state].length; e++) {
+                    int child = edgeTargets[state][e];
+                    int target = next(fail[state], edgeChars[state][e]);
+                    fail[child] = target == child ? ROOT : target;
+                    outputLinks[child] = outputs[fail[child]].length > 0 ? fail[child] : outputLinks[fail[child]];
+                    queue.add(child);
+                }
+            }
+        }
+
+        int states() {
+            return fail.length;
+        }
+
+        List<MerchantRule> search(String description) {
+            if (rules.isEmpty() || description == null) {
+                return List.of();
+            }
+            BitSet matched = new BitSet(rules.size());
+            int state = collect(next(ROOT, ' '), matched);
+            boolean space = false;
+            boolean any = false;
+            for (int i = 0; i < description.length(); i++) {
+                char c = description.charAt(i);
+                if (Character.isLetterOrDigit(c)) {
+                    if (space && any) {
+                        state = collect(next(state, ' '), matched);
+                    }
+                    state = collect(next(state, Character.toLowerCase(c)), matched);
+                    space = false;
+                    any = true;
+                } else {
+                    space = true;
+                }
+            }
+            collect(next(state, ' '), matched);
+
+            List<MerchantRule> found = new ArrayList<>(matched.cardinality());
+            for (int r = matched.nextSetBit(0); r >= 0; r = matched.nextSetBit(r + 1)) {
+                found.add(rules.get(r));
+            }
+            return found;
+        }
+
+        private int next(int state, char c) {
+            while (true) {
+                int e = Arrays.binarySearch(edgeChars[state], c);
+                if (e >= 0) {
+                    return edgeTargets[state][e];
+                }
+                if (state == ROOT) {
+                    return ROOT;
+                }
+                state = fail[state];
+            }
+        }
+
+        private int collect(int state, BitSet matched) {
+            for (int s = outputs[state].length > 0 ? state : outputLinks[state]; s != ROOT; s = outputLinks[s]) {
+                for (int r : outputs[s]) {
+                    matched.set(r);
+                }
+            }
+            return state;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.core.event.MerchantRuleChangedEvent;
+import com.example.Personal_Budget_Tracker.core.model.MerchantRule;
+import com.example.Personal_Budget_Tracker.core.repository.MerchantRuleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class MerchantRuleService {
+
+    private final MerchantRuleRepository merchantRuleRepository;
+    private final CategoryRegistry categoryRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Logger logger = LoggerFactory.getLogger(MerchantRuleService.class);
+
+    public MerchantRuleService(MerchantRuleRepository merchantRuleRepository, CategoryRegistry categoryRegistry,
+                               ApplicationEventPublisher eventPublisher) {
+        this.merchantRuleRepository = merchantRuleRepository;
+        this.categoryRegistry = categoryRegistry;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public List<MerchantRule> getAllRules() {
+        return merchantRuleRepository.findAll();
+    }
+
+    public MerchantRule getRuleById(Long id) {
+        return merchantRuleRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Merchant rule not found with ID: " + id));
+    }
+
+    public MerchantRule createRule(MerchantRule rule) {
+        validate(rule);
+        rule.setId(null);
+        MerchantRule created = merchantRuleRepository.save(rule);
+        eventPublisher.publishEvent(new MerchantRuleChangedEvent(created.getId(), MerchantRuleChangedEvent.Change.CREATED));
+        logger.info("Created merchant rule {}: '{}' -> category {}", created.getId(), created.getKeyword(),
+                created.getCategoryId());
+        return created;
+    }
+
+    public MerchantRule updateRule(Long id, MerchantRule updatedRule) {
+        MerchantRule existingRule = getRuleById(id);
+        validate(updatedRule);
+        existingRule.setKeyword(updatedRule.getKeyword());
+        existingRule.setCategoryId(updatedRule.getCategoryId());
+        MerchantRule updated = merchantRuleRepository.save(existingRule);
+        eventPublisher.publishEvent(new MerchantRuleChangedEvent(id, MerchantRuleChangedEvent.Change.UPDATED));
+        logger.info("Updated merchant rule {}: '{}' -> category {}", id, updated.getKeyword(), updated.getCategoryId());
+        return updated;
+    }
+
+    public void deleteRule(Long id) {
+        if (!merchantRuleRepository.existsById(id)) {
+            throw new RuntimeException("Merchant rule not found with ID: " + id);
+        }
+        merchantRuleRepository.deleteById(id);
+        eventPublisher.publishEvent(new MerchantRuleChangedEvent(id, MerchantRuleChangedEvent.Change.DELETED));
+        logger.info("Deleted merchant rule {}", id);
+    }
+
+    private void validate(MerchantRule rule) {
+        // A keyword of only punctuation would normalize to nothing and match every description
+        if (TextNormalizer.normalize(rule.getKeyword()).isEmpty()) {
+            throw new IllegalArgumentException("Keyword must contain at least one letter or digit");
+        }
+        if (categoryRegistry.snapshot().nameOf(rule.getCategoryId()) == null) {
+            throw new IllegalArgumentException("Category not found with ID: " + rule.getCategoryId());
+        }
+    }
+}
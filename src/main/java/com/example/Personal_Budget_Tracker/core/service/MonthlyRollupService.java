@@ -0,0 +1,156 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.core.event.ReportDataRebuiltEvent;
+import com.example.Personal_Budget_Tracker.core.model.MonthlyCategoryRollup;
+import com.example.Personal_Budget_Tracker.core.model.Transaction;
+import com.example.Personal_Budget_Tracker.core.repository.MonthlyCategoryRollupRepository;
+import com.example.Personal_Budget_Tracker.core.repository.TransactionRepository;
+import com.example.Personal_Budget_Tracker.core.repository.projection.CategoryTotal;
+import com.example.Personal_Budget_Tracker.core.repository.projection.MonthlyCategoryTotal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the monthly category rollup and answers report queries from it.
+ * Whole months are read from the rollup; partial months at either end of a
+ * range are aggregated from raw transactions.
+ */
+@Service
+public class MonthlyRollupService {
+    private final MonthlyCategoryRollupRepository rollupRepository;
+    private final TransactionRepository transactionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Logger logger = LoggerFactory.getLogger(MonthlyRollupService.class);
+
+    public MonthlyRollupService(MonthlyCategoryRollupRepository rollupRepository,
+                                TransactionRepository transactionRepository,
+                                ApplicationEventPublisher eventPublisher) {
+        this.rollupRepository = rollupRepository;
+        this.transactionRepository = transactionRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public void add(Transaction transaction) {
+        applyDelta(transaction, 1);
+    }
+
+    @Transactional
+    public void remove(Transaction transaction) {
+        applyDelta(transaction, -1);
+    }
+
+    private void applyDelta(Transaction transaction, int sign) {
+        if (transaction.getDate() == null || transaction.getAmount() == null) {
+            return;
+        }
+        int period = MonthlyCategoryTotal.toPeriod(YearMonth.from(transaction.getDate()));
+        Long categoryId = transaction.getCategory() != null ? transaction.getCategory().getId() : null;
+        applyDelta(period, categoryId, transaction.getType(), sign * transaction.getAmount(), sign);
+    }
+
+    private void applyDelta(int period, Long categoryId, String type, double amount, long count) {
+        long key = MonthlyCategoryRollup.key(categoryId);
+        if (count > 0) {
+            rollupRepository.upsertDelta(period, key, type, amount, count);
+        } else {
+            // A removed transaction was added before, so its row exists
+            rollupRepository.applyDelta(period, key, type, amount, count);
+            rollupRepository.deleteEmpty(period);
+        }
+    }
+
+    /**
+     * Moves uncategorized transactions into a category with two deltas per month and type,
+     * rather than a remove and an add per transaction.
+     */
+    @Transactional
+    public void assignCategory(List<Transaction> uncategorized, Long categoryId) {
+        Map<Integer, Map<String, double[]>> totals = new TreeMap<>();
+        for (Transaction transaction : uncategorized) {
+            if (transaction.getDate() == null || transaction.getAmount() == null) {
+                continue;
+            }
+            int period = MonthlyCategoryTotal.toPeriod(YearMonth.from(transaction.getDate()));
+            double[] total = totals.computeIfAbsent(period, key -> new HashMap<>())
+                    .computeIfAbsent(transaction.getType(), key -> new double[2]);
+            total[0] += transaction.getAmount();
+            total[1]++;
+        }
+        totals.forEach((period, byType) -> byType.forEach((type, total) -> {
+            applyDelta(period, null, type, -total[0], -(long) total[1]);
+            applyDelta(period, categoryId, type, total[0], (long) total[1]);
+        }));
+    }
+
+    public List<MonthlyCategoryTotal> getTotals(LocalDate startDate, LocalDate endDate) {
+        List<MonthlyCategoryTotal> totals = new ArrayList<>();
+        if (startDate.isAfter(endDate)) {
+            return totals;
+        }
+
+        YearMonth firstMonth = YearMonth.from(startDate);
+        YearMonth lastMonth = YearMonth.from(endDate);
+        YearMonth fullFrom = startDate.getDayOfMonth() == 1 ? firstMonth : firstMonth.plusMonths(1);
+        YearMonth fullTo = endDate.equals(lastMonth.atEndOfMonth()) ? lastMonth : lastMonth.minusMonths(1);
+
+        // A range inside a single month that does not cover all of it
+        if (firstMonth.equals(lastMonth) && fullFrom.isAfter(fullTo)) {
+            addPartialMonth(totals, firstMonth, startDate, endDate);
+            return totals;
+        }
+
+        if (!fullFrom.equals(firstMonth)) {
+            addPartialMonth(totals, firstMonth, startDate, firstMonth.atEndOfMonth());
+        }
+        if (!fullTo.equals(lastMonth)) {
+            addPartialMonth(totals, lastMonth, lastMonth.atDay(1), endDate);
+        }
+        if (!fullFrom.isAfter(fullTo)) {
+            totals.addAll(rollupRepository.sumByPeriodBetween(
+                    MonthlyCategoryTotal.toPeriod(fullFrom), MonthlyCategoryTotal.toPeriod(fullTo)));
+        }
+        return totals;
+    }
+
+    private void addPartialMonth(List<MonthlyCategoryTotal> totals, YearMonth month, LocalDate from, LocalDate to) {
+        int period = MonthlyCategoryTotal.toPeriod(month);
+        for (CategoryTotal total : transactionRepository.sumByCategory(from, to)) {
+            totals.add(new MonthlyCategoryTotal(period, total.getCategory(), total.getTotal(), total.getCount()));
+        }
+    }
+
+    @Transactional
+    public int rebuild() {
+        logger.info("Rebuilding monthly category rollup from transactions");
+        rollupRepository.deleteAllInBatch();
+        List<MonthlyCategoryRollup> rollups = transactionRepository.summarizeByMonthCategoryAndType();
+        rollupRepository.saveAll(rollups);
+        logger.info("Rebuilt monthly category rollup with {} rows", rollups.size());
+        eventPublisher.publishEvent(new ReportDataRebuiltEvent(rollups.size()));
+        return rollups.size();
+    }
+
+    // Rows written before uncategorized totals were keyed by UNCATEGORIZED are rebuilt too
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if ((rollupRepository.count() == 0 && transactionRepository.count() > 0)
+                || rollupRepository.existsByCategoryIdIsNull()) {
+            rebuild();
+        }
+    }
+}
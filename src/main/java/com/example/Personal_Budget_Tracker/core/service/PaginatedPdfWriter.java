@@ -0,0 +1,197 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.apache.pdfbox.util.Matrix;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes lines and table rows top to bottom, starting a new page whenever the next line
+ * would run into the bottom margin. Table headers are repeated at the top of every page
+ * a table continues on. Each page's content stream is closed as soon as the page is full,
+ * so only one page is ever open regardless of how many rows are written.
+ * <p>
+ * All text on a page goes into a single text object: cells are positioned with relative
+ * moves and the font is only set when it changes, instead of a full BT/Tf/Td/Tj/ET
+ * sequence per cell.
+ */
+public class PaginatedPdfWriter implements Closeable {
+    private static final PDFont HEADER_FONT = PDType1Font.HELVETICA_BOLD;
+    private static final PDFont ROW_FONT = PDType1Font.HELVETICA;
+    private static final float FOOTER_FONT_SIZE = 10;
+
+    private final PDDocument document;
+    private final PDRectangle pageSize;
+    private final float margin;
+    private final String footer;
+    private final float bottom;
+
+    private PDPageContentStream contentStream;
+    private float y;
+    private int pages;
+
+    private boolean inText;
+    private PDFont currentFont;
+    private float currentFontSize;
+    private float textX;
+    private float textY;
+
+    private float[] columns;
+    private String[] headers;
+    private float rowFontSize;
+    private float rowHeight;
+
+    /**
+     * @param footer printed at the bottom of every page, or null for none
+     */
+    public PaginatedPdfWriter(PDDocument document, PDRectangle pageSize, float margin, String footer) {
+        this.document = document;
+        this.pageSize = pageSize;
+        this.margin = margin;
+        this.footer = footer;
+        this.bottom = footer != null ? margin + FOOTER_FONT_SIZE * 2 : margin;
+    }
+
+    public int getPageCount() {
+        return pages;
+    }
+
+    /**
+     * Writes one line at the left margin and moves down by lineHeight.
+     */
+    public void line(String text, PDFont font, float fontSize, float lineHeight) throws IOException {
+        ensureSpace(fontSize);
+        show(text, font, fontSize, margin, y);
+        y -= lineHeight;
+    }
+
+    public void space(float height) throws IOException {
+        ensurePage();
+        y -= height;
+    }
+
+    /**
+     * Starts a table with the given column offsets from the left margin and writes its header row.
+     */
+    public void beginTable(float[] columns, String[] headers, float fontSize, float rowHeight) throws IOException {
+        this.columns = columns;
+        this.headers = headers;
+        this.rowFontSize = fontSize;
+        this.rowHeight = rowHeight;
+        ensureSpace(fontSize + rowHeight);
+        writeRow(headers, HEADER_FONT);
+    }
+
+    public void row(String... cells) throws IOException {
+        if (needsNewPage(rowFontSize)) {
+            newPage();
+            writeRow(headers, HEADER_FONT);
+        }
+        writeRow(cells, ROW_FONT);
+    }
+
+    /**
+     * Draws a form XObject at the left margin, starting a new page if it does not fit.
+     */
+    public void form(PDFormXObject form, float height) throws IOException {
+        ensureSpace(height);
+        // Forms cannot be drawn inside a text object
+        endText();
+        y -= height;
+        contentStream.saveGraphicsState();
+        contentStream.transform(Matrix.getTranslateInstance(margin, y));
+        contentStream.drawForm(form);
+        contentStream.restoreGraphicsState();
+    }
+
+    public void endTable() {
+        columns = null;
+        headers = null;
+    }
+
+    private void writeRow(String[] cells, PDFont font) throws IOException {
+        for (int i = 0; i < cells.length && i < columns.length; i++) {
+            show(cells[i], font, rowFontSize, margin + columns[i], y);
+        }
+        y -= rowHeight;
+    }
+
+    private void show(String text, PDFont font, float fontSize, float x, float atY) throws IOException {
+        if (!inText) {
+            contentStream.beginText();
+            inText = true;
+            currentFont = null;
+            textX = 0;
+            textY = 0;
+        }
+        if (font != currentFont || fontSize != currentFontSize) {
+            contentStream.setFont(font, fontSize);
+            currentFont = font;
+            currentFontSize = fontSize;
+        }
+        // Td is relative to the start of the previous line
+        contentStream.newLineAtOffset(x - textX, atY - textY);
+        textX = x;
+        textY = atY;
+        if (text != null && !text.isEmpty()) {
+            contentStream.showText(text);
+        }
+    }
+
+    private void endText() throws IOException {
+        if (inText) {
+            contentStream.endText();
+            inText = false;
+        }
+    }
+
+    private boolean needsNewPage(float height) {
+        return contentStream == null || y - height < bottom;
+    }
+
+    private void ensurePage() throws IOException {
+        if (contentStream == null) {
+            newPage();
+        }
+    }
+
+    private void ensureSpace(float height) throws IOException {
+        if (needsNewPage(height)) {
+            newPage();
+        }
+    }
+
+    private void newPage() throws IOException {
+        closePage();
+        PDPage page = new PDPage(pageSize);
+        document.addPage(page);
+        contentStream = new PDPageContentStream(document, page);
+        pages++;
+        y = pageSize.getHeight() - margin;
+    }
+
+    private void closePage() throws IOException {
+        if (contentStream == null) {
+            return;
+        }
+        if (footer != null) {
+            show(footer, ROW_FONT, FOOTER_FONT_SIZE, margin, margin);
+        }
+        endText();
+        contentStream.close();
+        contentStream = null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        ensurePage();
+        closePage();
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.Color;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Draws report charts as PDF vector paths inside form XObjects, so they stay sharp at any
+ * zoom and cost a few kilobytes instead of an embedded image. The drawing operators of
+ * each chart are cached by chart content; exporting the same data again only copies the
+ * cached operators into a new form for the document being written.
+ */
+@Component
+public class PdfChartRenderer {
+    public static final float WIDTH = 495;
+    static final int MAX_BARS = 12;
+    static final int MAX_LINES = 6;
+
+    private static final PDFont REGULAR = PDType1Font.HELVETICA;
+    private static final PDFont BOLD = PDType1Font.HELVETICA_BOLD;
+    // Fixed resource names, so cached operators resolve in every document's form
+    private static final COSName REGULAR_NAME = COSName.getPDFName("F1");
+    private static final COSName BOLD_NAME = COSName.getPDFName("F2");
+    private static final float TITLE_SIZE = 12;
+    private static final float LABEL_SIZE = 8;
+    private static final float TITLE_HEIGHT = 24;
+    private static final float BAR_ROW = 16;
+    private static final float BAR_LABEL_WIDTH = 130;
+    private static final float BAR_VALUE_WIDTH = 80;
+    private static final float LINE_HEIGHT = 220;
+    private static final float PLOT_LEFT = 60;
+    private static final float PLOT_BOTTOM = 40;
+    private static final int GRID_LINES = 4;
+    private static final Color AXIS = new Color(0x90, 0x90, 0x90);
+    private static final Color GRID = new Color(0xE0, 0xE0, 0xE0);
+    private static final Color TEXT = Color.BLACK;
+    private static final Color[] PALETTE = {
+        new Color(0x1F, 0x77, 0xB4), new Color(0xFF, 0x7F, 0x0E), new Color(0x2C, 0xA0, 0x2C),
+        new Color(0xD6, 0x27, 0x28), new Color(0x94, 0x67, 0xBD), new Color(0x8C, 0x56, 0x4B)
+    };
+
+    private final int cacheSize;
+    private final Map<String, CachedChart> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public PdfChartRenderer(@Value("${reports.pdf.chart-cache-size:100}") int cacheSize) {
+        this.cacheSize = cacheSize;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedChart> eldest) {
+                return size() > PdfChartRenderer.this.cacheSize;
+            }
+        });
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns a form holding the chart for the given document. Its bounding box starts at
+     * the origin, is {@link #WIDTH} wide and as tall as the chart needs.
+     */
+    public PDFormXObject form(PDDocument document, PdfReportLayout.Chart chart) throws IOException {
+        String key = key(chart);
+        CachedChart cached = cache.get(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            cached = draw(document, chart);
+            cache.put(key, cached);
+        }
+
+        PDFormXObject form = new PDFormXObject(document);
+        form.setBBox(new PDRectangle(WIDTH, cached.height));
+        form.setResources(fontResources());
+        try (OutputStream out = form.getContentStream().createOutputStream(COSName.FLATE_DECODE)) {
+            out.write(cached.content);
+        }
+        return form;
+    }
+
+    private static CachedChart draw(PDDocument document, PdfReportLayout.Chart chart) throws IOException {
+        float height = chart.getType() == PdfReportLayout.ChartType.BAR
+                ? TITLE_HEIGHT + Math.min(chart.getLabels().size(), MAX_BARS) * BAR_ROW + 4
+                : LINE_HEIGHT;
+        PDFormXObject scratch = new PDFormXObject(new COSStream());
+        scratch.setResources(fontResources());
+
+        ByteArrayOutputStream content = new ByteArrayOutputStream(4096);
+        try (PDPageContentStream stream = new PDPageContentStream(document, scratch, content)) {
+            text(stream, BOLD, TITLE_SIZE, 0, height - TITLE_SIZE, chart.getTitle());
+            if (chart.getType() == PdfReportLayout.ChartType.BAR) {
+                drawBars(stream, chart, height - TITLE_HEIGHT);
+            } else {
+                drawLines(stream, chart, height - TITLE_HEIGHT);
+            }
+        }
+        return new CachedChart(content.toByteArray(), height);
+    }
+
+    /**
+     * Horizontal bars, one per label in the order given, scaled to the largest value.
+     */
+    private static void drawBars(PDPageContentStream stream, PdfReportLayout.Chart chart, float top)
+            throws IOException {
+        double[] values = chart.getSeries().values().iterator().next();
+        int bars = Math.min(chart.getLabels().size(), MAX_BARS);
+        double max = 0;
+        for (int i = 0; i < bars; i++) {
+            max = Math.max(max, values[i]);
+        }
+        float barSpace = WIDTH - BAR_LABEL_WIDTH - BAR_VALUE_WIDTH;
+
+        StringBuilder text = new StringBuilder(16);
+        for (int i = 0; i < bars; i++) {
+            float y = top - (i + 1) * BAR_ROW;
+            float width = max > 0 ? (float) (values[i] / max * barSpace) : 0;
+            stream.setNonStrokingColor(PALETTE[0]);
+            stream.addRect(BAR_LABEL_WIDTH, y + 3, Math.max(width, 0.5f), BAR_ROW - 6);
+            stream.fill();
+
+            text(stream, REGULAR, LABEL_SIZE, 0, y + 5, truncate(chart.getLabels().get(i), 28));
+            text.setLength(0);
+            text(stream, REGULAR, LABEL_SIZE, BAR_LABEL_WIDTH + width + 4, y + 5,
+                    PdfReportRenderer.appendMoney(text, values[i]).toString());
+        }
+    }
+
+    /**
+     * One polyline per series over the labels as the x axis, with horizontal grid lines
+     * and a legend beneath the month labels.
+     */
+    private static void drawLines(PDPageContentStream stream, PdfReportLayout.Chart chart, float top)
+            throws IOException {
+        List<String> labels = chart.getLabels();
+        int points = labels.size();
+        double max = 0;
+        for (double[] values : chart.getSeries().values()) {
+            for (double value : values) {
+                max = Math.max(max, value);
+            }
+        }
+        if (max <= 0) {
+            max = 1;
+        }
+        float plotWidth = WIDTH - PLOT_LEFT - 10;
+        float plotHeight = top - PLOT_BOTTOM;
+        float step = points > 1 ? plotWidth / (points - 1) : 0;
+
+        StringBuilder text = new StringBuilder(16);
+        stream.setLineWidth(0.5f);
+        for (int g = 0; g <= GRID_LINES; g++) {
+            float y = PLOT_BOTTOM + plotHeight * g / GRID_LINES;
+            stream.setStrokingColor(g == 0 ? AXIS : GRID);
+            stream.moveTo(PLOT_LEFT, y);
+            stream.lineTo(PLOT_LEFT + plotWidth, y);
+            stream.stroke();
+            text.setLength(0);
+            text(stream, REGULAR, LABEL_SIZE, 0, y - 3,
+                    PdfReportRenderer.appendFixed(text.append('$'), max * g / GRID_LINES, 0).toString());
+        }
+
+        // Label at most about eight months so the text never overlaps
+        int labelEvery = Math.max(1, (points + 7) / 8);
+        for (int i = 0; i < points; i += labelEvery) {
+            text(stream, REGULAR, LABEL_SIZE, PLOT_LEFT + i * step - 12, PLOT_BOTTOM - 12, labels.get(i));
+        }
+
+        stream.setLineWidth(1.5f);
+        int series = 0;
+        for (Map.Entry<String, double[]> line : chart.getSeries().entrySet()) {
+            if (series == MAX_LINES) {
+                break;
+            }
+            Color color = PALETTE[series % PALETTE.length];
+            double[] values = line.getValue();
+            stream.setStrokingColor(color);
+            stream.setNonStrokingColor(color);
+            for (int i = 0; i < points; i++) {
+                float x = PLOT_LEFT + i * step;
+                float y = PLOT_BOTTOM + (float) (values[i] / max * plotHeight);
+                if (i == 0) {
+                    stream.moveTo(x, y);
+                } else {
+                    stream.lineTo(x, y);
+                }
+            }
+            if (points > 1) {
+                stream.stroke();
+            }
+            for (int i = 0; i < points; i++) {
+                stream.addRect(PLOT_LEFT + i * step - 1.5f, PLOT_BOTTOM + (float) (values[i] / max * plotHeight) - 1.5f,
+                        3, 3);
+            }
+            stream.fill();
+
+            float legendX = PLOT_LEFT + series * (plotWidth / MAX_LINES);
+            stream.addRect(legendX, 4, 8, 8);
+            stream.fill();
+            text(stream, REGULAR, LABEL_SIZE, legendX + 11, 5, truncate(line.getKey(), 14));
+            series++;
+        }
+    }
+
+    private static void text(PDPageContentStream stream, PDFont font, float size, float x, float y, String text)
+            throws IOException {
+        stream.setNonStrokingColor(TEXT);
+        stream.beginText();
+        stream.setFont(font, size);
+        stream.newLineAtOffset(x, y);
+        stream.showText(text != null ? text : "");
+        stream.endText();
+    }
+
+    private static String truncate(String text, int length) {
+        if (text == null) {
+            return "Uncategorized";
+        }
+        return text.length() <= length ? text : text.substring(0, length - 1) + ".";
+    }
+
+    private static PDResources fontResources() {
+        PDResources resources = new PDResources();
+        resources.put(REGULAR_NAME, REGULAR);
+        resources.put(BOLD_NAME, BOLD);
+        return resources;
+    }
+
+    private static String key(PdfReportLayout.Chart chart) {
+        StringBuilder key = new StringBuilder(256);
+        key.append(chart.getType()).append('\u0000').append(chart.getTitle());
+        for (String label : chart.getLabels()) {
+            key.append('\u0000').append(label);
+        }
+        for (Map.Entry<String, double[]> series : chart.getSeries().entrySet()) {
+            key.append('\u0001').append(series.getKey());
+            for (double value : series.getValue()) {
+                key.append(',').append(value);
+            }
+        }
+        return key.toString();
+    }
+
+    private static class CachedChart {
+        private final byte[] content;
+        private final float height;
+
+        CachedChart(byte[] content, float height) {
+            this.content = content;
+            this.height = height;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+
+/**
+ * Creates PDF documents whose buffers spill to a scratch file once they exceed
+ * reports.pdf.max-main-memory-bytes, so concurrent large exports do not pile up on the heap.
+ */
+@Component
+public class PdfDocumentFactory {
+    private final long maxMainMemoryBytes;
+    private final File scratchDir;
+
+    public PdfDocumentFactory(@Value("${reports.pdf.max-main-memory-bytes:1048576}") long maxMainMemoryBytes,
+                              @Value("${reports.pdf.scratch-dir:}") String scratchDir) {
+        this.maxMainMemoryBytes = maxMainMemoryBytes;
+        // Empty means the JVM temp directory
+        this.scratchDir = scratchDir.isEmpty() ? null : new File(scratchDir);
+    }
+
+    public PDDocument create() {
+        return new PDDocument(MemoryUsageSetting.setupMixed(maxMainMemoryBytes).setTempDir(scratchDir));
+    }
+}
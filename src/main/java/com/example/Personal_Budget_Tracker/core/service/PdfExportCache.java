@@ -0,0 +1,316 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.core.event.CategoryChangedEvent;
+import com.example.Personal_Budget_Tracker.core.event.ReportDataRebuiltEvent;
+import com.example.Personal_Budget_Tracker.core.event.TransactionChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Disk cache of rendered PDF exports. Entries are keyed by report type, date range,
+ * category filter and a data version that every committed transaction or category
+ * change bumps, so a cached file is never served for data that has since changed.
+ * Each entry carries a strong ETag derived from the SHA-256 of its bytes.
+ * <p>
+ * Every render goes to its own file, and concurrent misses for the same key share one
+ * render. A file dropped from the cache is only deleted once no reader still holds it.
+ */
+@Component
+public class PdfExportCache {
+    private final Path directory;
+    private final int maxEntries;
+    private final AtomicLong dataVersion = new AtomicLong();
+    private final Map<String, CachedPdf> entries;
+    private final Map<String, CompletableFuture<CachedPdf>> rendering = new HashMap<>();
+    private final Logger logger = LoggerFactory.getLogger(PdfExportCache.class);
+
+    public PdfExportCache(@Value("${reports.pdf.cache.dir:}") String directory,
+                          @Value("${reports.pdf.cache.max-entries:200}") int maxEntries) {
+        this.directory = directory.isEmpty()
+                ? Paths.get(System.getProperty("java.io.tmpdir"), "budget-tracker-pdf-cache")
+                : Paths.get(directory);
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPdf> eldest) {
+                if (size() > PdfExportCache.this.maxEntries) {
+                    eldest.getValue().evict();
+                    return true;
+                }
+                return false;
+            }
+        };
+        try {
+            Files.createDirectories(this.directory);
+            // Files left by a previous run are not indexed and may describe old data
+            try (DirectoryStream<Path> stale = Files.newDirectoryStream(this.directory, "*.pdf")) {
+                stale.forEach(this::deleteQuietly);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot prepare PDF cache directory " + this.directory, e);
+        }
+    }
+
+    /**
+     * Returns the cached export for the current data version, rendering it with the
+     * given body supplier on a miss. The returned file is held for the caller until the
+     * stream of {@link CachedPdf#toResource()} is closed or {@link CachedPdf#release()} is called.
+     */
+    public CachedPdf get(String report, LocalDate startDate, LocalDate endDate, List<String> categories,
+                         Supplier<StreamingResponseBody> renderer) {
+        while (true) {
+            long version = dataVersion.get();
+            String key = key(report, startDate, endDate, categories, version);
+            CompletableFuture<CachedPdf> pending;
+            boolean owner = false;
+            synchronized (this) {
+                CachedPdf cached = entries.get(key);
+                if (cached != null && Files.exists(cached.getFile()) && cached.retain()) {
+                    return cached;
+                }
+                pending = rendering.get(key);
+                if (pending == null) {
+                    pending = new CompletableFuture<>();
+                    rendering.put(key, pending);
+                    owner = true;
+                }
+            }
+
+            if (owner) {
+                return renderAndStore(key, version, renderer, pending);
+            }
+            CachedPdf shared = await(pending);
+            // Evicted and released by everyone else while this thread was waiting
+            if (shared.retain()) {
+                return shared;
+            }
+        }
+    }
+
+    private CachedPdf renderAndStore(String key, long version, Supplier<StreamingResponseBody> renderer,
+                                     CompletableFuture<CachedPdf> pending) {
+        CachedPdf rendered;
+        try {
+            rendered = render(key, renderer.get());
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                rendering.remove(key);
+            }
+            pending.completeExceptionally(e);
+            throw e;
+        }
+        synchronized (this) {
+            rendering.remove(key);
+            if (dataVersion.get() == version) {
+                CachedPdf previous = entries.put(key, rendered);
+                if (previous != null) {
+                    previous.evict();
+                }
+            } else {
+                // The data changed while rendering; serve this file once but never cache it
+                rendered.evict();
+            }
+        }
+        pending.complete(rendered);
+        return rendered;
+    }
+
+    private static CachedPdf await(CompletableFuture<CachedPdf> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the body to a file of its own, so renders of the same key never replace each other.
+     * The returned entry is already held once for the rendering caller.
+     */
+    private CachedPdf render(String key, StreamingResponseBody body) {
+        Path target = directory.resolve(key + "-" + UUID.randomUUID() + ".pdf");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (OutputStream out = new DigestOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(target)), digest)) {
+                body.writeTo(out);
+            }
+            return new CachedPdf(target, "\"" + HexFormat.of().formatHex(digest.digest()) + "\"", Files.size(target));
+        } catch (IOException e) {
+            deleteQuietly(target);
+            throw new UncheckedIOException("Failed to render PDF export", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String key(String report, LocalDate startDate, LocalDate endDate, List<String> categories,
+                              long version) {
+        List<String> sorted = categories == null ? new ArrayList<>() : new ArrayList<>(categories);
+        Collections.sort(sorted);
+        String raw = report + "|" + startDate + "|" + endDate + "|" + String.join(",", sorted) + "|" + version;
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(raw.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public long getDataVersion() {
+        return dataVersion.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        bumpVersion();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.getChange() != CategoryChangedEvent.Change.CREATED) {
+            bumpVersion();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportDataRebuilt(ReportDataRebuiltEvent event) {
+        bumpVersion();
+    }
+
+    private synchronized void bumpVersion() {
+        dataVersion.incrementAndGet();
+        // Entries of older versions can never be hit again
+        entries.values().forEach(CachedPdf::evict);
+        entries.clear();
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete cached PDF {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * A rendered file and the number of readers holding it. Once evicted, the file is
+     * deleted as soon as the last reader lets go.
+     */
+    public final class CachedPdf {
+        private final Path file;
+        private final String etag;
+        private final long size;
+        private int readers = 1;
+        private boolean evicted;
+
+        private CachedPdf(Path file, String etag, long size) {
+            this.file = file;
+            this.etag = etag;
+            this.size = size;
+        }
+
+        public Path getFile() {
+            return file;
+        }
+
+        /**
+         * Quoted strong entity tag, ready for the ETag header.
+         */
+        public String getEtag() {
+            return etag;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * The file as a resource whose stream gives up this reader's hold when it is closed.
+         */
+        public Resource toResource() {
+            AtomicBoolean released = new AtomicBoolean();
+            return new FileSystemResource(file) {
+                @Override
+                public InputStream getInputStream() throws IOException {
+                    return new FilterInputStream(super.getInputStream()) {
+                        @Override
+                        public void close() throws IOException {
+                            try {
+                                super.close();
+                            } finally {
+                                if (released.compareAndSet(false, true)) {
+                                    release();
+                                }
+                            }
+                        }
+                    };
+                }
+            };
+        }
+
+        /**
+         * Gives up a hold taken by {@link PdfExportCache#get}.
+         */
+        public void release() {
+            boolean delete;
+            synchronized (this) {
+                readers--;
+                delete = evicted && readers == 0;
+            }
+            if (delete) {
+                deleteQuietly(file);
+            }
+        }
+
+        private synchronized boolean retain() {
+            if (evicted && readers == 0) {
+                return false;
+            }
+            readers++;
+            return true;
+        }
+
+        private void evict() {
+            boolean delete;
+            synchronized (this) {
+                evicted = true;
+                delete = readers == 0;
+            }
+            if (delete) {
+                deleteQuietly(file);
+            }
+        }
+    }
+}
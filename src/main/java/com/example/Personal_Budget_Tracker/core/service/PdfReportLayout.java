@@ -0,0 +1,203 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Declarative description of a PDF report: a title, a period line, an optional footer and
+ * an ordered list of blocks. Blocks hold raw values; formatting and layout happen once, in
+ * {@link PdfReportRenderer}.
+ */
+public class PdfReportLayout {
+    public enum BlockType { HEADING, AMOUNT, TOTAL, TABLE, CHART }
+
+    public static class Block {
+        private final BlockType type;
+        private final String label;
+        private final double amount;
+        private final Table table;
+        private final Chart chart;
+
+        private Block(BlockType type, String label, double amount, Table table, Chart chart) {
+            this.type = type;
+            this.label = label;
+            this.amount = amount;
+            this.table = table;
+            this.chart = chart;
+        }
+
+        public BlockType getType() {
+            return type;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public double getAmount() {
+            return amount;
+        }
+
+        public Table getTable() {
+            return table;
+        }
+
+        public Chart getChart() {
+            return chart;
+        }
+    }
+
+    public enum CellFormat { TEXT, MONEY, PERCENT, COUNT }
+
+    public static class Table {
+        private final float[] columns;
+        private final String[] headers;
+        private final CellFormat[] formats;
+        private final List<Object[]> rows;
+
+        /**
+         * @param columns column offsets from the left margin
+         * @param formats how each column's values are rendered
+         */
+        public Table(float[] columns, String[] headers, CellFormat[] formats, List<Object[]> rows) {
+            this.columns = columns;
+            this.headers = headers;
+            this.formats = formats;
+            this.rows = rows;
+        }
+
+        public float[] getColumns() {
+            return columns;
+        }
+
+        public String[] getHeaders() {
+            return headers;
+        }
+
+        public CellFormat[] getFormats() {
+            return formats;
+        }
+
+        public List<Object[]> getRows() {
+            return rows;
+        }
+    }
+
+    public enum ChartType { BAR, LINE }
+
+    /**
+     * A chart drawn as vector paths. A bar chart has one series with a value per label;
+     * a line chart has one series per line, each with a value per label on the x axis.
+     */
+    public static class Chart {
+        private final ChartType type;
+        private final String title;
+        private final List<String> labels;
+        private final Map<String, double[]> series;
+
+        public Chart(ChartType type, String title, List<String> labels, Map<String, double[]> series) {
+            this.type = type;
+            this.title = title;
+            this.labels = labels;
+            this.series = series;
+        }
+
+        public ChartType getType() {
+            return type;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public List<String> getLabels() {
+            return labels;
+        }
+
+        public Map<String, double[]> getSeries() {
+            return series;
+        }
+    }
+
+    private final String title;
+    private final String period;
+    private final String footer;
+    private final List<Block> blocks = new ArrayList<>();
+
+    /**
+     * @param footer printed at the bottom of every page, or null for none
+     */
+    public PdfReportLayout(String title, String period, String footer) {
+        this.title = title;
+        this.period = period;
+        this.footer = footer;
+    }
+
+    /**
+     * Layout shared by the monthly and category reports: one line per entry of the
+     * monthlyTotals or categoryTotals map followed by the total spending.
+     */
+    @SuppressWarnings("unchecked")
+    public static PdfReportLayout totals(String title, Map<String, Object> reportData) {
+        PdfReportLayout layout = new PdfReportLayout(title,
+                "Period: " + reportData.get("startDate") + " to " + reportData.get("endDate"), null);
+        Map<String, Double> totals = (Map<String, Double>) (reportData.containsKey("monthlyTotals")
+                ? reportData.get("monthlyTotals") : reportData.get("categoryTotals"));
+        if (totals != null) {
+            for (Map.Entry<String, Double> entry : totals.entrySet()) {
+                layout.amount(entry.getKey(), entry.getValue());
+            }
+        }
+        Object totalSpending = reportData.get("totalSpending");
+        return layout.total("Total Spending", totalSpending != null ? ((Number) totalSpending).doubleValue() : 0.0);
+    }
+
+    public PdfReportLayout heading(String text) {
+        blocks.add(new Block(BlockType.HEADING, text, 0, null, null));
+        return this;
+    }
+
+    /**
+     * A "label: $amount" line.
+     */
+    public PdfReportLayout amount(String label, double amount) {
+        blocks.add(new Block(BlockType.AMOUNT, label, amount, null, null));
+        return this;
+    }
+
+    /**
+     * A bold "label: $amount" line set apart from the lines above it.
+     */
+    public PdfReportLayout total(String label, double amount) {
+        blocks.add(new Block(BlockType.TOTAL, label, amount, null, null));
+        return this;
+    }
+
+    public PdfReportLayout table(Table table) {
+        blocks.add(new Block(BlockType.TABLE, null, 0, table, null));
+        return this;
+    }
+
+    public PdfReportLayout chart(Chart chart) {
+        blocks.add(new Block(BlockType.CHART, null, 0, null, chart));
+        return this;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public String getFooter() {
+        return footer;
+    }
+
+    public List<Block> getBlocks() {
+        return Collections.unmodifiableList(blocks);
+    }
+}
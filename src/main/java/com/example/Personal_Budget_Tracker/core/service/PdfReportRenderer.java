@@ -0,0 +1,117 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * The one PDF rendering pipeline for every report. Fonts, sizes and line heights are fixed
+ * at class load, and amounts are rounded with BigDecimal into a reused buffer instead of
+ * String.format, which parses its pattern and builds a Formatter on every row.
+ */
+@Component
+public class PdfReportRenderer {
+    private static final PDRectangle PAGE_SIZE = PDRectangle.A4;
+    private static final float MARGIN = 50;
+    private static final PDFont BOLD = PDType1Font.HELVETICA_BOLD;
+    private static final PDFont REGULAR = PDType1Font.HELVETICA;
+    private static final float FONT_SIZE_TITLE = 16;
+    private static final float FONT_SIZE_HEADING = 14;
+    private static final float FONT_SIZE_NORMAL = 12;
+    private static final float TITLE_LINE = FONT_SIZE_TITLE * 1.5f;
+    private static final float HEADING_LINE = FONT_SIZE_HEADING * 1.5f;
+    private static final float NORMAL_LINE = FONT_SIZE_NORMAL * 1.5f;
+
+    private final PdfDocumentFactory pdfDocumentFactory;
+    private final PdfChartRenderer pdfChartRenderer;
+    private final Logger logger = LoggerFactory.getLogger(PdfReportRenderer.class);
+
+    public PdfReportRenderer(PdfDocumentFactory pdfDocumentFactory, PdfChartRenderer pdfChartRenderer) {
+        this.pdfDocumentFactory = pdfDocumentFactory;
+        this.pdfChartRenderer = pdfChartRenderer;
+    }
+
+    public void render(PdfReportLayout layout, OutputStream out) throws IOException {
+        try (PDDocument document = pdfDocumentFactory.create()) {
+            try (PaginatedPdfWriter writer = new PaginatedPdfWriter(document, PAGE_SIZE, MARGIN, layout.getFooter())) {
+                writer.line(layout.getTitle(), BOLD, FONT_SIZE_TITLE, TITLE_LINE);
+                writer.line(layout.getPeriod(), REGULAR, FONT_SIZE_NORMAL, NORMAL_LINE * 2);
+
+                StringBuilder text = new StringBuilder(64);
+                for (PdfReportLayout.Block block : layout.getBlocks()) {
+                    switch (block.getType()) {
+                        case HEADING -> writer.line(block.getLabel(), BOLD, FONT_SIZE_HEADING, HEADING_LINE);
+                        case AMOUNT -> writer.line(amountLine(text, block), REGULAR, FONT_SIZE_NORMAL, NORMAL_LINE);
+                        case TOTAL -> {
+                            writer.space(NORMAL_LINE);
+                            writer.line(amountLine(text, block), BOLD, FONT_SIZE_NORMAL, NORMAL_LINE * 2);
+                        }
+                        case TABLE -> writeTable(writer, text, block.getTable());
+                        case CHART -> {
+                            PDFormXObject chart = pdfChartRenderer.form(document, block.getChart());
+                            writer.form(chart, chart.getBBox().getHeight());
+                            writer.space(NORMAL_LINE);
+                        }
+                    }
+                }
+            }
+            document.save(out);
+        } catch (IOException e) {
+            logger.error("Error writing PDF report: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    private static String amountLine(StringBuilder text, PdfReportLayout.Block block) {
+        text.setLength(0);
+        text.append(block.getLabel()).append(": ");
+        return appendMoney(text, block.getAmount()).toString();
+    }
+
+    private static void writeTable(PaginatedPdfWriter writer, StringBuilder text, PdfReportLayout.Table table)
+            throws IOException {
+        writer.beginTable(table.getColumns(), table.getHeaders(), FONT_SIZE_NORMAL, NORMAL_LINE);
+        PdfReportLayout.CellFormat[] formats = table.getFormats();
+        String[] cells = new String[formats.length];
+        for (Object[] row : table.getRows()) {
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = formatCell(text, formats[i], row[i]);
+            }
+            writer.row(cells);
+        }
+        writer.endTable();
+    }
+
+    private static String formatCell(StringBuilder text, PdfReportLayout.CellFormat format, Object value) {
+        if (value == null) {
+            return "";
+        }
+        text.setLength(0);
+        return switch (format) {
+            case MONEY -> appendMoney(text, ((Number) value).doubleValue()).toString();
+            case PERCENT -> appendFixed(text, ((Number) value).doubleValue(), 1).append('%').toString();
+            case COUNT, TEXT -> value.toString();
+        };
+    }
+
+    /**
+     * Appends the amount as "$1234.50", rounding like String.format("$%.2f").
+     */
+    static StringBuilder appendMoney(StringBuilder text, double amount) {
+        return appendFixed(text.append('$'), amount, 2);
+    }
+
+    static StringBuilder appendFixed(StringBuilder text, double value, int decimals) {
+        return text.append(BigDecimal.valueOf(value).setScale(decimals, RoundingMode.HALF_UP).toPlainString());
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Spaces out permits evenly at a fixed rate. Unused time is not saved up, so after an idle
+ * period the next request is let through at once but the ones after it are paced again.
+ * A rate of zero or less disables the limit.
+ */
+final class RateLimiter {
+    private final double permitsPerSecond;
+    private final LongSupplier nanoTime;
+    private long nextFreeNanos;
+
+    RateLimiter(double permitsPerSecond) {
+        this(permitsPerSecond, System::nanoTime);
+    }
+
+    RateLimiter(double permitsPerSecond, LongSupplier nanoTime) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.nanoTime = nanoTime;
+        this.nextFreeNanos = nanoTime.getAsLong();
+    }
+
+    /**
+     * Reserves the permits and returns how many nanoseconds the caller must wait before using them.
+     */
+    synchronized long reserve(int permits) {
+        if (permitsPerSecond <= 0) {
+            return 0;
+        }
+        long now = nanoTime.getAsLong();
+        long start = Math.max(now, nextFreeNanos);
+        nextFreeNanos = start + (long) (permits * 1_000_000_000L / permitsPerSecond);
+        return start - now;
+    }
+}
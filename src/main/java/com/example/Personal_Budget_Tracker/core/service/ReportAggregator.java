@@ -0,0 +1,233 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.core.repository.projection.MonthlyCategoryTotal;
+import com.example.Personal_Budget_Tracker.rest.dto.MonthlySpendingDTO;
+import com.example.Personal_Budget_Tracker.rest.dto.MonthlyTrendData;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Single-pass report aggregation into dense primitive matrices.
+ * Amounts and counts are stored as [month offset][category ordinal], where the month
+ * offset is relative to the first month of the range and category ordinals are
+ * assigned in order of first appearance. Uncategorized rows are kept per month only.
+ * Every report shape is derived from the matrices once all rows have been added.
+ */
+public class ReportAggregator {
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final int INITIAL_CATEGORY_CAPACITY = 16;
+
+    private final YearMonth firstMonth;
+    private final int firstMonthIndex;
+    private final int months;
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<String> categories = new ArrayList<>();
+    private double[][] amounts;
+    private long[][] counts;
+    private final double[] uncategorizedAmounts;
+    private final long[] uncategorizedCounts;
+
+    public ReportAggregator(LocalDate startDate, LocalDate endDate) {
+        this.firstMonth = YearMonth.from(startDate);
+        this.firstMonthIndex = monthIndex(firstMonth.getYear(), firstMonth.getMonthValue());
+        YearMonth lastMonth = YearMonth.from(endDate);
+        this.months = Math.max(0, monthIndex(lastMonth.getYear(), lastMonth.getMonthValue()) - firstMonthIndex + 1);
+        this.amounts = new double[months][INITIAL_CATEGORY_CAPACITY];
+        this.counts = new long[months][INITIAL_CATEGORY_CAPACITY];
+        this.uncategorizedAmounts = new double[months];
+        this.uncategorizedCounts = new long[months];
+    }
+
+    private static int monthIndex(int year, int month) {
+        return year * 12 + month - 1;
+    }
+
+    public ReportAggregator addAll(Iterable<MonthlyCategoryTotal> totals) {
+        for (MonthlyCategoryTotal total : totals) {
+            add(total.getPeriod(), total.getCategory(), total.getTotal(), total.getCount());
+        }
+        return this;
+    }
+
+    /**
+     * Adds an aggregated row for a yyyyMM period. Rows outside the range are ignored.
+     */
+    public void add(int period, String category, double amount, long count) {
+        int month = monthIndex(period / 100, period % 100) - firstMonthIndex;
+        if (month < 0 || month >= months) {
+            return;
+        }
+        if (category == null) {
+            uncategorizedAmounts[month] += amount;
+            uncategorizedCounts[month] += count;
+            return;
+        }
+        int ordinal = ordinal(category);
+        amounts[month][ordinal] += amount;
+        counts[month][ordinal] += count;
+    }
+
+    /**
+     * Adds every row of another aggregator, such as one computed for a sub-range.
+     */
+    public ReportAggregator merge(ReportAggregator other) {
+        for (int m = 0; m < other.months; m++) {
+            YearMonth month = other.firstMonth.plusMonths(m);
+            int period = month.getYear() * 100 + month.getMonthValue();
+            for (int c = 0; c < other.categories.size(); c++) {
+                if (other.counts[m][c] != 0) {
+                    add(period, other.categories.get(c), other.amounts[m][c], other.counts[m][c]);
+                }
+            }
+            if (other.uncategorizedCounts[m] != 0) {
+                add(period, null, other.uncategorizedAmounts[m], other.uncategorizedCounts[m]);
+            }
+        }
+        return this;
+    }
+
+    private int ordinal(String category) {
+        Integer ordinal = ordinals.get(category);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        int next = categories.size();
+        if (next == amounts[0].length) {
+            grow(next * 2);
+        }
+        ordinals.put(category, next);
+        categories.add(category);
+        return next;
+    }
+
+    private void grow(int capacity) {
+        for (int m = 0; m < months; m++) {
+            amounts[m] = Arrays.copyOf(amounts[m], capacity);
+            counts[m] = Arrays.copyOf(counts[m], capacity);
+        }
+    }
+
+    public List<String> getCategories() {
+        return Collections.unmodifiableList(categories);
+    }
+
+    /**
+     * Sum per month for months that had at least one transaction, uncategorized included.
+     */
+    public Map<String, Double> monthlyTotals() {
+        Map<String, Double> totals = new HashMap<>();
+        for (int m = 0; m < months; m++) {
+            double amount = uncategorizedAmounts[m];
+            long count = uncategorizedCounts[m];
+            for (int c = 0; c < categories.size(); c++) {
+                amount += amounts[m][c];
+                count += counts[m][c];
+            }
+            if (count > 0) {
+                totals.put(firstMonth.plusMonths(m).format(MONTH_FORMAT), amount);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Sum per category over the whole range, uncategorized excluded.
+     */
+    public Map<String, Double> categoryTotals() {
+        double[] amountByCategory = new double[categories.size()];
+        long[] countByCategory = new long[categories.size()];
+        sumColumns(amountByCategory, countByCategory);
+
+        Map<String, Double> totals = new HashMap<>();
+        for (int c = 0; c < categories.size(); c++) {
+            if (countByCategory[c] > 0) {
+                totals.put(categories.get(c), amountByCategory[c]);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Spending per category with its share of the total. Without a filter the total
+     * includes uncategorized transactions; with one it covers the selected categories only.
+     */
+    public List<MonthlySpendingDTO> spendingByCategory(Collection<String> filter) {
+        boolean filtered = filter != null && !filter.isEmpty();
+        double[] amountByCategory = new double[categories.size()];
+        long[] countByCategory = new long[categories.size()];
+        sumColumns(amountByCategory, countByCategory);
+
+        double total = filtered ? 0.0 : sum(uncategorizedAmounts);
+        for (int c = 0; c < categories.size(); c++) {
+            if (!filtered || filter.contains(categories.get(c))) {
+                total += amountByCategory[c];
+            }
+        }
+
+        List<MonthlySpendingDTO> spending = new ArrayList<>();
+        for (int c = 0; c < categories.size(); c++) {
+            if (countByCategory[c] > 0 && (!filtered || filter.contains(categories.get(c)))) {
+                spending.add(new MonthlySpendingDTO(categories.get(c), amountByCategory[c],
+                        (amountByCategory[c] / total) * 100, (int) countByCategory[c]));
+            }
+        }
+        return spending;
+    }
+
+    public double totalSpending(Collection<String> filter) {
+        boolean filtered = filter != null && !filter.isEmpty();
+        double total = filtered ? 0.0 : sum(uncategorizedAmounts);
+        for (int m = 0; m < months; m++) {
+            for (int c = 0; c < categories.size(); c++) {
+                if (!filtered || filter.contains(categories.get(c))) {
+                    total += amounts[m][c];
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * One entry per month of the range with every category present, zero-filled.
+     * Categories outside the filter are reported as zero.
+     */
+    public List<MonthlyTrendData> trends(Collection<String> filter) {
+        boolean filtered = filter != null && !filter.isEmpty();
+        boolean[] selected = new boolean[categories.size()];
+        for (int c = 0; c < categories.size(); c++) {
+            selected[c] = !filtered || filter.contains(categories.get(c));
+        }
+
+        List<MonthlyTrendData> trends = new ArrayList<>(months);
+        for (int m = 0; m < months; m++) {
+            Map<String, Double> categoryData = new HashMap<>();
+            for (int c = 0; c < categories.size(); c++) {
+                categoryData.put(categories.get(c), selected[c] ? amounts[m][c] : 0.0);
+            }
+            trends.add(new MonthlyTrendData(firstMonth.plusMonths(m).format(MONTH_FORMAT), categoryData));
+        }
+        return trends;
+    }
+
+    private void sumColumns(double[] amountByCategory, long[] countByCategory) {
+        for (int m = 0; m < months; m++) {
+            double[] monthAmounts = amounts[m];
+            long[] monthCounts = counts[m];
+            for (int c = 0; c < categories.size(); c++) {
+                amountByCategory[c] += monthAmounts[c];
+                countByCategory[c] += monthCounts[c];
+            }
+        }
+    }
+
+    private static double sum(double[] values) {
+        double total = 0.0;
+        for (double value : values) {
+            total += value;
+        }
+        return total;
+    }
+}
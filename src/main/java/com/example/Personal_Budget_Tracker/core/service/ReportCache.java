@@ -0,0 +1,150 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.core.event.CategoryChangedEvent;
+import com.example.Personal_Budget_Tracker.core.event.ReportDataRebuiltEvent;
+import com.example.Personal_Budget_Tracker.core.event.TransactionChangedEvent;
+import com.example.Personal_Budget_Tracker.rest.dto.CacheStatsResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of report results keyed by report type, date range and category filter.
+ * A transaction write only evicts the entries whose range covers one of the changed dates.
+ */
+@Component
+public class ReportCache {
+    private final int maxEntries;
+    private final Map<Key, Object> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    // Bumped on every invalidation so results computed concurrently with a write are not stored
+    private long generation;
+    private final Logger logger = LoggerFactory.getLogger(ReportCache.class);
+
+    public ReportCache(@Value("${reports.cache.max-entries:500}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                if (size() > ReportCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String report, LocalDate startDate, LocalDate endDate, List<String> categories, Supplier<T> loader) {
+        Key key = new Key(report, startDate, endDate, categories);
+        long observedGeneration;
+        synchronized (this) {
+            Object cached = entries.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return (T) cached;
+            }
+            observedGeneration = generation;
+        }
+
+        misses.incrementAndGet();
+        T value = loader.get();
+
+        synchronized (this) {
+            if (value != null && observedGeneration == generation) {
+                entries.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    public synchronized void invalidate(Collection<LocalDate> dates) {
+        generation++;
+        Iterator<Key> iterator = entries.keySet().iterator();
+        while (iterator.hasNext()) {
+            Key key = iterator.next();
+            if (dates.stream().anyMatch(key::covers)) {
+                iterator.remove();
+                invalidations.incrementAndGet();
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidations.addAndGet(entries.size());
+        entries.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        invalidate(event.getAffectedDates());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        // A new category has no transactions yet; renames and deletes change every report
+        if (event.getChange() != CategoryChangedEvent.Change.CREATED) {
+            logger.debug("Category {} {}, clearing report cache", event.getCategoryId(), event.getChange());
+            invalidateAll();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportDataRebuilt(ReportDataRebuiltEvent event) {
+        logger.debug("Report data rebuilt, clearing report cache");
+        invalidateAll();
+    }
+
+    public synchronized CacheStatsResponse getStats() {
+        return new CacheStatsResponse(entries.size(), hits.get(), misses.get(), evictions.get(), invalidations.get());
+    }
+
+    private static final class Key {
+        private final String report;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final List<String> categories;
+
+        private Key(String report, LocalDate startDate, LocalDate endDate, List<String> categories) {
+            this.report = report;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            // Filter order does not change the result
+            List<String> sorted = categories == null ? new ArrayList<>() : new ArrayList<>(categories);
+            Collections.sort(sorted);
+            this.categories = sorted;
+        }
+
+        private boolean covers(LocalDate date) {
+            return !date.isBefore(startDate) && !date.isAfter(endDate);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return report.equals(other.report)
+                    && startDate.equals(other.startDate)
+                    && endDate.equals(other.endDate)
+                    && categories.equals(other.categories);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(report, startDate, endDate, categories);
+        }
+    }
+}
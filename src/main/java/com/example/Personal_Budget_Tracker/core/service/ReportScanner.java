@@ -0,0 +1,143 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.core.repository.TransactionRepository;
+import com.example.Personal_Budget_Tracker.core.repository.projection.ReportRow;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Aggregates reports straight from the transaction table in one streamed pass.
+ * Rows are read with a JDBC fetch size and folded into the aggregator as they arrive,
+ * so memory stays flat however large the range is. On MySQL this depends on the
+ * useCursorFetch data source property set in application.yml; without it the driver
+ * buffers each partition's full result set. Used instead of the monthly rollup when
+ * reports.scan.streaming is enabled.
+ *
+ * Ranges of at least reports.scan.parallel-cutoff-months are split into contiguous
+ * month partitions that are scanned concurrently, each in its own read-only transaction,
+ * on a pool of reports.scan.parallelism threads. Partial results are merged in order.
+ */
+@Component
+public class ReportScanner {
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int parallelism;
+    private final int parallelCutoffMonths;
+    private final ExecutorService executor;
+
+    public ReportScanner(TransactionRepository transactionRepository,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${reports.scan.streaming:false}") boolean enabled,
+                         @Value("${reports.scan.parallelism:4}") int parallelism,
+                         @Value("${reports.scan.parallel-cutoff-months:12}") int parallelCutoffMonths) {
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.parallelism = Math.max(1, parallelism);
+        this.parallelCutoffMonths = parallelCutoffMonths;
+        this.executor = this.parallelism > 1 ? newScanPool(this.parallelism) : null;
+    }
+
+    private static ExecutorService newScanPool(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "report-scan-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public ReportAggregator scan(LocalDate startDate, LocalDate endDate) {
+        List<LocalDate[]> partitions = partition(startDate, endDate);
+        if (executor == null || partitions.size() < 2) {
+            return scanPartition(startDate, endDate);
+        }
+
+        List<Future<ReportAggregator>> futures = new ArrayList<>(partitions.size());
+        for (LocalDate[] partition : partitions) {
+            futures.add(executor.submit(() -> scanPartition(partition[0], partition[1])));
+        }
+        ReportAggregator aggregator = new ReportAggregator(startDate, endDate);
+        try {
+            for (Future<ReportAggregator> future : futures) {
+                aggregator.merge(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while scanning transactions for report", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new RuntimeException("Failed to scan transactions for report", e.getCause());
+        }
+        return aggregator;
+    }
+
+    /**
+     * Splits the range into at most parallelism contiguous runs of whole months,
+     * or returns a single partition when the range is below the cutoff.
+     */
+    List<LocalDate[]> partition(LocalDate startDate, LocalDate endDate) {
+        YearMonth first = YearMonth.from(startDate);
+        int months = (int) (first.until(YearMonth.from(endDate), ChronoUnit.MONTHS) + 1);
+        List<LocalDate[]> partitions = new ArrayList<>();
+        if (months < parallelCutoffMonths || parallelism < 2) {
+            partitions.add(new LocalDate[] {startDate, endDate});
+            return partitions;
+        }
+
+        int count = Math.min(parallelism, months);
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            // Spread the remainder over the first partitions
+            int size = months / count + (i < months % count ? 1 : 0);
+            LocalDate from = first.plusMonths(offset).atDay(1);
+            LocalDate to = first.plusMonths(offset + size - 1).atEndOfMonth();
+            partitions.add(new LocalDate[] {
+                from.isBefore(startDate) ? startDate : from,
+                to.isAfter(endDate) ? endDate : to
+            });
+            offset += size;
+        }
+        return partitions;
+    }
+
+    private ReportAggregator scanPartition(LocalDate from, LocalDate to) {
+        ReportAggregator aggregator = new ReportAggregator(from, to);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<ReportRow> rows = transactionRepository.streamReportRows(from, to)) {
+                rows.forEach(row -> {
+                    LocalDate date = row.getDate();
+                    double amount = row.getAmount() != null ? row.getAmount() : 0.0;
+                    aggregator.add(date.getYear() * 100 + date.getMonthValue(), row.getCategory(), amount, 1);
+                });
+            }
+        });
+        return aggregator;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -1,80 +1,117 @@
 package com.example.Personal_Budget_Tracker.core.service;
 
-import com.example.Personal_Budget_Tracker.core.model.Transaction;
-import com.example.Personal_Budget_Tracker.core.repository.TransactionRepository;
+import com.example.Personal_Budget_Tracker.core.repository.projection.MonthlyCategoryTotal;
+import com.example.Personal_Budget_Tracker.rest.dto.DashboardResponse;
 import com.example.Personal_Budget_Tracker.rest.dto.MonthlyReportResponse;
-import com.example.Personal_Budget_Tracker.rest.dto.MonthlySpendingDTO;
 import com.example.Personal_Budget_Tracker.rest.dto.CategoryTrendResponse;
-import com.example.Personal_Budget_Tracker.rest.dto.MonthlyTrendData;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayOutputStream;
 import java.time.LocalDate;
 import java.time.YearMonth;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class ReportService {
-    private final TransactionRepository transactionRepository;
+    private final MonthlyRollupService monthlyRollupService;
+    private final ReportCache reportCache;
+    private final DailyTotalsIndex dailyTotalsIndex;
+    private final CategoryRegistry categoryRegistry;
+    private final ReportScanner reportScanner;
+    private final PdfReportRenderer pdfReportRenderer;
     private final Logger logger = LoggerFactory.getLogger(ReportService.class);
 
-    public ReportService(TransactionRepository transactionRepository) {
-        this.transactionRepository = transactionRepository;
+    public ReportService(MonthlyRollupService monthlyRollupService, ReportCache reportCache,
+                         DailyTotalsIndex dailyTotalsIndex, CategoryRegistry categoryRegistry,
+                         ReportScanner reportScanner, PdfReportRenderer pdfReportRenderer) {
+        this.monthlyRollupService = monthlyRollupService;
+        this.reportCache = reportCache;
+        this.dailyTotalsIndex = dailyTotalsIndex;
+        this.categoryRegistry = categoryRegistry;
+        this.reportScanner = reportScanner;
+        this.pdfReportRenderer = pdfReportRenderer;
     }
 
     public MonthlyReportResponse getMonthlySpending(LocalDate startDate, LocalDate endDate, List<String> categories) {
-        List<Transaction> transactions = transactionRepository.findByDateBetween(startDate, endDate);
-        
-        if (categories != null && !categories.isEmpty()) {
-            transactions = transactions.stream()
-                    .filter(t -> t.getCategory() != null && categories.contains(t.getCategory().getName()))
-                    .collect(Collectors.toList());
+        return reportCache.get("monthly-spending", startDate, endDate, categories,
+                () -> buildMonthlySpending(startDate, endDate, categories));
+    }
+
+    public Map<String, Object> generateMonthlyReport(LocalDate startDate, LocalDate endDate) {
+        return reportCache.get("monthly", startDate, endDate, null,
+                () -> buildMonthlyReport(startDate, endDate));
+    }
+
+    public Map<String, Object> generateCategoryReport(LocalDate startDate, LocalDate endDate) {
+        return reportCache.get("category", startDate, endDate, null,
+                () -> buildCategoryReport(startDate, endDate));
+    }
+
+    public CategoryTrendResponse getCategoryTrends(LocalDate startDate, LocalDate endDate, List<String> categories) {
+        return reportCache.get("category-trends", startDate, endDate, categories,
+                () -> buildCategoryTrends(startDate, endDate, categories));
+    }
+
+    /**
+     * Every report view for the range, derived from a single aggregation pass.
+     * The category filter applies to the spending summary and the trends only.
+     */
+    public DashboardResponse getDashboard(LocalDate startDate, LocalDate endDate, List<String> categories) {
+        return reportCache.get("dashboard", startDate, endDate, categories,
+                () -> buildDashboard(startDate, endDate, categories));
+    }
+
+    private ReportAggregator aggregate(LocalDate startDate, LocalDate endDate) {
+        if (reportScanner.isEnabled()) {
+            return reportScanner.scan(startDate, endDate);
         }
+        return new ReportAggregator(startDate, endDate)
+                .addAll(monthlyRollupService.getTotals(startDate, endDate));
+    }
 
-        // Calculate total spending
-        double totalSpending = transactions.stream()
-                .mapToDouble(Transaction::getAmount)
-                .sum();
-
-        // Group transactions by category name
-        Map<String, List<Transaction>> byCategory = transactions.stream()
-                .filter(t -> t.getCategory() != null)
-                .collect(Collectors.groupingBy(t -> t.getCategory().getName()));
-
-        // Create spending DTOs for each category
-        List<MonthlySpendingDTO> spendingByCategory = byCategory.entrySet().stream()
-                .map(entry -> {
-                    double amount = entry.getValue().stream()
-                            .mapToDouble(Transaction::getAmount)
-                            .sum();
-                    return new MonthlySpendingDTO(
-                            entry.getKey(),
-                            amount,
-                            (amount / totalSpending) * 100,
-                            entry.getValue().size()
-                    );
+    /**
+     * Whole-range totals per category for reports that do not break results down by month.
+     * Served from the daily totals index when it is available, with every row placed in
+     * the first month of the range; otherwise falls back to the monthly rollup.
+     */
+    private ReportAggregator aggregateRange(LocalDate startDate, LocalDate endDate) {
+        return dailyTotalsIndex.sumByCategory(startDate, endDate)
+                .map(totals -> {
+                    CategoryRegistry.Snapshot categories = categoryRegistry.snapshot();
+                    int period = MonthlyCategoryTotal.toPeriod(YearMonth.from(startDate));
+                    ReportAggregator aggregator = new ReportAggregator(startDate, endDate);
+                    totals.forEach((categoryId, total) -> aggregator.add(period,
+                            categories.nameOf(categoryId), total.getTotal(), total.getCount()));
+                    return aggregator;
                 })
-                .collect(Collectors.toList());
+                .orElseGet(() -> aggregate(startDate, endDate));
+    }
 
-        return new MonthlyReportResponse(startDate, endDate, totalSpending, spendingByCategory);
+    private MonthlyReportResponse buildMonthlySpending(LocalDate startDate, LocalDate endDate, List<String> categories) {
+        return monthlySpending(startDate, endDate, aggregateRange(startDate, endDate), categories);
     }
 
-    public Map<String, Object> generateMonthlyReport(LocalDate startDate, LocalDate endDate) {
-        List<Transaction> transactions = transactionRepository.findByDateBetween(startDate, endDate);
-        
-        Map<String, Double> monthlyTotals = transactions.stream()
-                .collect(Collectors.groupingBy(
-                        t -> t.getDate().format(DateTimeFormatter.ofPattern("yyyy-MM")),
-                        Collectors.summingDouble(Transaction::getAmount)
-                ));
+    private Map<String, Object> buildMonthlyReport(LocalDate startDate, LocalDate endDate) {
+        return monthlyReport(startDate, endDate, aggregate(startDate, endDate));
+    }
+
+    private Map<String, Object> buildCategoryReport(LocalDate startDate, LocalDate endDate) {
+        return categoryReport(startDate, endDate, aggregateRange(startDate, endDate));
+    }
+
+    // The report shapes below are shared with BulkExportService, which aggregates on its own
+
+    static MonthlyReportResponse monthlySpending(LocalDate startDate, LocalDate endDate, ReportAggregator aggregator,
+                                                 List<String> categories) {
+        Set<String> filter = categories == null ? null : new HashSet<>(categories);
+        return new MonthlyReportResponse(startDate, endDate,
+                aggregator.totalSpending(filter), aggregator.spendingByCategory(filter));
+    }
+
+    static Map<String, Object> monthlyReport(LocalDate startDate, LocalDate endDate, ReportAggregator aggregator) {
+        Map<String, Double> monthlyTotals = aggregator.monthlyTotals();
 
         Map<String, Object> report = new HashMap<>();
         report.put("startDate", startDate);
@@ -85,15 +122,8 @@ public class ReportService {
         return report;
     }
 
-    public Map<String, Object> generateCategoryReport(LocalDate startDate, LocalDate endDate) {
-        List<Transaction> transactions = transactionRepository.findByDateBetween(startDate, endDate);
-        
-        Map<String, Double> categoryTotals = transactions.stream()
-                .filter(t -> t.getCategory() != null)
-                .collect(Collectors.groupingBy(
-                        t -> t.getCategory().getName(),
-                        Collectors.summingDouble(Transaction::getAmount)
-                ));
+    static Map<String, Object> categoryReport(LocalDate startDate, LocalDate endDate, ReportAggregator aggregator) {
+        Map<String, Double> categoryTotals = aggregator.categoryTotals();
 
         Map<String, Object> report = new HashMap<>();
         report.put("startDate", startDate);
@@ -104,130 +134,35 @@ public class ReportService {
         return report;
     }
 
-    public CategoryTrendResponse getCategoryTrends(LocalDate startDate, LocalDate endDate, List<String> categories) {
-        List<Transaction> transactions = transactionRepository.findByDateBetween(startDate, endDate);
-        
-        // Group transactions by month and category
-        Map<YearMonth, Map<String, Double>> monthlyData = transactions.stream()
-            .filter(t -> t.getCategory() != null && 
-                        (categories == null || categories.isEmpty() || 
-                         categories.contains(t.getCategory().getName())))
-            .collect(Collectors.groupingBy(
-                t -> YearMonth.from(t.getDate()),
-                Collectors.groupingBy(
-                    t -> t.getCategory().getName(),
-                    Collectors.summingDouble(Transaction::getAmount)
-                )
-            ));
-
-        // Create a sorted list of all months in the range
-        List<YearMonth> allMonths = new ArrayList<>();
-        YearMonth current = YearMonth.from(startDate);
-        YearMonth end = YearMonth.from(endDate);
-        while (!current.isAfter(end)) {
-            allMonths.add(current);
-            current = current.plusMonths(1);
-        }
+    static CategoryTrendResponse categoryTrends(ReportAggregator aggregator, List<String> categories) {
+        Set<String> filter = categories == null ? null : new HashSet<>(categories);
+        return new CategoryTrendResponse(aggregator.trends(filter));
+    }
+
+    private CategoryTrendResponse buildCategoryTrends(LocalDate startDate, LocalDate endDate, List<String> categories) {
+        return categoryTrends(aggregate(startDate, endDate), categories);
+    }
+
+    private DashboardResponse buildDashboard(LocalDate startDate, LocalDate endDate, List<String> categories) {
+        ReportAggregator aggregator = aggregate(startDate, endDate);
+        Set<String> filter = categories == null ? null : new HashSet<>(categories);
+        MonthlyReportResponse spending = new MonthlyReportResponse(startDate, endDate,
+                aggregator.totalSpending(filter), aggregator.spendingByCategory(filter));
+        return new DashboardResponse(startDate, endDate, aggregator.monthlyTotals(),
+                aggregator.categoryTotals(), spending, aggregator.trends(filter));
+    }
 
-        // Get all unique categories
-        Set<String> allCategories = transactions.stream()
-            .filter(t -> t.getCategory() != null)
-            .map(t -> t.getCategory().getName())
-            .collect(Collectors.toSet());
-
-        // Create trend data for each month
-        List<MonthlyTrendData> trends = allMonths.stream()
-            .map(month -> {
-                Map<String, Double> categoryData = new HashMap<>();
-                Map<String, Double> monthData = monthlyData.getOrDefault(month, new HashMap<>());
-                
-                // Ensure all categories are present in each month's data
-                allCategories.forEach(category -> 
-                    categoryData.put(category, monthData.getOrDefault(category, 0.0))
-                );
-                
-                return new MonthlyTrendData(
-                    month.format(DateTimeFormatter.ofPattern("yyyy-MM")),
-                    categoryData
-                );
-            })
-            .collect(Collectors.toList());
-
-        return new CategoryTrendResponse(trends);
-    }
-
-    public byte[] exportMonthlyReportPdf(LocalDate startDate, LocalDate endDate) {
+    /**
+     * Loads the report data immediately, so failures surface before the response starts,
+     * and returns a body that writes the PDF straight to the response stream.
+     */
+    public StreamingResponseBody streamMonthlyReportPdf(LocalDate startDate, LocalDate endDate) {
         Map<String, Object> reportData = generateMonthlyReport(startDate, endDate);
-        return generatePdfReport(reportData, "Monthly Spending Report");
+        return out -> pdfReportRenderer.render(PdfReportLayout.totals("Monthly Spending Report", reportData), out);
     }
 
-    public byte[] exportCategoryReportPdf(LocalDate startDate, LocalDate endDate) {
+    public StreamingResponseBody streamCategoryReportPdf(LocalDate startDate, LocalDate endDate) {
         Map<String, Object> reportData = generateCategoryReport(startDate, endDate);
-        return generatePdfReport(reportData, "Category Spending Report");
-    }
-
-    private byte[] generatePdfReport(Map<String, Object> reportData, String title) {
-        try (PDDocument document = new PDDocument()) {
-            PDPage page = new PDPage();
-            document.addPage(page);
-
-            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-                // Add title
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 16);
-                contentStream.newLineAtOffset(50, 750);
-                contentStream.showText(title);
-                contentStream.endText();
-
-                // Add date range
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.newLineAtOffset(50, 720);
-                contentStream.showText(String.format("Period: %s to %s",
-                        reportData.get("startDate"),
-                        reportData.get("endDate")));
-                contentStream.endText();
-
-                // Add totals
-                float y = 680;
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                
-                if (reportData.containsKey("monthlyTotals")) {
-                    @SuppressWarnings("unchecked")
-                    Map<String, Double> monthlyTotals = (Map<String, Double>) reportData.get("monthlyTotals");
-                    for (Map.Entry<String, Double> entry : monthlyTotals.entrySet()) {
-                        contentStream.beginText();
-                        contentStream.newLineAtOffset(50, y);
-                        contentStream.showText(String.format("%s: $%.2f", entry.getKey(), entry.getValue()));
-                        contentStream.endText();
-                        y -= 20;
-                    }
-                } else if (reportData.containsKey("categoryTotals")) {
-                    @SuppressWarnings("unchecked")
-                    Map<String, Double> categoryTotals = (Map<String, Double>) reportData.get("categoryTotals");
-                    for (Map.Entry<String, Double> entry : categoryTotals.entrySet()) {
-                        contentStream.beginText();
-                        contentStream.newLineAtOffset(50, y);
-                        contentStream.showText(String.format("%s: $%.2f", entry.getKey(), entry.getValue()));
-                        contentStream.endText();
-                        y -= 20;
-                    }
-                }
-
-                // Add total spending
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                contentStream.newLineAtOffset(50, y - 20);
-                contentStream.showText(String.format("Total Spending: $%.2f", reportData.get("totalSpending")));
-                contentStream.endText();
-            }
-
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            document.save(baos);
-            return baos.toByteArray();
-        } catch (Exception e) {
-            logger.error("Error generating PDF report: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to generate PDF report", e);
-        }
+        return out -> pdfReportRenderer.render(PdfReportLayout.totals("Category Spending Report", reportData), out);
     }
 }
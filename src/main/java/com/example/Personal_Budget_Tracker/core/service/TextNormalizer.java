@@ -0,0 +1,37 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+/**
+ * The one normal form for transaction descriptions and merchant keywords, shared by the
+ * suggestion cache, the naive Bayes tokenizer and the merchant rule matcher so they all
+ * agree on what counts as the same text.
+ */
+public final class TextNormalizer {
+    private TextNormalizer() {
+    }
+
+    /**
+     * Lower case, with every run of characters other than letters and digits collapsed to a
+     * single space and none at either end. Lower-casing is per character, so the result is
+     * never longer than the input and does not depend on the default locale.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (space && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(Character.toLowerCase(c));
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        return normalized.toString();
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.Personal_Budget_Tracker.core.service;
 
+import com.example.Personal_Budget_Tracker.core.event.TransactionChangedEvent;
 import com.example.Personal_Budget_Tracker.core.model.Transaction;
 import com.example.Personal_Budget_Tracker.core.repository.TransactionRepository;
 import com.theokanning.openai.service.OpenAiService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
@@ -18,17 +20,23 @@ public class TransactionService {
     private final TransactionRepository transactionRepository;
     private final OpenAiService openAiService;
     private final BudgetGoalService budgetGoalService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final ApplicationEventPublisher eventPublisher;
     private final Logger logger = LoggerFactory.getLogger(TransactionService.class);
 
     // Constructor for dependency injection
     public TransactionService(
         TransactionRepository transactionRepository, 
         OpenAiService openAiService,
-        BudgetGoalService budgetGoalService
+        BudgetGoalService budgetGoalService,
+        MonthlyRollupService monthlyRollupService,
+        ApplicationEventPublisher eventPublisher
     ) {
         this.transactionRepository = transactionRepository;
         this.openAiService = openAiService;
         this.budgetGoalService = budgetGoalService;
+        this.monthlyRollupService = monthlyRollupService;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<Transaction> getAllTransactions() {
@@ -49,6 +57,8 @@ public class TransactionService {
         
         // Save the transaction first
         Transaction savedTransaction = transactionRepository.save(transaction);
+        monthlyRollupService.add(savedTransaction);
+        eventPublisher.publishEvent(new TransactionChangedEvent(null, TransactionChangedEvent.Snapshot.of(savedTransaction)));
         
         // Update budget goal spending if applicable
         if (savedTransaction.getBudgetgoal() != null) {
@@ -68,6 +78,10 @@ public class TransactionService {
         // Validate the updated transaction
         validateTransaction(updatedTransaction);
 
+        // Take the old values out of the rollup before they are overwritten
+        monthlyRollupService.remove(existingTransaction);
+        TransactionChangedEvent.Snapshot previous = TransactionChangedEvent.Snapshot.of(existingTransaction);
+
         // Update the existing transaction with new values
         existingTransaction.setAmount(updatedTransaction.getAmount());
         existingTransaction.setType(updatedTransaction.getType());
@@ -75,10 +89,15 @@ public class TransactionService {
         existingTransaction.setDate(updatedTransaction.getDate() != null ? 
                                   updatedTransaction.getDate() : existingTransaction.getDate());
         existingTransaction.setCategory(updatedTransaction.getCategory());
+        // Whatever category the user saves is their own choice from now on
+        existingTransaction.setAutoCategorized(false);
         existingTransaction.setBudgetgoal(updatedTransaction.getBudgetgoal());
 
         logger.info("Saving updated transaction: {}", existingTransaction);
-        return transactionRepository.save(existingTransaction);
+        Transaction savedTransaction = transactionRepository.save(existingTransaction);
+        monthlyRollupService.add(savedTransaction);
+        eventPublisher.publishEvent(new TransactionChangedEvent(previous, TransactionChangedEvent.Snapshot.of(savedTransaction)));
+        return savedTransaction;
     }
 
     private void validateTransaction(Transaction transaction) {
@@ -93,8 +112,13 @@ public class TransactionService {
         }
     }
 
+    @Transactional
     public void deleteTransaction(Long id) {
-        transactionRepository.deleteById(id);
+        transactionRepository.findById(id).ifPresent(transaction -> {
+            monthlyRollupService.remove(transaction);
+            transactionRepository.delete(transaction);
+            eventPublisher.publishEvent(new TransactionChangedEvent(TransactionChangedEvent.Snapshot.of(transaction), null));
+        });
     }
 
     public OpenAiService getOpenAiService() {
@@ -1,25 +1,35 @@
 package com.example.Personal_Budget_Tracker.rest.controller;
 
+import com.example.Personal_Budget_Tracker.api.impl.CachingCategorySuggester;
 import com.example.Personal_Budget_Tracker.core.model.Category;
 import com.example.Personal_Budget_Tracker.core.service.CategoryService;
 import com.example.Personal_Budget_Tracker.core.api.categorysuggester.CategorySuggester;
+import com.example.Personal_Budget_Tracker.rest.dto.CategorySuggestionDTO;
 import com.example.Personal_Budget_Tracker.rest.dto.ErrorResponse;
+import com.example.Personal_Budget_Tracker.rest.dto.SuggestionCacheStatsResponse;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @RestController
 @RequestMapping("/api/category")
 public class CategoryController {
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final CategoryService categoryService;
     private final CategorySuggester categorySuggester;
+    private final CachingCategorySuggester suggestionCache;
     private final Logger logger = LoggerFactory.getLogger(CategoryController.class);
 
-    public CategoryController(CategoryService categoryService, CategorySuggester categorySuggester) {
+    public CategoryController(CategoryService categoryService, CategorySuggester categorySuggester,
+                              CachingCategorySuggester suggestionCache) {
         this.categoryService = categoryService;
         this.categorySuggester = categorySuggester;
+        this.suggestionCache = suggestionCache;
         logger.info("CategoryController initialized with services: " + categoryService + ", " + categorySuggester);
     }
 
@@ -88,16 +98,51 @@ public class CategoryController {
         }
     }
 
+    /**
+     * Answered asynchronously, so the request thread is free while OpenAI is asked.
+     */
     @GetMapping("/suggest")
-    public ResponseEntity<String> suggestCategory(@RequestParam String description) {
+    public CompletableFuture<ResponseEntity<String>> suggestCategory(@RequestParam String description) {
+        logger.info("Suggesting category for description: {}", description);
+        return categorySuggester.suggestCategoryAsync(description)
+            .thenApply(suggestion -> {
+                logger.info("Category suggestion: {}", suggestion);
+                return ResponseEntity.ok(suggestion);
+            })
+            .exceptionally(e -> {
+                logger.error("Error suggesting category: {}", e.getMessage(), e);
+                return ResponseEntity.internalServerError().build();
+            });
+    }
+
+    /**
+     * Suggests a category for each description, in request order.
+     */
+    @PostMapping("/suggest/batch")
+    public ResponseEntity<?> suggestCategories(@RequestBody List<String> descriptions) {
+        if (descriptions == null || descriptions.isEmpty()) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("At least one description is required"));
+        }
+        if (descriptions.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest()
+                .body(new ErrorResponse("At most " + MAX_BATCH_SIZE + " descriptions can be suggested at once"));
+        }
         try {
-            logger.info("Suggesting category for description: {}", description);
-            String suggestion = categorySuggester.suggestCategory(description);
-            logger.info("Category suggestion: {}", suggestion);
-            return ResponseEntity.ok(suggestion);
+            logger.info("Suggesting categories for {} descriptions", descriptions.size());
+            List<String> categories = categorySuggester.suggestCategories(descriptions);
+            List<CategorySuggestionDTO> suggestions = new ArrayList<>(descriptions.size());
+            for (int i = 0; i < descriptions.size(); i++) {
+                suggestions.add(new CategorySuggestionDTO(descriptions.get(i), categories.get(i)));
+            }
+            return ResponseEntity.ok(suggestions);
         } catch (Exception e) {
-            logger.error("Error suggesting category: {}", e.getMessage(), e);
+            logger.error("Error suggesting categories: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    @GetMapping("/suggest/cache/stats")
+    public ResponseEntity<SuggestionCacheStatsResponse> getSuggestionCacheStats() {
+        return ResponseEntity.ok(suggestionCache.getStats());
+    }
 }
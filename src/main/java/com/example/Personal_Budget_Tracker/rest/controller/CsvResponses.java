@@ -0,0 +1,72 @@
+package com.example.Personal_Budget_Tracker.rest.controller;
+
+import com.example.Personal_Budget_Tracker.core.service.CsvExportService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Builds CSV download responses. No Content-Length is set, so the body goes out with
+ * chunked transfer encoding as it is written, gzip-compressed when the client accepts it.
+ */
+final class CsvResponses {
+    static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private CsvResponses() {
+    }
+
+    static ResponseEntity<StreamingResponseBody> of(StreamingResponseBody body, String filename, String acceptEncoding) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(TEXT_CSV);
+        headers.setContentDisposition(ContentDisposition.attachment().filename(filename).build());
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            headers.add(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = CsvExportService.gzip(body);
+        }
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+    /**
+     * Reads the Accept-Encoding quality values: gzip is used when listed with a non-zero q,
+     * or, when it is not listed, if "*" is. A q of 0 explicitly refuses the coding.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double wildcard = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(parts);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                return quality > 0;
+            }
+            if (coding.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        return wildcard != null && wildcard > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 2 && parameter.substring(0, 2).equalsIgnoreCase("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    // A malformed weight is taken as a refusal
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
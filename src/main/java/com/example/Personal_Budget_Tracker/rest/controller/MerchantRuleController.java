@@ -0,0 +1,88 @@
+package com.example.Personal_Budget_Tracker.rest.controller;
+
+import com.example.Personal_Budget_Tracker.core.model.MerchantRule;
+import com.example.Personal_Budget_Tracker.core.service.MerchantRuleMatcher;
+import com.example.Personal_Budget_Tracker.core.service.MerchantRuleService;
+import com.example.Personal_Budget_Tracker.rest.dto.ErrorResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@RestController
+@RequestMapping("/api/merchant-rule")
+public class MerchantRuleController {
+    private final MerchantRuleService merchantRuleService;
+    private final MerchantRuleMatcher merchantRuleMatcher;
+    private final Logger logger = LoggerFactory.getLogger(MerchantRuleController.class);
+
+    public MerchantRuleController(MerchantRuleService merchantRuleService, MerchantRuleMatcher merchantRuleMatcher) {
+        this.merchantRuleService = merchantRuleService;
+        this.merchantRuleMatcher = merchantRuleMatcher;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<MerchantRule>> getAllRules() {
+        try {
+            return ResponseEntity.ok(merchantRuleService.getAllRules());
+        } catch (Exception e) {
+            logger.error("Error getting merchant rules: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @PostMapping
+    public ResponseEntity<?> createRule(@RequestBody MerchantRule rule) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(merchantRuleService.createRule(rule));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid merchant rule: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error creating merchant rule: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<?> updateRule(@PathVariable Long id, @RequestBody MerchantRule rule) {
+        try {
+            return ResponseEntity.ok(merchantRuleService.updateRule(id, rule));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid merchant rule {}: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (RuntimeException e) {
+            if (e.getMessage() != null && e.getMessage().contains("not found")) {
+                logger.error("Merchant rule not found with ID {}: {}", id, e.getMessage());
+                return ResponseEntity.notFound().build();
+            }
+            logger.error("Error updating merchant rule {}: {}", id, e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRule(@PathVariable Long id) {
+        try {
+            merchantRuleService.deleteRule(id);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            if (e.getMessage() != null && e.getMessage().contains("not found")) {
+                logger.error("Merchant rule not found with ID {}: {}", id, e.getMessage());
+                return ResponseEntity.notFound().build();
+            }
+            logger.error("Error deleting merchant rule {}: {}", id, e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Every rule matching the description, for checking a rule set before relying on it.
+     */
+    @GetMapping("/match")
+    public ResponseEntity<List<MerchantRule>> matchRules(@RequestParam String description) {
+        return ResponseEntity.ok(merchantRuleMatcher.matchAll(description));
+    }
+}
@@ -1,17 +1,30 @@
 package com.example.Personal_Budget_Tracker.rest.controller;
 
+import com.example.Personal_Budget_Tracker.core.service.BulkExportService;
+import com.example.Personal_Budget_Tracker.core.service.CsvExportService;
+import com.example.Personal_Budget_Tracker.core.service.ExportJob;
+import com.example.Personal_Budget_Tracker.core.service.ExportJobService;
+import com.example.Personal_Budget_Tracker.core.service.MonthlyRollupService;
+import com.example.Personal_Budget_Tracker.core.service.PdfExportCache;
+import com.example.Personal_Budget_Tracker.core.service.ReportCache;
 import com.example.Personal_Budget_Tracker.core.service.ReportService;
 import com.example.Personal_Budget_Tracker.core.service.PDFExportService;
+import com.example.Personal_Budget_Tracker.rest.dto.CacheStatsResponse;
+import com.example.Personal_Budget_Tracker.rest.dto.DashboardResponse;
+import com.example.Personal_Budget_Tracker.rest.dto.ExportJobResponse;
 import com.example.Personal_Budget_Tracker.rest.dto.MonthlyReportResponse;
 import com.example.Personal_Budget_Tracker.rest.dto.PDFExportRequest;
 import com.example.Personal_Budget_Tracker.rest.dto.ErrorResponse;
 import com.example.Personal_Budget_Tracker.rest.dto.CategoryTrendResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,17 +32,33 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/reports")
 public class ReportController {
     private final ReportService reportService;
     private final PDFExportService pdfExportService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final ReportCache reportCache;
+    private final ExportJobService exportJobService;
+    private final PdfExportCache pdfExportCache;
+    private final CsvExportService csvExportService;
+    private final BulkExportService bulkExportService;
     private final Logger logger = LoggerFactory.getLogger(ReportController.class);
 
-    public ReportController(ReportService reportService, PDFExportService pdfExportService) {
+    public ReportController(ReportService reportService, PDFExportService pdfExportService,
+                            MonthlyRollupService monthlyRollupService, ReportCache reportCache,
+                            ExportJobService exportJobService, PdfExportCache pdfExportCache,
+                            CsvExportService csvExportService, BulkExportService bulkExportService) {
         this.reportService = reportService;
         this.pdfExportService = pdfExportService;
+        this.monthlyRollupService = monthlyRollupService;
+        this.reportCache = reportCache;
+        this.exportJobService = exportJobService;
+        this.pdfExportCache = pdfExportCache;
+        this.csvExportService = csvExportService;
+        this.bulkExportService = bulkExportService;
     }
 
     @GetMapping("/monthly-spending")
@@ -74,45 +103,40 @@ public class ReportController {
     }
 
     @GetMapping("/monthly/export")
-    public ResponseEntity<?> exportMonthlyReport(
+    public ResponseEntity<Resource> exportMonthlyReport(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // A file body cannot be swapped for an ErrorResponse, so this is reported by the handler below
         if (endDate.isBefore(startDate)) {
-            return ResponseEntity.badRequest()
-                .body(new ErrorResponse("End date cannot be before start date"));
+            throw new IllegalArgumentException("End date cannot be before start date");
         }
-        byte[] pdfBytes = reportService.exportMonthlyReportPdf(startDate, endDate);
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_PDF);
-        headers.setContentDispositionFormData("filename", "monthly-report.pdf");
-        
-        return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        PdfExportCache.CachedPdf pdf = pdfExportCache.get("monthly", startDate, endDate, null,
+                () -> reportService.streamMonthlyReportPdf(startDate, endDate));
+        return servePdf(pdf, "monthly-report.pdf", ifNoneMatch);
     }
 
     @GetMapping("/category/export")
-    public ResponseEntity<?> exportCategoryReport(
+    public ResponseEntity<Resource> exportCategoryReport(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // A file body cannot be swapped for an ErrorResponse, so this is reported by the handler below
         if (endDate.isBefore(startDate)) {
-            return ResponseEntity.badRequest()
-                .body(new ErrorResponse("End date cannot be before start date"));
+            throw new IllegalArgumentException("End date cannot be before start date");
         }
-        byte[] pdfBytes = reportService.exportCategoryReportPdf(startDate, endDate);
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_PDF);
-        headers.setContentDispositionFormData("filename", "category-report.pdf");
-        
-        return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        PdfExportCache.CachedPdf pdf = pdfExportCache.get("category", startDate, endDate, null,
+                () -> reportService.streamCategoryReportPdf(startDate, endDate));
+        return servePdf(pdf, "category-report.pdf", ifNoneMatch);
     }
 
     @GetMapping("/export-pdf")
-    public ResponseEntity<byte[]> exportReportPDF(
+    public ResponseEntity<Resource> exportReportPDF(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(required = false) List<String> categories,
-            @RequestParam String reportType) {
+            @RequestParam String reportType,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         
         logger.info("Received request to export {} report as PDF from {} to {}", reportType, startDate, endDate);
         
@@ -121,21 +145,163 @@ public class ReportController {
                     startDate.format(DateTimeFormatter.ISO_DATE) + "-to-" + 
                     endDate.format(DateTimeFormatter.ISO_DATE) + ".pdf";
             
-            byte[] pdfContent = pdfExportService.generateReportPDF(startDate, endDate, categories);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("filename", filename);
-            
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(pdfContent);
+            PdfExportCache.CachedPdf pdf = pdfExportCache.get("export-pdf", startDate, endDate, categories,
+                    () -> pdfExportService.streamReportPDF(startDate, endDate, categories));
+            return servePdf(pdf, filename, ifNoneMatch);
         } catch (Exception e) {
             logger.error("Error generating PDF report: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    /**
+     * Answers with 304 when the client already holds this exact file, otherwise streams it from the cache.
+     */
+    private ResponseEntity<Resource> servePdf(PdfExportCache.CachedPdf pdf, String filename, String ifNoneMatch) {
+        if (etagMatches(ifNoneMatch, pdf.getEtag())) {
+            pdf.release();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(pdf.getEtag()).build();
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentDispositionFormData("filename", filename);
+        return ResponseEntity.ok()
+                .headers(headers)
+                .eTag(pdf.getEtag())
+                .contentLength(pdf.getSize())
+                .body(pdf.toResource());
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @PostMapping("/export.zip")
+    public ResponseEntity<StreamingResponseBody> exportReportsZip(@RequestBody List<PDFExportRequest> reports) {
+        logger.info("Received request to export {} reports as a ZIP archive", reports.size());
+
+        StreamingResponseBody zip = bulkExportService.streamZip(reports);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/zip"));
+        headers.setContentDispositionFormData("filename", "reports.zip");
+        return new ResponseEntity<>(zip, headers, HttpStatus.OK);
+    }
+
+    @GetMapping("/monthly/export.csv")
+    public ResponseEntity<StreamingResponseBody> exportMonthlyReportCsv(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        validateRange(startDate, endDate);
+        return CsvResponses.of(csvExportService.streamMonthlyReport(startDate, endDate),
+                "monthly-report.csv", acceptEncoding);
+    }
+
+    @GetMapping("/category/export.csv")
+    public ResponseEntity<StreamingResponseBody> exportCategoryReportCsv(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        validateRange(startDate, endDate);
+        return CsvResponses.of(csvExportService.streamCategoryReport(startDate, endDate),
+                "category-report.csv", acceptEncoding);
+    }
+
+    @GetMapping("/monthly-spending/export.csv")
+    public ResponseEntity<StreamingResponseBody> exportMonthlySpendingCsv(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) List<String> categories,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        validateRange(startDate, endDate);
+        return CsvResponses.of(csvExportService.streamMonthlySpending(startDate, endDate, categories),
+                "monthly-spending.csv", acceptEncoding);
+    }
+
+    @GetMapping("/category-trends/export.csv")
+    public ResponseEntity<StreamingResponseBody> exportCategoryTrendsCsv(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) List<String> categories,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        validateRange(startDate, endDate);
+        return CsvResponses.of(csvExportService.streamCategoryTrends(startDate, endDate, categories),
+                "category-trends.csv", acceptEncoding);
+    }
+
+    // Streamed bodies cannot be swapped for an ErrorResponse, so this is reported by the handler below
+    private static void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date cannot be before start date");
+        }
+    }
+
+    @PostMapping("/export-jobs")
+    public ResponseEntity<ExportJobResponse> submitExportJob(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) List<String> categories,
+            @RequestParam String reportType) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date cannot be before start date");
+        }
+
+        try {
+            ExportJob job = exportJobService.submit(reportType, startDate, endDate, categories);
+            return ResponseEntity.accepted().body(toResponse(job));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Export queue is full, rejecting {} export from {} to {}", reportType, startDate, endDate);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @GetMapping("/export-jobs/{id}")
+    public ResponseEntity<ExportJobResponse> getExportJob(@PathVariable String id) {
+        return exportJobService.getJob(id)
+                .map(job -> ResponseEntity.ok(toResponse(job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/export-jobs/{id}/download")
+    public ResponseEntity<Resource> downloadExport(@PathVariable String id) {
+        ExportJob job = exportJobService.getJob(id).orElse(null);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (job.getStatus() != ExportJob.Status.COMPLETED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentDispositionFormData("filename", job.getFilename());
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(new FileSystemResource(job.getFile()));
+    }
+
+    private ExportJobResponse toResponse(ExportJob job) {
+        String downloadUrl = job.getStatus() == ExportJob.Status.COMPLETED
+                ? "/api/reports/export-jobs/" + job.getId() + "/download" : null;
+        return new ExportJobResponse(job.getId(), job.getStatus().name(), job.getReportType(),
+                job.getStartDate(), job.getEndDate(), job.getCreatedAt(), job.getFinishedAt(),
+                job.getError(), downloadUrl);
+    }
+
     @GetMapping("/category-trends")
     public ResponseEntity<CategoryTrendResponse> getCategoryTrends(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
@@ -152,4 +318,49 @@ public class ReportController {
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    @GetMapping("/dashboard")
+    public ResponseEntity<?> getDashboard(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) List<String> categories) {
+        if (endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest()
+                .body(new ErrorResponse("End date cannot be before start date"));
+        }
+
+        logger.info("Received request for dashboard from {} to {}", startDate, endDate);
+
+        try {
+            DashboardResponse dashboard = reportService.getDashboard(startDate, endDate, categories);
+            return ResponseEntity.ok(dashboard);
+        } catch (Exception e) {
+            logger.error("Error generating dashboard: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @PostMapping("/rollup/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildRollup() {
+        logger.info("Received request to rebuild the monthly category rollup");
+        
+        try {
+            // The report caches clear themselves on the ReportDataRebuiltEvent this publishes
+            int rows = monthlyRollupService.rebuild();
+            return ResponseEntity.ok(Map.of("rows", rows));
+        } catch (Exception e) {
+            logger.error("Error rebuilding monthly category rollup: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CacheStatsResponse> getCacheStats() {
+        return ResponseEntity.ok(reportCache.getStats());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+    }
 }
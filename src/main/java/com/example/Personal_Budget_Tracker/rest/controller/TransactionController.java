@@ -1,11 +1,18 @@
 package com.example.Personal_Budget_Tracker.rest.controller;
 
+import com.example.Personal_Budget_Tracker.core.model.AutoCategorizationCheckpoint;
 import com.example.Personal_Budget_Tracker.core.model.Transaction;
+import com.example.Personal_Budget_Tracker.core.service.AutoCategorizationService;
 import com.example.Personal_Budget_Tracker.core.service.CategoryService;
+import com.example.Personal_Budget_Tracker.core.service.CsvExportService;
 import com.example.Personal_Budget_Tracker.core.service.TransactionService;
+import com.example.Personal_Budget_Tracker.rest.dto.AutoCategorizationResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.List;
@@ -17,11 +24,17 @@ import org.slf4j.LoggerFactory;
 public class TransactionController {
     private final TransactionService transactionService;
     private final CategoryService categoryService;
+    private final CsvExportService csvExportService;
+    private final AutoCategorizationService autoCategorizationService;
     private final Logger logger = LoggerFactory.getLogger(TransactionController.class);
 
-    public TransactionController(TransactionService transactionService, CategoryService categoryService) {
+    public TransactionController(TransactionService transactionService, CategoryService categoryService,
+                                 CsvExportService csvExportService,
+                                 AutoCategorizationService autoCategorizationService) {
         this.transactionService = transactionService;
         this.categoryService = categoryService;
+        this.csvExportService = csvExportService;
+        this.autoCategorizationService = autoCategorizationService;
     }
 
     @GetMapping("/")
@@ -104,6 +117,33 @@ public class TransactionController {
         return ResponseEntity.ok(suggestCategory);
     }
 
+    @PostMapping("/auto-categorization")
+    public ResponseEntity<AutoCategorizationResponse> startAutoCategorization() {
+        if (!autoCategorizationService.start()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(autoCategorizationProgress());
+        }
+        return ResponseEntity.accepted().body(autoCategorizationProgress());
+    }
+
+    @GetMapping("/auto-categorization")
+    public ResponseEntity<AutoCategorizationResponse> getAutoCategorization() {
+        return ResponseEntity.ok(autoCategorizationProgress());
+    }
+
+    @DeleteMapping("/auto-categorization")
+    public ResponseEntity<AutoCategorizationResponse> stopAutoCategorization() {
+        autoCategorizationService.stop();
+        return ResponseEntity.accepted().body(autoCategorizationProgress());
+    }
+
+    private AutoCategorizationResponse autoCategorizationProgress() {
+        AutoCategorizationCheckpoint progress = autoCategorizationService.getProgress();
+        return new AutoCategorizationResponse(progress.getStatus().name(), autoCategorizationService.isRunning(),
+                progress.getLastTransactionId(), progress.getScanned(), progress.getAssigned(),
+                autoCategorizationService.countUncategorized(), progress.getStartedAt(), progress.getUpdatedAt(),
+                progress.getFinishedAt(), progress.getError());
+    }
+
     @GetMapping("/date-range")
     public ResponseEntity<List<Transaction>> getTransactionsByDateRange(
             @RequestParam String startDate,
@@ -122,6 +162,19 @@ public class TransactionController {
         }
     }
 
+    @GetMapping("/export.csv")
+    public ResponseEntity<StreamingResponseBody> exportTransactionsCsv(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        logger.info("Exporting transactions from {} to {} as CSV", startDate, endDate);
+        return CsvResponses.of(csvExportService.streamTransactions(startDate, endDate),
+                "transactions-" + startDate + "-to-" + endDate + ".csv", acceptEncoding);
+    }
+
     @DeleteMapping("/delete/{id}")
     public ResponseEntity<Void> deleteTransactionById(@PathVariable Long id) {
         try {
@@ -0,0 +1,123 @@
+package com.example.Personal_Budget_Tracker.rest.dto;
+
+import java.time.Instant;
+
+public class AutoCategorizationResponse {
+    private String status;
+    private boolean running;
+    private long lastTransactionId;
+    private long scanned;
+    private long assigned;
+    private long skipped;
+    private long remaining;
+    private Instant startedAt;
+    private Instant updatedAt;
+    private Instant finishedAt;
+    private String error;
+
+    public AutoCategorizationResponse() {}
+
+    public AutoCategorizationResponse(String status, boolean running, long lastTransactionId, long scanned,
+                                      long assigned, long remaining, Instant startedAt, Instant updatedAt,
+                                      Instant finishedAt, String error) {
+        this.status = status;
+        this.running = running;
+        this.lastTransactionId = lastTransactionId;
+        this.scanned = scanned;
+        this.assigned = assigned;
+        this.skipped = scanned - assigned;
+        this.remaining = remaining;
+        this.startedAt = startedAt;
+        this.updatedAt = updatedAt;
+        this.finishedAt = finishedAt;
+        this.error = error;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void setRunning(boolean running) {
+        this.running = running;
+    }
+
+    public long getLastTransactionId() {
+        return lastTransactionId;
+    }
+
+    public void setLastTransactionId(long lastTransactionId) {
+        this.lastTransactionId = lastTransactionId;
+    }
+
+    public long getScanned() {
+        return scanned;
+    }
+
+    public void setScanned(long scanned) {
+        this.scanned = scanned;
+    }
+
+    public long getAssigned() {
+        return assigned;
+    }
+
+    public void setAssigned(long assigned) {
+        this.assigned = assigned;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(long skipped) {
+        this.skipped = skipped;
+    }
+
+    public long getRemaining() {
+        return remaining;
+    }
+
+    public void setRemaining(long remaining) {
+        this.remaining = remaining;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
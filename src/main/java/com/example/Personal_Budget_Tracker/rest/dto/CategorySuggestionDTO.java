@@ -0,0 +1,29 @@
+package com.example.Personal_Budget_Tracker.rest.dto;
+
+public class CategorySuggestionDTO {
+    private String description;
+    private String category;
+
+    public CategorySuggestionDTO() {}
+
+    public CategorySuggestionDTO(String description, String category) {
+        this.description = description;
+        this.category = category;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.Personal_Budget_Tracker.rest.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All report views for one date range: the monthly and category reports,
+ * the spending summary and the category trends.
+ */
+public class DashboardResponse {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Map<String, Double> monthlyTotals;
+    private Map<String, Double> categoryTotals;
+    private MonthlyReportResponse monthlySpending;
+    private List<MonthlyTrendData> trends;
+
+    public DashboardResponse() {}
+
+    public DashboardResponse(LocalDate startDate, LocalDate endDate, Map<String, Double> monthlyTotals,
+                             Map<String, Double> categoryTotals, MonthlyReportResponse monthlySpending,
+                             List<MonthlyTrendData> trends) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.monthlyTotals = monthlyTotals;
+        this.categoryTotals = categoryTotals;
+        this.monthlySpending = monthlySpending;
+        this.trends = trends;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public Map<String, Double> getMonthlyTotals() {
+        return monthlyTotals;
+    }
+
+    public void setMonthlyTotals(Map<String, Double> monthlyTotals) {
+        this.monthlyTotals = monthlyTotals;
+    }
+
+    public Map<String, Double> getCategoryTotals() {
+        return categoryTotals;
+    }
+
+    public void setCategoryTotals(Map<String, Double> categoryTotals) {
+        this.categoryTotals = categoryTotals;
+    }
+
+    public MonthlyReportResponse getMonthlySpending() {
+        return monthlySpending;
+    }
+
+    public void setMonthlySpending(MonthlyReportResponse monthlySpending) {
+        this.monthlySpending = monthlySpending;
+    }
+
+    public List<MonthlyTrendData> getTrends() {
+        return trends;
+    }
+
+    public void setTrends(List<MonthlyTrendData> trends) {
+        this.trends = trends;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.Personal_Budget_Tracker.rest.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+public class ExportJobResponse {
+    private String id;
+    private String status;
+    private String reportType;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Instant createdAt;
+    private Instant finishedAt;
+    private String error;
+    private String downloadUrl;
+
+    public ExportJobResponse() {}
+
+    public ExportJobResponse(String id, String status, String reportType, LocalDate startDate, LocalDate endDate,
+                             Instant createdAt, Instant finishedAt, String error, String downloadUrl) {
+        this.id = id;
+        this.status = status;
+        this.reportType = reportType;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.createdAt = createdAt;
+        this.finishedAt = finishedAt;
+        this.error = error;
+        this.downloadUrl = downloadUrl;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getReportType() {
+        return reportType;
+    }
+
+    public void setReportType(String reportType) {
+        this.reportType = reportType;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getDownloadUrl() {
+        return downloadUrl;
+    }
+
+    public void setDownloadUrl(String downloadUrl) {
+        this.downloadUrl = downloadUrl;
+    }
+}
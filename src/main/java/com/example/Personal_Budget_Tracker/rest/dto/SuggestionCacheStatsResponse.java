@@ -0,0 +1,98 @@
+package com.example.Personal_Budget_Tracker.rest.dto;
+
+public class SuggestionCacheStatsResponse {
+    private long size;
+    private long hits;
+    private long misses;
+    private long coalesced;
+    private long evictions;
+    private long invalidations;
+    private double averageMissMillis;
+    private long estimatedTimeSavedMillis;
+
+    public SuggestionCacheStatsResponse() {}
+
+    public SuggestionCacheStatsResponse(long size, long hits, long misses, long coalesced, long evictions,
+                                        long invalidations, double averageMissMillis, long estimatedTimeSavedMillis) {
+        this.size = size;
+        this.hits = hits;
+        this.misses = misses;
+        this.coalesced = coalesced;
+        this.evictions = evictions;
+        this.invalidations = invalidations;
+        this.averageMissMillis = averageMissMillis;
+        this.estimatedTimeSavedMillis = estimatedTimeSavedMillis;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    /**
+     * Requests that joined a suggestion already in flight for the same description.
+     */
+    public long getCoalesced() {
+        return coalesced;
+    }
+
+    public void setCoalesced(long coalesced) {
+        this.coalesced = coalesced;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public void setEvictions(long evictions) {
+        this.evictions = evictions;
+    }
+
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    public void setInvalidations(long invalidations) {
+        this.invalidations = invalidations;
+    }
+
+    public double getAverageMissMillis() {
+        return averageMissMillis;
+    }
+
+    public void setAverageMissMillis(double averageMissMillis) {
+        this.averageMissMillis = averageMissMillis;
+    }
+
+    public long getEstimatedTimeSavedMillis() {
+        return estimatedTimeSavedMillis;
+    }
+
+    public void setEstimatedTimeSavedMillis(long estimatedTimeSavedMillis) {
+        this.estimatedTimeSavedMillis = estimatedTimeSavedMillis;
+    }
+
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
@@ -2,7 +2,9 @@ package com.example.Personal_Budget_Tracker.api;
 
 import com.example.Personal_Budget_Tracker.api.config.TestConfig;
 import com.example.Personal_Budget_Tracker.core.model.Category;
+import com.example.Personal_Budget_Tracker.rest.dto.CategorySuggestionDTO;
 import com.example.Personal_Budget_Tracker.rest.dto.ErrorResponse;
+import com.example.Personal_Budget_Tracker.rest.dto.SuggestionCacheStatsResponse;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -183,4 +185,45 @@ class CategoryApiTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
     }
+
+    @Test
+    void suggestCategories_ReturnsSuggestionPerDescription() {
+        // Act
+        ResponseEntity<CategorySuggestionDTO[]> response = restTemplate.postForEntity(
+            createURLWithPort("/api/category/suggest/batch"),
+            List.of("grocery shopping at walmart", "shell fuel station"),
+            CategorySuggestionDTO[].class
+        );
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().length);
+        assertEquals("shell fuel station", response.getBody()[1].getDescription());
+        assertNotNull(response.getBody()[1].getCategory());
+    }
+
+    @Test
+    void suggestCategory_RepeatedDescription_IsServedFromCache() {
+        // Arrange
+        // Only real answers are cached, so offer a category the description names
+        Category spotify = new Category();
+        spotify.setName("Spotify");
+        restTemplate.postForEntity(createURLWithPort("/api/category"), spotify, Category.class);
+        String url = createURLWithPort("/api/category/suggest?description=Spotify premium monthly");
+        long hitsBefore = restTemplate.getForEntity(createURLWithPort("/api/category/suggest/cache/stats"),
+            SuggestionCacheStatsResponse.class).getBody().getHits();
+
+        // Act
+        ResponseEntity<String> first = restTemplate.getForEntity(url, String.class);
+        ResponseEntity<String> second = restTemplate.getForEntity(url, String.class);
+        ResponseEntity<SuggestionCacheStatsResponse> stats = restTemplate.getForEntity(
+            createURLWithPort("/api/category/suggest/cache/stats"), SuggestionCacheStatsResponse.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        assertEquals("spotify", first.getBody());
+        assertEquals(first.getBody(), second.getBody());
+        assertEquals(HttpStatus.OK, stats.getStatusCode());
+        assertEquals(hitsBefore + 1, stats.getBody().getHits());
+    }
 }
@@ -0,0 +1,116 @@
+package com.example.Personal_Budget_Tracker.api;
+
+import com.example.Personal_Budget_Tracker.api.config.TestConfig;
+import com.example.Personal_Budget_Tracker.core.model.Category;
+import com.example.Personal_Budget_Tracker.core.model.MerchantRule;
+import com.example.Personal_Budget_Tracker.core.model.Transaction;
+import com.example.Personal_Budget_Tracker.rest.dto.ErrorResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(TestConfig.class)
+@ActiveProfiles("test")
+class MerchantRuleApiTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private String createURLWithPort(String uri) {
+        return "http://localhost:" + port + uri;
+    }
+
+    private Category createCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return restTemplate.postForEntity(createURLWithPort("/api/category"), category, Category.class).getBody();
+    }
+
+    @Test
+    void createRule_ThenSuggestAnswersFromRule() {
+        // Arrange
+        // The fake model would answer "other", as no category name appears in the description
+        Category transport = createCategory("Transport");
+
+        // Act
+        ResponseEntity<MerchantRule> created = restTemplate.postForEntity(createURLWithPort("/api/merchant-rule"),
+            new MerchantRule("Uber Trip", transport.getId()), MerchantRule.class);
+        ResponseEntity<String> suggestion = restTemplate.getForEntity(
+            createURLWithPort("/api/category/suggest?description=UBER *TRIP HELP.UBER.COM"), String.class);
+        ResponseEntity<MerchantRule[]> matches = restTemplate.getForEntity(
+            createURLWithPort("/api/merchant-rule/match?description=uber trip 12"), MerchantRule[].class);
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, created.getStatusCode());
+        assertNotNull(created.getBody().getId());
+        assertEquals("transport", suggestion.getBody());
+        assertEquals(1, matches.getBody().length);
+        assertEquals(created.getBody().getId(), matches.getBody()[0].getId());
+    }
+
+    @Test
+    void createRule_WithUnknownCategory_ReturnsBadRequest() {
+        // Act
+        ResponseEntity<ErrorResponse> response = restTemplate.postForEntity(createURLWithPort("/api/merchant-rule"),
+            new MerchantRule("Shell", 999_999L), ErrorResponse.class);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(response.getBody().getMessage().contains("Category not found"));
+    }
+
+    @Test
+    void deleteRule_StopsMatching() {
+        // Arrange
+        Category travel = createCategory("Travel");
+        MerchantRule rule = restTemplate.postForEntity(createURLWithPort("/api/merchant-rule"),
+            new MerchantRule("Ryanair", travel.getId()), MerchantRule.class).getBody();
+
+        // Act
+        ResponseEntity<Void> deleted = restTemplate.exchange(createURLWithPort("/api/merchant-rule/" + rule.getId()),
+            HttpMethod.DELETE, null, Void.class);
+        ResponseEntity<MerchantRule[]> matches = restTemplate.getForEntity(
+            createURLWithPort("/api/merchant-rule/match?description=RYANAIR FR123"), MerchantRule[].class);
+
+        // Assert
+        assertEquals(HttpStatus.NO_CONTENT, deleted.getStatusCode());
+        assertEquals(0, matches.getBody().length);
+    }
+
+    @Test
+    void deleteCategory_WhenDeleteFails_KeepsItsRules() {
+        // Arrange
+        // A transaction still referencing the category makes its delete fail
+        Category lodging = createCategory("Lodging");
+        restTemplate.postForEntity(createURLWithPort("/api/transaction/create"),
+            new Transaction(120.0, "Expense", "Hotel Adlon", LocalDate.of(2007, 6, 1), lodging), Transaction.class);
+        restTemplate.postForEntity(createURLWithPort("/api/merchant-rule"),
+            new MerchantRule("Adlon", lodging.getId()), MerchantRule.class);
+
+        // Act
+        ResponseEntity<Void> deleted = restTemplate.exchange(createURLWithPort("/api/category/" + lodging.getId()),
+            HttpMethod.DELETE, null, Void.class);
+        MerchantRule[] rules = restTemplate.getForEntity(createURLWithPort("/api/merchant-rule"),
+            MerchantRule[].class).getBody();
+
+        // Assert
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, deleted.getStatusCode());
+        assertTrue(Arrays.stream(rules).anyMatch(rule -> lodging.getId().equals(rule.getCategoryId())));
+    }
+}
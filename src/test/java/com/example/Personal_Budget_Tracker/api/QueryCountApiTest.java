@@ -0,0 +1,151 @@
+package com.example.Personal_Budget_Tracker.api;
+
+import com.example.Personal_Budget_Tracker.api.config.TestConfig;
+import com.example.Personal_Budget_Tracker.core.model.BudgetGoal;
+import com.example.Personal_Budget_Tracker.core.model.Category;
+import com.example.Personal_Budget_Tracker.core.model.Transaction;
+import com.example.Personal_Budget_Tracker.core.repository.BudgetGoalRepository;
+import com.example.Personal_Budget_Tracker.core.repository.CategoryRepository;
+import com.example.Personal_Budget_Tracker.core.repository.TransactionRepository;
+import com.example.Personal_Budget_Tracker.core.service.ReportCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(TestConfig.class)
+@ActiveProfiles("test")
+class QueryCountApiTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BudgetGoalRepository budgetGoalRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ReportCache reportCache;
+
+    private Statistics statistics;
+
+    private String createURLWithPort(String uri) {
+        return "http://localhost:" + port + uri;
+    }
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        // Several distinct categories and goals in an isolated range, so lazy loading would show up as extra queries
+        if (transactionRepository.findByDateBetween(LocalDate.of(2003, 1, 1), LocalDate.of(2003, 12, 31)).isEmpty()) {
+            for (int i = 0; i < 3; i++) {
+                Category category = categoryRepository.save(new Category("QueryCount" + i));
+                BudgetGoal goal = budgetGoalRepository.save(new BudgetGoal("QueryCountGoal" + i, 100.0, "Monthly", 0.0));
+                Transaction transaction = new Transaction(10.0 * (i + 1), "Expense", "Query count",
+                        LocalDate.of(2003, 1, 10 + i), category);
+                transaction.setBudgetgoal(goal);
+                transactionRepository.save(transaction);
+            }
+        }
+    }
+
+    private long statementsFor(String uri) {
+        statistics.clear();
+        ResponseEntity<List> response = restTemplate.getForEntity(createURLWithPort(uri), List.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertFalse(response.getBody().isEmpty());
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Statements for an uncached report. A first request builds the daily totals index and
+     * loads the category registry, so only the report's own queries are counted.
+     */
+    private long reportStatementsFor(String uri) {
+        restTemplate.getForEntity(
+                createURLWithPort("/api/reports/monthly-spending?startDate=2003-06-01&endDate=2003-06-30"), Map.class);
+        reportCache.invalidateAll();
+        statistics.clear();
+        ResponseEntity<Map> response = restTemplate.getForEntity(createURLWithPort(uri), Map.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void getAllTransactions_UsesSingleQuery() {
+        assertEquals(1, statementsFor("/api/transaction/"));
+    }
+
+    @Test
+    void getTransactionsByDateRange_UsesSingleQuery() {
+        assertEquals(1, statementsFor("/api/transaction/date-range?startDate=2003-01-01&endDate=2003-01-31"));
+    }
+
+    @Test
+    void getMonthlySpending_IsServedFromDailyTotalsIndexWithoutQueries() {
+        assertEquals(0, reportStatementsFor("/api/reports/monthly-spending?startDate=2003-01-01&endDate=2003-12-31"));
+    }
+
+    @Test
+    void getCategoryReport_IsServedFromDailyTotalsIndexWithoutQueries() {
+        assertEquals(0, reportStatementsFor("/api/reports/category?startDate=2003-01-01&endDate=2003-12-31"));
+    }
+
+    @Test
+    void getMonthlyReport_UsesSingleQuery() {
+        assertEquals(1, reportStatementsFor("/api/reports/monthly?startDate=2003-01-01&endDate=2003-12-31"));
+    }
+
+    @Test
+    void getCategoryTrends_UsesSingleQuery() {
+        assertEquals(1, reportStatementsFor("/api/reports/category-trends?startDate=2003-01-01&endDate=2003-12-31"));
+    }
+
+    @Test
+    void getDashboard_UsesSingleQuery() {
+        assertEquals(1, reportStatementsFor("/api/reports/dashboard?startDate=2003-01-01&endDate=2003-12-31"));
+    }
+
+    @Test
+    void getDashboard_WhenCached_UsesNoQueries() {
+        // Arrange
+        String uri = "/api/reports/dashboard?startDate=2003-01-01&endDate=2003-06-30";
+        reportStatementsFor(uri);
+
+        // Act
+        statistics.clear();
+        restTemplate.getForEntity(createURLWithPort(uri), Map.class);
+
+        // Assert
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+}
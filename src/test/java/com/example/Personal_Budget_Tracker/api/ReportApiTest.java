@@ -1,7 +1,13 @@
 package com.example.Personal_Budget_Tracker.api;
 
 import com.example.Personal_Budget_Tracker.api.config.TestConfig;
+import com.example.Personal_Budget_Tracker.core.model.Category;
+import com.example.Personal_Budget_Tracker.core.model.MonthlyCategoryRollup;
+import com.example.Personal_Budget_Tracker.core.model.Transaction;
+import com.example.Personal_Budget_Tracker.core.repository.MonthlyCategoryRollupRepository;
 import com.example.Personal_Budget_Tracker.rest.dto.ErrorResponse;
+import com.example.Personal_Budget_Tracker.rest.dto.ExportJobResponse;
+import com.example.Personal_Budget_Tracker.rest.dto.PDFExportRequest;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -9,12 +15,25 @@ import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.context.annotation.Import;
 import org.springframework.core.io.Resource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.zip.ZipInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -29,10 +48,95 @@ class ReportApiTest {
     @Autowired
     private TestRestTemplate restTemplate;
 
+    @Autowired
+    private MonthlyCategoryRollupRepository rollupRepository;
+
     private String createURLWithPort(String uri) {
         return "http://localhost:" + port + uri;
     }
 
+    private Category createCategory(String name) {
+        return restTemplate.postForEntity(createURLWithPort("/api/category"), new Category(name), Category.class)
+            .getBody();
+    }
+
+    private Transaction createTransaction(double amount, LocalDate date, Category category) {
+        Transaction transaction = new Transaction(amount, "Expense", "Report test", date, category);
+        return restTemplate.postForEntity(createURLWithPort("/api/transaction/create"), transaction, Transaction.class)
+            .getBody();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reports_AggregateSeededTransactions() {
+        // Arrange: an isolated range so other tests sharing the database do not interfere
+        Category rent = createCategory("ReportRent");
+        Category food = createCategory("ReportFood");
+        createTransaction(500.0, LocalDate.of(2001, 1, 5), rent);
+        createTransaction(20.0, LocalDate.of(2001, 1, 20), food);
+        createTransaction(30.0, LocalDate.of(2001, 2, 3), food);
+        createTransaction(10.0, LocalDate.of(2001, 2, 4), null);
+        String range = "startDate=2001-01-01&endDate=2001-02-28";
+
+        // Act
+        Map<String, Object> monthly = restTemplate.getForEntity(
+            createURLWithPort("/api/reports/monthly?" + range), Map.class).getBody();
+        Map<String, Object> category = restTemplate.getForEntity(
+            createURLWithPort("/api/reports/category?" + range), Map.class).getBody();
+        Map<String, Object> spending = restTemplate.getForEntity(
+            createURLWithPort("/api/reports/monthly-spending?" + range + "&categories=ReportFood"), Map.class).getBody();
+
+        // Assert
+        Map<String, Double> monthlyTotals = (Map<String, Double>) monthly.get("monthlyTotals");
+        assertEquals(520.0, monthlyTotals.get("2001-01"));
+        assertEquals(40.0, monthlyTotals.get("2001-02"));
+        assertEquals(560.0, monthly.get("totalSpending"));
+
+        Map<String, Double> categoryTotals = (Map<String, Double>) category.get("categoryTotals");
+        assertEquals(2, categoryTotals.size());
+        assertEquals(500.0, categoryTotals.get("ReportRent"));
+        assertEquals(50.0, categoryTotals.get("ReportFood"));
+        assertEquals(550.0, category.get("totalSpending"));
+
+        List<Map<String, Object>> byCategory = (List<Map<String, Object>>) spending.get("spendingByCategory");
+        assertEquals(50.0, spending.get("totalSpending"));
+        assertEquals(1, byCategory.size());
+        assertEquals(2, byCategory.get(0).get("transactionCount"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reports_FollowUpdatesDeletesAndPartialMonths() {
+        // Arrange
+        Category travel = createCategory("ReportTravel");
+        Transaction moved = createTransaction(100.0, LocalDate.of(2002, 1, 10), travel);
+        Transaction deleted = createTransaction(40.0, LocalDate.of(2002, 2, 10), travel);
+        createTransaction(60.0, LocalDate.of(2002, 3, 25), travel);
+
+        moved.setDate(LocalDate.of(2002, 2, 5));
+        moved.setAmount(150.0);
+        restTemplate.put(createURLWithPort("/api/transaction/update/" + moved.getId()), moved);
+        restTemplate.delete(createURLWithPort("/api/transaction/" + deleted.getId()));
+
+        // Act: the range starts and ends mid-month so both edges are scanned from transactions
+        Map<String, Object> monthly = restTemplate.getForEntity(
+            createURLWithPort("/api/reports/monthly?startDate=2002-01-01&endDate=2002-03-20"), Map.class).getBody();
+
+        // Assert
+        Map<String, Double> monthlyTotals = (Map<String, Double>) monthly.get("monthlyTotals");
+        assertNull(monthlyTotals.get("2002-01"));
+        assertEquals(150.0, monthlyTotals.get("2002-02"));
+        assertNull(monthlyTotals.get("2002-03"));
+
+        // Rebuilding from scratch must give the same answer as the incremental rollup
+        restTemplate.postForEntity(createURLWithPort("/api/reports/rollup/rebuild"), null, Map.class);
+        Map<String, Object> rebuilt = restTemplate.getForEntity(
+            createURLWithPort("/api/reports/monthly?startDate=2002-01-01&endDate=2002-03-31"), Map.class).getBody();
+        Map<String, Double> rebuiltTotals = (Map<String, Double>) rebuilt.get("monthlyTotals");
+        assertEquals(150.0, rebuiltTotals.get("2002-02"));
+        assertEquals(60.0, rebuiltTotals.get("2002-03"));
+    }
+
     @Test
     void getMonthlyReport_ReturnsSuccessfully() {
         // Arrange
@@ -107,6 +211,97 @@ class ReportApiTest {
         assertTrue(response.getHeaders().getContentType().toString().contains("application/pdf"));
     }
 
+    @Test
+    void exportMonthlyReport_WithMatchingETag_ReturnsNotModified() {
+        // Arrange
+        String url = createURLWithPort("/api/reports/monthly/export?startDate=2024-03-01&endDate=2024-03-31");
+        ResponseEntity<byte[]> first = restTemplate.getForEntity(url, byte[].class);
+        String etag = first.getHeaders().getETag();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+
+        // Act
+        ResponseEntity<byte[]> second = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertNotNull(etag);
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+        assertEquals(etag, second.getHeaders().getETag());
+    }
+
+    @Test
+    void exportReportsZip_StreamsOneEntryPerReport() throws IOException {
+        // Arrange
+        List<PDFExportRequest> reports = List.of(
+            new PDFExportRequest(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), "monthly"),
+            new PDFExportRequest(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), "category"),
+            new PDFExportRequest(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29), "spending"));
+
+        // Act
+        ResponseEntity<byte[]> response = restTemplate.postForEntity(
+            createURLWithPort("/api/reports/export.zip"), reports, byte[].class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        int entries = 0;
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(response.getBody()))) {
+            while (zip.getNextEntry() != null) {
+                assertEquals("%PDF", new String(zip.readAllBytes(), 0, 4));
+                entries++;
+            }
+        }
+        assertEquals(3, entries);
+    }
+
+    @Test
+    void exportReportsZip_WithInvalidReportType_ReturnsBadRequest() {
+        // Act
+        ResponseEntity<ErrorResponse> response = restTemplate.postForEntity(
+            createURLWithPort("/api/reports/export.zip"),
+            List.of(new PDFExportRequest(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), "yearly")),
+            ErrorResponse.class);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Invalid report type: yearly", response.getBody().getMessage());
+    }
+
+    @Test
+    void exportJob_CanBePolledAndDownloaded() throws InterruptedException {
+        // Act
+        ResponseEntity<ExportJobResponse> submitted = restTemplate.postForEntity(
+            createURLWithPort("/api/reports/export-jobs?startDate=2024-01-01&endDate=2024-01-31&reportType=monthly"),
+            null, ExportJobResponse.class);
+        assertEquals(HttpStatus.ACCEPTED, submitted.getStatusCode());
+        String jobUrl = createURLWithPort("/api/reports/export-jobs/" + submitted.getBody().getId());
+
+        ExportJobResponse job = submitted.getBody();
+        for (int i = 0; i < 100 && !"COMPLETED".equals(job.getStatus()); i++) {
+            Thread.sleep(50);
+            job = restTemplate.getForObject(jobUrl, ExportJobResponse.class);
+        }
+
+        // Assert
+        assertEquals("COMPLETED", job.getStatus());
+        ResponseEntity<byte[]> download = restTemplate.getForEntity(createURLWithPort(job.getDownloadUrl()), byte[].class);
+        assertEquals(HttpStatus.OK, download.getStatusCode());
+        assertEquals("%PDF", new String(download.getBody(), 0, 4));
+    }
+
+    @Test
+    void exportMonthlyReport_WithInvalidDateRange_ReturnsBadRequest() {
+        // Act
+        ResponseEntity<ErrorResponse> response = restTemplate.getForEntity(
+            createURLWithPort("/api/reports/monthly/export?startDate=2024-02-01&endDate=2024-01-01"),
+            ErrorResponse.class
+        );
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("End date cannot be before start date", response.getBody().getMessage());
+    }
+
     @Test
     void getMonthlyReport_WithInvalidDateRange_ReturnsBadRequest() {
         // Arrange
@@ -144,4 +339,38 @@ class ReportApiTest {
         assertNotNull(response.getBody());
         assertEquals("End date cannot be before start date", response.getBody().getMessage());
     }
+
+    @Test
+    void concurrentFirstWritesToAMonth_ShareOneRollupRow() throws Exception {
+        // Arrange
+        int writers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+
+        // Act
+        try {
+            List<Future<Transaction>> created = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                created.add(executor.submit(() -> {
+                    start.await();
+                    return createTransaction(10.0, LocalDate.of(2006, 7, 15), null);
+                }));
+            }
+            start.countDown();
+            for (Future<Transaction> transaction : created) {
+                assertNotNull(transaction.get().getId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        List<MonthlyCategoryRollup> rows = rollupRepository.findAll().stream()
+            .filter(row -> row.getPeriod() == 200607)
+            .collect(Collectors.toList());
+        assertEquals(1, rows.size());
+        assertEquals(MonthlyCategoryRollup.UNCATEGORIZED, rows.get(0).getCategoryId());
+        assertEquals(writers, rows.get(0).getCount());
+        assertEquals(10.0 * writers, rows.get(0).getTotal(), 0.0001);
+    }
 }
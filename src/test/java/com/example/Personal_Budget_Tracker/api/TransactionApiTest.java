@@ -1,7 +1,9 @@
 package com.example.Personal_Budget_Tracker.api;
 
 import com.example.Personal_Budget_Tracker.api.config.TestConfig;
+import com.example.Personal_Budget_Tracker.core.model.Category;
 import com.example.Personal_Budget_Tracker.core.model.Transaction;
+import com.example.Personal_Budget_Tracker.rest.dto.AutoCategorizationResponse;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -9,13 +11,18 @@ import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -194,4 +201,63 @@ class TransactionApiTest {
         assertNotNull(response.getBody());
         assertTrue(response.getBody().size() > 0);
     }
+
+    @Test
+    void exportTransactionsCsv_WithGzip_StreamsEscapedRows() throws IOException {
+        // Arrange
+        Transaction transaction = createTestTransaction();
+        transaction.setDescription("Dinner, \"The Place\"");
+        transaction.setDate(LocalDate.of(2004, 6, 1));
+        restTemplate.postForEntity(createURLWithPort("/api/transaction/create"), transaction, Transaction.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        // Act
+        ResponseEntity<byte[]> response = restTemplate.exchange(
+            createURLWithPort("/api/transaction/export.csv?startDate=2004-01-01&endDate=2004-12-31"),
+            HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        String csv;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+            csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = csv.split("\r\n");
+        assertEquals("id,date,type,description,category,amount", lines[0]);
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].endsWith(",2004-06-01,EXPENSE,\"Dinner, \"\"The Place\"\"\",,100.0"), lines[1]);
+    }
+
+    @Test
+    void autoCategorization_AssignsSuggestedCategoryInTheBackground() throws InterruptedException {
+        // Arrange
+        // The fake model answers with a category whose name appears in the description
+        Category category = new Category("Zeppelin");
+        category = restTemplate.postForEntity(createURLWithPort("/api/category"), category, Category.class).getBody();
+        Transaction transaction = createTestTransaction();
+        transaction.setDescription("ZEPPELIN TOURS 42");
+        transaction.setDate(LocalDate.of(2005, 4, 2));
+        restTemplate.postForEntity(createURLWithPort("/api/transaction/create"), transaction, Transaction.class);
+
+        // Act
+        ResponseEntity<AutoCategorizationResponse> started = restTemplate.postForEntity(
+            createURLWithPort("/api/transaction/auto-categorization"), null, AutoCategorizationResponse.class);
+        AutoCategorizationResponse progress = started.getBody();
+        for (int attempt = 0; attempt < 100 && progress.isRunning(); attempt++) {
+            Thread.sleep(50);
+            progress = restTemplate.getForObject(createURLWithPort("/api/transaction/auto-categorization"),
+                AutoCategorizationResponse.class);
+        }
+        String csv = restTemplate.getForObject(
+            createURLWithPort("/api/transaction/export.csv?startDate=2005-01-01&endDate=2005-12-31"), String.class);
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED, started.getStatusCode());
+        assertFalse(progress.isRunning());
+        assertEquals("COMPLETED", progress.getStatus());
+        assertTrue(progress.getAssigned() >= 1);
+        assertTrue(csv.contains(",ZEPPELIN TOURS 42," + category.getName() + ",100.0"), csv);
+    }
 }
@@ -1,8 +1,13 @@
 package com.example.Personal_Budget_Tracker.api.config;
 
+import com.example.Personal_Budget_Tracker.api.impl.FakeOpenAiService;
+import com.theokanning.openai.service.OpenAiService;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
 
 @TestConfiguration
 public class TestConfig {
@@ -11,4 +16,11 @@ public class TestConfig {
     public TestRestTemplate testRestTemplate() {
         return new TestRestTemplate();
     }
+
+    // Suggestions are answered offline instead of failing against the real API
+    @Bean
+    @Primary
+    public OpenAiService fakeOpenAiService() {
+        return new FakeOpenAiService(Duration.ofMillis(5));
+    }
 }
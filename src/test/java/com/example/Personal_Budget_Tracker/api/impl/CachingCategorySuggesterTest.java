@@ -0,0 +1,313 @@
+package com.example.Personal_Budget_Tracker.api.impl;
+
+import com.example.Personal_Budget_Tracker.core.api.categorysuggester.CategorySuggester;
+import com.example.Personal_Budget_Tracker.core.event.CategoryChangedEvent;
+import com.example.Personal_Budget_Tracker.core.service.TextNormalizer;
+import com.example.Personal_Budget_Tracker.rest.dto.SuggestionCacheStatsResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingCategorySuggesterTest {
+    private MutableClock clock;
+    private AtomicInteger calls;
+    private CachingCategorySuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        calls = new AtomicInteger();
+        CategorySuggester delegate = description -> "category-" + calls.incrementAndGet();
+        suggester = new CachingCategorySuggester(delegate, 2, Duration.ofMinutes(10), clock);
+    }
+
+    @Test
+    void whenSameDescriptionSuggested_thenDelegateCalledOnce() {
+        assertEquals("category-1", suggester.suggestCategory("Walmart groceries"));
+        assertEquals("category-1", suggester.suggestCategory("Walmart groceries"));
+
+        SuggestionCacheStatsResponse stats = suggester.getStats();
+        assertEquals(1, calls.get());
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.5, stats.getHitRate());
+    }
+
+    @Test
+    void whenDescriptionsDifferOnlyInCaseAndPunctuation_thenShareEntry() {
+        suggester.suggestCategory("WALMART  #1234, groceries");
+        suggester.suggestCategory("walmart 1234 groceries.");
+
+        assertEquals(1, calls.get());
+        assertEquals("walmart 1234 groceries", TextNormalizer.normalize("  WALMART  #1234, groceries! "));
+    }
+
+    @Test
+    void whenBatchSuggested_thenOnlyMissesReachDelegateOnce() {
+        List<List<String>> batches = new ArrayList<>();
+        CategorySuggester delegate = new CategorySuggester() {
+            @Override
+            public String suggestCategory(String description) {
+                return "single";
+            }
+
+            @Override
+            public List<String> suggestCategories(List<String> descriptions) {
+                batches.add(descriptions);
+                return descriptions.stream().map(description -> "batch-" + description).toList();
+            }
+        };
+        CachingCategorySuggester cached = new CachingCategorySuggester(delegate, 10, Duration.ofMinutes(10), clock);
+        cached.suggestCategory("Netflix");
+
+        List<String> suggestions = cached.suggestCategories(List.of("Rent", "netflix", "RENT!", "Fuel"));
+
+        assertEquals(List.of("batch-Rent", "single", "batch-Rent", "batch-Fuel"), suggestions);
+        assertEquals(List.of(List.of("Rent", "Fuel")), batches);
+        assertEquals(1, cached.getStats().getHits());
+        assertEquals(3, cached.getStats().getMisses());
+        assertEquals("batch-Rent", cached.suggestCategory("rent"));
+    }
+
+    @Test
+    void whenTtlElapsed_thenSuggestAgain() {
+        suggester.suggestCategory("Netflix");
+        clock.advance(Duration.ofMinutes(10));
+
+        assertEquals("category-2", suggester.suggestCategory("Netflix"));
+        assertEquals(1, suggester.getStats().getEvictions());
+    }
+
+    @Test
+    void whenFull_thenEvictLeastRecentlyUsed() {
+        suggester.suggestCategory("a");
+        suggester.suggestCategory("b");
+        suggester.suggestCategory("a"); // a is now most recently used
+        suggester.suggestCategory("c"); // evicts b
+
+        suggester.suggestCategory("a");
+        assertEquals(3, calls.get());
+        suggester.suggestCategory("b");
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void whenCategoryChanged_thenClearEntries() {
+        suggester.suggestCategory("Netflix");
+
+        suggester.onCategoryChanged(new CategoryChangedEvent(1L, CategoryChangedEvent.Change.CREATED));
+
+        assertEquals(0, suggester.getStats().getSize());
+        assertEquals(1, suggester.getStats().getInvalidations());
+        assertEquals("category-2", suggester.suggestCategory("Netflix"));
+    }
+
+    @Test
+    void whenCategoryChangedDuringSuggestion_thenResultNotCached() {
+        CachingCategorySuggester[] self = new CachingCategorySuggester[1];
+        CategorySuggester delegate = description -> {
+            self[0].invalidateAll();
+            return "category-" + calls.incrementAndGet();
+        };
+        self[0] = new CachingCategorySuggester(delegate, 2, Duration.ofMinutes(10), clock);
+
+        self[0].suggestCategory("Netflix");
+
+        assertEquals(0, self[0].getStats().getSize());
+    }
+
+    @Test
+    void whenDelegateAnswersFallback_thenResultNotCached() {
+        CategorySuggester failing = description -> {
+            calls.incrementAndGet();
+            return CategorySuggester.FALLBACK_CATEGORY;
+        };
+        CachingCategorySuggester cached = new CachingCategorySuggester(failing, 2, Duration.ofMinutes(10), clock);
+
+        cached.suggestCategory("Netflix");
+        cached.suggestCategory("Netflix");
+
+        assertEquals(2, calls.get());
+        assertEquals(0, cached.getStats().getSize());
+    }
+
+    @Test
+    void whenSuggestedAsync_thenShareEntriesWithSyncPath() {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        CategorySuggester delegate = new CategorySuggester() {
+            @Override
+            public String suggestCategory(String description) {
+                return "single";
+            }
+
+            @Override
+            public CompletableFuture<String> suggestCategoryAsync(String description) {
+                calls.incrementAndGet();
+                return pending;
+            }
+        };
+        CachingCategorySuggester cached = new CachingCategorySuggester(delegate, 2, Duration.ofMinutes(10), clock);
+
+        CompletableFuture<String> miss = cached.suggestCategoryAsync("Netflix");
+        assertFalse(miss.isDone());
+        pending.complete("subscriptions");
+
+        assertEquals("subscriptions", miss.join());
+        assertEquals("subscriptions", cached.suggestCategoryAsync("NETFLIX").join());
+        assertEquals("subscriptions", cached.suggestCategory("netflix"));
+        assertEquals(1, calls.get());
+        assertEquals(2, cached.getStats().getHits());
+    }
+
+    @Test
+    void whenSameDescriptionInFlight_thenCallersShareOneDelegateCall() {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        CategorySuggester delegate = new CategorySuggester() {
+            @Override
+            public String suggestCategory(String description) {
+                return "single";
+            }
+
+            @Override
+            public CompletableFuture<String> suggestCategoryAsync(String description) {
+                calls.incrementAndGet();
+                return pending;
+            }
+        };
+        CachingCategorySuggester cached = new CachingCategorySuggester(delegate, 2, Duration.ofMinutes(10), clock);
+
+        CompletableFuture<String> first = cached.suggestCategoryAsync("WALMART #12");
+        CompletableFuture<String> second = cached.suggestCategoryAsync("walmart 12");
+        CompletableFuture<String> other = cached.suggestCategoryAsync("Shell");
+        pending.complete("groceries");
+
+        assertEquals("groceries", first.join());
+        assertEquals("groceries", second.join());
+        assertEquals("groceries", other.join());
+        assertEquals(2, calls.get());
+        SuggestionCacheStatsResponse stats = cached.getStats();
+        assertEquals(1, stats.getCoalesced());
+        assertEquals(2, stats.getMisses());
+    }
+
+    @Test
+    void whenConcurrentThreadsSuggestSameDescription_thenDelegateCalledOnce() throws Exception {
+        CategorySuggester slow = description -> {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "groceries";
+        };
+        CachingCategorySuggester cached = new CachingCategorySuggester(slow, 2, Duration.ofMinutes(10), clock);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> answers = new ArrayList<>();
+
+        // The first caller runs the slow delegate on its own thread, so the rest join it
+        for (int i = 0; i < 8; i++) {
+            answers.add(pool.submit(() -> {
+                start.await();
+                return cached.suggestCategory("Aldi weekly shop");
+            }));
+        }
+        start.countDown();
+        for (Future<String> answer : answers) {
+            assertEquals("groceries", answer.get(5, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+
+        assertEquals(1, calls.get());
+        SuggestionCacheStatsResponse stats = cached.getStats();
+        assertEquals(7, stats.getHits() + stats.getCoalesced());
+    }
+
+    @Test
+    void whenSharedCallFails_thenEveryCallerSeesFailureAndNextCallRetries() {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        CategorySuggester delegate = new CategorySuggester() {
+            @Override
+            public String suggestCategory(String description) {
+                return "retried";
+            }
+
+            @Override
+            public CompletableFuture<String> suggestCategoryAsync(String description) {
+                return calls.incrementAndGet() == 1 ? pending : CompletableFuture.completedFuture("retried");
+            }
+        };
+        CachingCategorySuggester cached = new CachingCategorySuggester(delegate, 2, Duration.ofMinutes(10), clock);
+
+        CompletableFuture<String> first = cached.suggestCategoryAsync("Netflix");
+        CompletableFuture<String> second = cached.suggestCategoryAsync("Netflix");
+        pending.completeExceptionally(new IllegalStateException("down"));
+
+        assertThrows(CompletionException.class, first::join);
+        assertThrows(CompletionException.class, second::join);
+        assertEquals("retried", cached.suggestCategory("Netflix"));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void whenHits_thenReportTimeSaved() {
+        CategorySuggester slow = description -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "subscriptions";
+        };
+        CachingCategorySuggester cached = new CachingCategorySuggester(slow, 2, Duration.ofMinutes(10), clock);
+
+        cached.suggestCategory("Netflix");
+        cached.suggestCategory("Netflix");
+        cached.suggestCategory("Netflix");
+
+        SuggestionCacheStatsResponse stats = cached.getStats();
+        assertTrue(stats.getAverageMissMillis() >= 20);
+        assertTrue(stats.getEstimatedTimeSavedMillis() >= 40);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.Personal_Budget_Tracker.api.impl;
+
+import com.theokanning.openai.client.OpenAiApi;
+import com.theokanning.openai.completion.CompletionChoice;
+import com.theokanning.openai.completion.CompletionRequest;
+import com.theokanning.openai.completion.CompletionResult;
+import com.theokanning.openai.service.OpenAiService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Offline stand-in for OpenAI completions. It answers both the single and the numbered
+ * batch prompts of {@link OpenAICategorySuggester}, picking the first available category
+ * whose name appears in a description and "other" otherwise. Every call sleeps for a fixed
+ * latency, and calls and peak concurrency are counted so throughput can be measured. Tests
+ * of slow or failing calls can queue per-call latencies and failures.
+ */
+public class FakeOpenAiService extends OpenAiService {
+    private static final Pattern SINGLE = Pattern.compile("description: '(.*)'\\n");
+    private static final Pattern NUMBERED = Pattern.compile("^(\\d+)\\. (.*)$", Pattern.MULTILINE);
+    private static final Pattern CATEGORIES = Pattern.compile("available categories: (.*)\\n");
+
+    private final Duration latency;
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final Queue<Duration> latencies = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger failures = new AtomicInteger();
+    private volatile int omittedAnswers;
+
+    public FakeOpenAiService(Duration latency) {
+        super((OpenAiApi) null);
+        this.latency = latency;
+    }
+
+    public int getCalls() {
+        return calls.get();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight.get();
+    }
+
+    /**
+     * Leaves out the last answers of every batch response, like a model that stops early.
+     */
+    public void setOmittedAnswers(int omittedAnswers) {
+        this.omittedAnswers = omittedAnswers;
+    }
+
+    /**
+     * The next calls take these latencies, one each, before the fixed latency applies again.
+     */
+    public void setLatencies(Duration... latencies) {
+        this.latencies.clear();
+        this.latencies.addAll(List.of(latencies));
+    }
+
+    /**
+     * The next calls fail after their latency, like an API returning errors.
+     */
+    public void setFailures(int failures) {
+        this.failures.set(failures);
+    }
+
+    @Override
+    public CompletionResult createCompletion(CompletionRequest request) {
+        calls.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Duration next = latencies.poll();
+            Thread.sleep((next == null ? latency : next).toMillis());
+            if (failures.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+                throw new IllegalStateException("Service unavailable");
+            }
+            return result(answer(request.getPrompt()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private String answer(String prompt) {
+        List<String> categories = new ArrayList<>();
+        Matcher available = CATEGORIES.matcher(prompt);
+        if (available.find() && !available.group(1).isEmpty()) {
+            categories.addAll(List.of(available.group(1).split(", ")));
+        }
+
+        Matcher single = SINGLE.matcher(prompt);
+        if (single.find()) {
+            return "\n" + categorize(single.group(1), categories);
+        }
+
+        List<String> lines = new ArrayList<>();
+        Matcher numbered = NUMBERED.matcher(prompt);
+        while (numbered.find()) {
+            lines.add(numbered.group(1) + ". " + categorize(numbered.group(2), categories));
+        }
+        return "\n" + String.join("\n", lines.subList(0, Math.max(0, lines.size() - omittedAnswers)));
+    }
+
+    private static String categorize(String description, List<String> categories) {
+        String lower = description.toLowerCase(Locale.ROOT);
+        for (String category : categories) {
+            if (lower.contains(category)) {
+                return category;
+            }
+        }
+        return "other";
+    }
+
+    static CompletionResult result(String text) {
+        CompletionChoice choice = new CompletionChoice();
+        choice.setText(text);
+        choice.setIndex(0);
+        CompletionResult result = new CompletionResult();
+        result.setChoices(List.of(choice));
+        return result;
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.Personal_Budget_Tracker.api.impl;
+
+import com.example.Personal_Budget_Tracker.core.api.categorysuggester.CategorySuggester;
+import com.example.Personal_Budget_Tracker.core.event.CategoryChangedEvent;
+import com.example.Personal_Budget_Tracker.core.event.TransactionChangedEvent;
+import com.example.Personal_Budget_Tracker.core.model.Category;
+import com.example.Personal_Budget_Tracker.core.repository.CategoryRepository;
+import com.example.Personal_Budget_Tracker.core.repository.TransactionRepository;
+import com.example.Personal_Budget_Tracker.core.repository.projection.LabeledDescription;
+import com.example.Personal_Budget_Tracker.core.service.CategoryRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NaiveBayesCategorySuggesterTest {
+    private static final long GROCERIES = 1L;
+    private static final long FUEL = 2L;
+
+    @Mock
+    private CategorySuggester delegate;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CategoryRegistry categoryRegistry;
+    private NaiveBayesCategorySuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        categoryRegistry = new CategoryRegistry(categoryRepository);
+        suggester = new NaiveBayesCategorySuggester(delegate, transactionRepository, categoryRegistry,
+            transactionManager, 0.9, 10);
+    }
+
+    private static Category category(long id, String name) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        return category;
+    }
+
+    private void train(int perCategory) {
+        List<LabeledDescription> rows = new ArrayList<>();
+        for (int i = 0; i < perCategory; i++) {
+            rows.add(new LabeledDescription("WALMART SUPERCENTER #" + (1000 + i), GROCERIES));
+            rows.add(new LabeledDescription("Aldi weekly shop " + i, GROCERIES));
+            rows.add(new LabeledDescription("SHELL OIL " + (5000 + i), FUEL));
+            rows.add(new LabeledDescription("Chevron gas station", FUEL));
+        }
+        // Names are only looked up once the model answers locally
+        lenient().when(categoryRepository.findAll())
+            .thenReturn(List.of(category(GROCERIES, "Groceries"), category(FUEL, "Fuel")));
+        when(transactionRepository.streamLabeledDescriptions()).thenReturn(rows.stream());
+        suggester.train();
+    }
+
+    @Test
+    void suggestCategory_WhenConfident_AnswersLocally() {
+        // Arrange
+        train(5);
+
+        // Act
+        String walmart = suggester.suggestCategory("Walmart Supercenter 4411");
+        String shell = suggester.suggestCategory("shell oil 12345678");
+
+        // Assert
+        assertEquals("groceries", walmart);
+        assertEquals("fuel", shell);
+        assertEquals(2, suggester.getLocalAnswers());
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void suggestCategory_WithUnknownWords_FallsBackToDelegate() {
+        // Arrange
+        train(5);
+        when(delegate.suggestCategory("Netflix subscription")).thenReturn("entertainment");
+
+        // Act
+        String suggestion = suggester.suggestCategory("Netflix subscription");
+
+        // Assert
+        assertEquals("entertainment", suggestion);
+        assertEquals(1, suggester.getDelegatedAnswers());
+    }
+
+    @Test
+    void suggestCategory_WithTooFewExamples_FallsBackToDelegate() {
+        // Arrange
+        train(2);
+        when(delegate.suggestCategory(anyString())).thenReturn("other");
+
+        // Act
+        suggester.suggestCategory("Walmart supercenter");
+
+        // Assert
+        verify(delegate).suggestCategory("Walmart supercenter");
+    }
+
+    @Test
+    void suggestCategory_WhenUnsure_FallsBackToDelegate() {
+        // Arrange
+        train(5);
+        when(delegate.suggestCategory(anyString())).thenReturn("other");
+
+        // Act
+        // "walmart" points to groceries as strongly as "shell" points to fuel
+        suggester.suggestCategory("walmart shell");
+
+        // Assert
+        verify(delegate).suggestCategory("walmart shell");
+    }
+
+    @Test
+    void onTransactionChanged_LearnsFromNewTransactions() {
+        // Arrange
+        train(5);
+        for (int i = 0; i < 10; i++) {
+            suggester.onTransactionChanged(new TransactionChangedEvent(null,
+                new TransactionChangedEvent.Snapshot(LocalDate.of(2024, 1, 1), FUEL, 10.0, "Costco gas " + i)));
+        }
+
+        // Act
+        String suggestion = suggester.suggestCategory("costco gas");
+
+        // Assert
+        assertEquals("fuel", suggestion);
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void onTransactionChanged_IgnoresAutomaticallyAssignedCategories() {
+        // Arrange
+        train(5);
+        when(delegate.suggestCategory("costco gas")).thenReturn("other");
+        for (int i = 0; i < 10; i++) {
+            suggester.onTransactionChanged(new TransactionChangedEvent(null,
+                new TransactionChangedEvent.Snapshot(LocalDate.of(2024, 1, 1), FUEL, 10.0, "Costco gas " + i, true)));
+        }
+
+        // Act
+        String suggestion = suggester.suggestCategory("costco gas");
+
+        // Assert
+        assertEquals("other", suggestion);
+        verify(delegate).suggestCategory("costco gas");
+    }
+
+    @Test
+    void onCategoryChanged_WhenDeleted_ForgetsCategory() {
+        // Arrange
+        train(5);
+        when(delegate.suggestCategory(anyString())).thenReturn("other");
+        when(categoryRepository.findAll()).thenReturn(List.of(category(FUEL, "Fuel")));
+
+        // Act
+        CategoryChangedEvent event = new CategoryChangedEvent(GROCERIES, CategoryChangedEvent.Change.DELETED);
+        categoryRegistry.onCategoryChanged(event);
+        suggester.onCategoryChanged(event);
+        String suggestion = suggester.suggestCategory("Walmart supercenter");
+
+        // Assert
+        assertEquals("other", suggestion);
+        assertEquals("fuel", suggester.suggestCategory("Shell oil"));
+    }
+
+    @Test
+    void suggestCategories_SendsOnlyUnconfidentDescriptionsToDelegate() {
+        // Arrange
+        train(5);
+        when(delegate.suggestCategories(List.of("Netflix", "Spotify"))).thenReturn(List.of("fun", "music"));
+
+        // Act
+        List<String> suggestions = suggester.suggestCategories(List.of("Netflix", "Aldi weekly shop", "Spotify"));
+
+        // Assert
+        assertEquals(List.of("fun", "groceries", "music"), suggestions);
+        assertEquals(1, suggester.getLocalAnswers());
+        assertEquals(2, suggester.getDelegatedAnswers());
+    }
+
+    @Test
+    void words_DropsNumbersAndSingleLetters() {
+        assertEquals(Set.of("walmart", "supercenter", "tx"),
+            NaiveBayesCategorySuggester.words("WALMART SUPERCENTER #1234 a TX"));
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.Personal_Budget_Tracker.api.impl;
+
+import com.example.Personal_Budget_Tracker.core.model.Category;
+import com.example.Personal_Budget_Tracker.core.repository.CategoryRepository;
+import com.example.Personal_Budget_Tracker.core.service.CategoryRegistry;
+import com.theokanning.openai.completion.CompletionRequest;
+import com.theokanning.openai.service.OpenAiService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OpenAICategorySuggesterTest {
+    private static final Duration LATENCY = Duration.ofMillis(20);
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private FakeOpenAiService openAiService;
+    private OpenAICategorySuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        // parseAnswers never loads categories
+        lenient().when(categoryRepository.findAll()).thenReturn(List.of(category("Groceries"), category("Rent"),
+            category("Fuel")));
+        openAiService = new FakeOpenAiService(LATENCY);
+        suggester = new OpenAICategorySuggester(openAiService, new CategoryRegistry(categoryRepository), 25, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        suggester.shutdown();
+    }
+
+    private static Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return category;
+    }
+
+    @Test
+    void suggestCategory_ReturnsModelAnswer() {
+        // Act
+        String suggestion = suggester.suggestCategory("Weekly groceries at Aldi");
+
+        // Assert
+        assertEquals("groceries", suggestion);
+        assertEquals(1, openAiService.getCalls());
+    }
+
+    @Test
+    void suggestCategories_PacksDescriptionsIntoConcurrentChunks() {
+        // Arrange
+        String[] kinds = {"groceries at store ", "rent for flat ", "fuel station ", "cinema tickets "};
+        String[] expected = {"groceries", "rent", "fuel", "other"};
+        List<String> descriptions = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            descriptions.add(kinds[i % kinds.length] + i);
+        }
+
+        // Act
+        long started = System.nanoTime();
+        List<String> suggestions = suggester.suggestCategories(descriptions);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        // Assert
+        assertEquals(500, suggestions.size());
+        for (int i = 0; i < suggestions.size(); i++) {
+            assertEquals(expected[i % expected.length], suggestions.get(i), "description " + i);
+        }
+        assertEquals(20, openAiService.getCalls());
+        assertTrue(openAiService.getMaxInFlight() > 1);
+        assertTrue(openAiService.getMaxInFlight() <= 4);
+        // One call per description would take at least 500 round trips
+        assertTrue(elapsed.compareTo(LATENCY.multipliedBy(500)) < 0, "took " + elapsed);
+    }
+
+    @Test
+    void suggestCategories_WhenAnswerMissing_AsksForItAgain() {
+        // Arrange
+        openAiService.setOmittedAnswers(1);
+
+        // Act
+        List<String> suggestions = suggester.suggestCategories(List.of("rent march", "fuel", "groceries"));
+
+        // Assert
+        assertEquals(List.of("rent", "fuel", "groceries"), suggestions);
+        assertEquals(2, openAiService.getCalls());
+    }
+
+    @Test
+    void requestCategories_WhenAnswersMissing_RetriesThemInOneRequest() {
+        // Arrange
+        openAiService.setOmittedAnswers(2);
+        OpenAICategorySuggester wide = new OpenAICategorySuggester(openAiService, new CategoryRegistry(categoryRepository), 25, 1);
+
+        // Act
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+            () -> wide.requestCategories(List.of("rent march", "fuel", "groceries", "cinema")));
+
+        // Assert
+        assertTrue(thrown.getMessage().contains("unanswered"));
+        // The follow-up for both missing descriptions also drops two, so it is not retried again
+        assertEquals(2, openAiService.getCalls());
+        wide.shutdown();
+    }
+
+    @Test
+    void requestCategories_WhenFollowUpFails_Throws() {
+        // Arrange
+        OpenAiService flaky = mock(OpenAiService.class);
+        when(flaky.createCompletion(any(CompletionRequest.class)))
+            .thenReturn(FakeOpenAiService.result("\n1. rent"))
+            .thenThrow(new RuntimeException("rate limited"));
+        OpenAICategorySuggester flakySuggester = new OpenAICategorySuggester(flaky, new CategoryRegistry(categoryRepository), 25, 1);
+
+        // Act
+        RuntimeException thrown = assertThrows(RuntimeException.class,
+            () -> flakySuggester.requestCategories(List.of("rent march", "fuel")));
+
+        // Assert
+        assertEquals("rate limited", thrown.getMessage());
+        flakySuggester.shutdown();
+    }
+
+    @Test
+    void suggestCategories_WhenRequestFails_ReturnsFallbackForChunk() {
+        // Arrange
+        OpenAiService failing = mock(OpenAiService.class);
+        when(failing.createCompletion(any(CompletionRequest.class))).thenThrow(new RuntimeException("rate limited"));
+        OpenAICategorySuggester failingSuggester = new OpenAICategorySuggester(failing, new CategoryRegistry(categoryRepository), 2, 1);
+
+        // Act
+        List<String> suggestions = failingSuggester.suggestCategories(List.of("a", "b", "c"));
+
+        // Assert
+        assertEquals(List.of("other", "other", "other"), suggestions);
+        verify(failing, times(2)).createCompletion(any(CompletionRequest.class));
+        failingSuggester.shutdown();
+    }
+
+    @Test
+    void parseAnswers_AcceptsSeparatorsAndIgnoresNoise() {
+        // Arrange
+        String[] suggestions = new String[3];
+
+        // Act
+        OpenAICategorySuggester.parseAnswers("Here you go:\n1. Groceries\n 3) rent \n9. fuel\n2: fuel\n1. rent", suggestions);
+
+        // Assert
+        assertArrayEquals(new String[] {"groceries", "fuel", "rent"}, suggestions);
+    }
+
+    @Test
+    void parseAnswers_SkipsNumbersTooLongForAnIndex() {
+        // Arrange
+        String[] suggestions = new String[2];
+
+        // Act
+        OpenAICategorySuggester.parseAnswers("99999999999999999999. rent\n2. fuel", suggestions);
+
+        // Assert
+        assertArrayEquals(new String[] {null, "fuel"}, suggestions);
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.Personal_Budget_Tracker.api.impl;
+
+import com.example.Personal_Budget_Tracker.core.model.Category;
+import com.example.Personal_Budget_Tracker.core.repository.CategoryRepository;
+import com.example.Personal_Budget_Tracker.core.service.CategoryRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResilientCategorySuggesterTest {
+    private static final Duration LATENCY = Duration.ofMillis(20);
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private FakeOpenAiService openAiService;
+    private OpenAICategorySuggester openAICategorySuggester;
+    private MutableClock clock;
+    private final List<ResilientCategorySuggester> suggesters = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // Calls that are short-circuited or rejected never load categories
+        lenient().when(categoryRepository.findAll()).thenReturn(List.of(category("Groceries"), category("Fuel")));
+        openAiService = new FakeOpenAiService(LATENCY);
+        openAICategorySuggester = new OpenAICategorySuggester(openAiService, new CategoryRegistry(categoryRepository),
+            25, 1);
+        clock = new MutableClock();
+    }
+
+    @AfterEach
+    void tearDown() {
+        suggesters.forEach(ResilientCategorySuggester::shutdown);
+        openAICategorySuggester.shutdown();
+    }
+
+    private static Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return category;
+    }
+
+    private void useChunkSize(int chunkSize) {
+        openAICategorySuggester.shutdown();
+        openAICategorySuggester = new OpenAICategorySuggester(openAiService, new CategoryRegistry(categoryRepository),
+            chunkSize, 1);
+    }
+
+    private ResilientCategorySuggester suggester(int threads, int queueCapacity, Duration timeout, Duration hedgeDelay) {
+        ResilientCategorySuggester suggester = new ResilientCategorySuggester(openAICategorySuggester, threads,
+            queueCapacity, timeout, hedgeDelay, 2, OPEN_DURATION, clock);
+        suggesters.add(suggester);
+        return suggester;
+    }
+
+    @Test
+    void suggestCategoryAsync_ReturnsBeforeOpenAIAnswers() {
+        // Arrange
+        ResilientCategorySuggester suggester = suggester(2, 4, Duration.ofSeconds(5), Duration.ZERO);
+        openAiService.setLatencies(Duration.ofMillis(200));
+
+        // Act
+        CompletableFuture<String> suggestion = suggester.suggestCategoryAsync("Groceries at Aldi");
+
+        // Assert
+        assertFalse(suggestion.isDone());
+        assertEquals("groceries", suggestion.join());
+        assertEquals(ResilientCategorySuggester.CircuitState.CLOSED, suggester.getCircuitState());
+    }
+
+    @Test
+    void suggestCategory_WhenDeadlineMissed_ReturnsFallback() {
+        // Arrange
+        ResilientCategorySuggester suggester = suggester(2, 4, Duration.ofMillis(50), Duration.ZERO);
+        openAiService.setLatencies(Duration.ofSeconds(2));
+
+        // Act
+        long started = System.nanoTime();
+        String suggestion = suggester.suggestCategory("Groceries at Aldi");
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        // Assert
+        assertEquals("other", suggestion);
+        assertEquals(1, suggester.getTimeouts());
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(1)) < 0, "took " + elapsed);
+    }
+
+    @Test
+    void suggestCategory_AfterRepeatedFailures_OpensCircuitUntilTrialSucceeds() {
+        // Arrange
+        ResilientCategorySuggester suggester = suggester(2, 4, Duration.ofSeconds(5), Duration.ZERO);
+        openAiService.setFailures(2);
+
+        // Act
+        String first = suggester.suggestCategory("Groceries at Aldi");
+        String second = suggester.suggestCategory("Groceries at Aldi");
+        String shortCircuited = suggester.suggestCategory("Groceries at Aldi");
+        ResilientCategorySuggester.CircuitState whileOpen = suggester.getCircuitState();
+        clock.advance(OPEN_DURATION);
+        String trial = suggester.suggestCategory("Groceries at Aldi");
+
+        // Assert
+        assertEquals(List.of("other", "other", "other"), List.of(first, second, shortCircuited));
+        assertEquals(ResilientCategorySuggester.CircuitState.OPEN, whileOpen);
+        assertEquals(1, suggester.getShortCircuits());
+        assertEquals("groceries", trial);
+        assertEquals(ResilientCategorySuggester.CircuitState.CLOSED, suggester.getCircuitState());
+        assertEquals(3, openAiService.getCalls());
+    }
+
+    @Test
+    void suggestCategories_WhenCircuitOpen_ReturnsFallbackWithoutCallingOpenAI() {
+        // Arrange
+        ResilientCategorySuggester suggester = suggester(2, 4, Duration.ofSeconds(5), Duration.ZERO);
+        openAiService.setFailures(2);
+        suggester.suggestCategory("a");
+        suggester.suggestCategory("b");
+
+        // Act
+        List<String> suggestions = suggester.suggestCategories(List.of("Groceries", "Fuel"));
+
+        // Assert
+        assertEquals(List.of("other", "other"), suggestions);
+        assertEquals(2, openAiService.getCalls());
+    }
+
+    @Test
+    void suggestCategoryAsync_WhenPoolAndQueueFull_ReturnsFallbackImmediately() {
+        // Arrange
+        ResilientCategorySuggester suggester = suggester(1, 1, Duration.ofSeconds(5), Duration.ZERO);
+        openAiService.setLatencies(Duration.ofMillis(200), Duration.ofMillis(200));
+
+        // Act
+        CompletableFuture<String> running = suggester.suggestCategoryAsync("Groceries");
+        CompletableFuture<String> queued = suggester.suggestCategoryAsync("Fuel");
+        CompletableFuture<String> rejected = suggester.suggestCategoryAsync("Fuel again");
+
+        // Assert
+        assertTrue(rejected.isDone());
+        assertEquals("other", rejected.join());
+        assertEquals(1, suggester.getRejections());
+        assertEquals("groceries", running.join());
+        assertEquals("fuel", queued.join());
+        assertEquals(ResilientCategorySuggester.CircuitState.CLOSED, suggester.getCircuitState());
+    }
+
+    @Test
+    void suggestCategory_WhenFirstAttemptSlow_HedgedAttemptAnswers() {
+        // Arrange
+        ResilientCategorySuggester suggester = suggester(2, 4, Duration.ofSeconds(5), Duration.ofMillis(50));
+        openAiService.setLatencies(Duration.ofSeconds(2));
+
+        // Act
+        long started = System.nanoTime();
+        String suggestion = suggester.suggestCategory("Fuel at Shell");
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        // Assert
+        assertEquals("fuel", suggestion);
+        assertEquals(1, suggester.getHedges());
+        assertEquals(2, openAiService.getCalls());
+        assertEquals(0, suggester.getTimeouts());
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(1)) < 0, "took " + elapsed);
+    }
+
+    @Test
+    void suggestCategories_WhenChunksFail_RecordsOneFailureEachAndStopsCallingOpenAI() {
+        // Arrange
+        useChunkSize(2);
+        ResilientCategorySuggester suggester = suggester(2, 4, Duration.ofSeconds(5), Duration.ZERO);
+        openAiService.setFailures(2);
+        List<String> descriptions = List.of("Groceries 1", "Groceries 2", "Fuel 1", "Fuel 2");
+
+        // Act
+        List<String> failed = suggester.suggestCategories(descriptions);
+        ResilientCategorySuggester.CircuitState afterFailures = suggester.getCircuitState();
+        List<String> shortCircuited = suggester.suggestCategories(descriptions);
+
+        // Assert
+        assertEquals(List.of("other", "other", "other", "other"), failed);
+        assertEquals(ResilientCategorySuggester.CircuitState.OPEN, afterFailures);
+        assertEquals(List.of("other", "other", "other", "other"), shortCircuited);
+        assertEquals(4, suggester.getShortCircuits());
+        assertEquals(2, openAiService.getCalls());
+    }
+
+    @Test
+    void suggestCategories_WhenChunkMissesDeadline_ReturnsFallbackForItsDescriptions() {
+        // Arrange
+        useChunkSize(2);
+        ResilientCategorySuggester suggester = suggester(2, 4, Duration.ofMillis(100), Duration.ZERO);
+        openAiService.setLatencies(Duration.ofSeconds(2));
+
+        // Act
+        long started = System.nanoTime();
+        List<String> suggestions = suggester.suggestCategories(List.of("Groceries 1", "Groceries 2", "Fuel"));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        // Assert
+        assertEquals(1, suggester.getTimeouts());
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(1)) < 0, "took " + elapsed);
+        // Either chunk may have drawn the slow call
+        assertTrue(suggestions.equals(List.of("other", "other", "fuel"))
+            || suggestions.equals(List.of("groceries", "groceries", "other")), suggestions.toString());
+        assertEquals(ResilientCategorySuggester.CircuitState.CLOSED, suggester.getCircuitState());
+    }
+
+    @Test
+    void suggestCategories_ChunksWaitingForTheBatchPool_DoNotTimeOutOrOpenCircuit() {
+        // Arrange
+        // One batch thread, so each chunk waits for the ones before it
+        useChunkSize(1);
+        ResilientCategorySuggester suggester = suggester(2, 4, Duration.ofMillis(100), Duration.ZERO);
+        List<String> descriptions = List.of("Fuel 1", "Fuel 2", "Fuel 3", "Fuel 4", "Fuel 5", "Fuel 6", "Fuel 7");
+
+        // Act
+        List<String> suggestions = suggester.suggestCategories(descriptions);
+
+        // Assert
+        assertEquals(List.of("fuel", "fuel", "fuel", "fuel", "fuel", "fuel", "fuel"), suggestions);
+        assertEquals(0, suggester.getTimeouts());
+        assertEquals(ResilientCategorySuggester.CircuitState.CLOSED, suggester.getCircuitState());
+    }
+
+    @Test
+    void suggestCategoryAsync_WhileBatchRuns_IsNotRejected() {
+        // Arrange
+        useChunkSize(1);
+        ResilientCategorySuggester suggester = suggester(1, 1, Duration.ofSeconds(5), Duration.ZERO);
+        CompletableFuture<List<String>> batch = CompletableFuture.supplyAsync(() ->
+            suggester.suggestCategories(List.of("Fuel 1", "Fuel 2", "Fuel 3", "Fuel 4", "Fuel 5")));
+
+        // Act
+        String single = suggester.suggestCategory("Groceries at Aldi");
+
+        // Assert
+        assertEquals("groceries", single);
+        assertEquals(0, suggester.getRejections());
+        assertEquals(List.of("fuel", "fuel", "fuel", "fuel", "fuel"), batch.join());
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.Personal_Budget_Tracker.api.impl;
+
+import com.example.Personal_Budget_Tracker.core.api.categorysuggester.CategorySuggester;
+import com.example.Personal_Budget_Tracker.core.model.Category;
+import com.example.Personal_Budget_Tracker.core.model.MerchantRule;
+import com.example.Personal_Budget_Tracker.core.repository.CategoryRepository;
+import com.example.Personal_Budget_Tracker.core.repository.MerchantRuleRepository;
+import com.example.Personal_Budget_Tracker.core.service.CategoryRegistry;
+import com.example.Personal_Budget_Tracker.core.service.MerchantRuleMatcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RuleBasedCategorySuggesterTest {
+
+    @Mock
+    private CategorySuggester delegate;
+
+    @Mock
+    private MerchantRuleRepository merchantRuleRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private RuleBasedCategorySuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        Category fuel = new Category("Fuel");
+        fuel.setId(2L);
+        MerchantRule shell = new MerchantRule("shell", 2L);
+        shell.setId(1L);
+        when(categoryRepository.findAll()).thenReturn(List.of(fuel));
+        when(merchantRuleRepository.findAll(any(Sort.class))).thenReturn(List.of(shell));
+        CategoryRegistry categoryRegistry = new CategoryRegistry(categoryRepository);
+        suggester = new RuleBasedCategorySuggester(delegate,
+            new MerchantRuleMatcher(merchantRuleRepository, categoryRegistry), categoryRegistry);
+    }
+
+    @Test
+    void suggestCategory_WhenRuleMatches_AnswersWithoutDelegate() {
+        // Act
+        String suggestion = suggester.suggestCategory("SHELL 5741 HOUSTON TX");
+        String async = suggester.suggestCategoryAsync("Shell station").join();
+
+        // Assert
+        assertEquals("fuel", suggestion);
+        assertEquals("fuel", async);
+        assertEquals(2, suggester.getRuleAnswers());
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void suggestCategoryAsync_WhenNoRuleMatches_AsksDelegate() {
+        // Arrange
+        when(delegate.suggestCategoryAsync("Netflix")).thenReturn(CompletableFuture.completedFuture("entertainment"));
+
+        // Act
+        String suggestion = suggester.suggestCategoryAsync("Netflix").join();
+
+        // Assert
+        assertEquals("entertainment", suggestion);
+        assertEquals(1, suggester.getDelegatedAnswers());
+    }
+
+    @Test
+    void suggestCategories_SendsOnlyUnmatchedDescriptionsToDelegate() {
+        // Arrange
+        when(delegate.suggestCategories(List.of("Netflix", "Aldi"))).thenReturn(List.of("fun", "groceries"));
+
+        // Act
+        List<String> suggestions = suggester.suggestCategories(List.of("Netflix", "Shell oil", "Aldi"));
+
+        // Assert
+        assertEquals(List.of("fun", "fuel", "groceries"), suggestions);
+        assertEquals(1, suggester.getRuleAnswers());
+        assertEquals(2, suggester.getDelegatedAnswers());
+    }
+}
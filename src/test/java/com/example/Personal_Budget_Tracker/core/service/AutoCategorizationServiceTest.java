@@ -0,0 +1,205 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.core.api.categorysuggester.CategorySuggester;
+import com.example.Personal_Budget_Tracker.core.event.TransactionChangedEvent;
+import com.example.Personal_Budget_Tracker.core.model.AutoCategorizationCheckpoint;
+import com.example.Personal_Budget_Tracker.core.model.Category;
+import com.example.Personal_Budget_Tracker.core.model.Transaction;
+import com.example.Personal_Budget_Tracker.core.repository.AutoCategorizationCheckpointRepository;
+import com.example.Personal_Budget_Tracker.core.repository.CategoryRepository;
+import com.example.Personal_Budget_Tracker.core.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AutoCategorizationServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private AutoCategorizationCheckpointRepository checkpointRepository;
+
+    @Mock
+    private CategorySuggester categorySuggester;
+
+    @Mock
+    private CategoryRegistry categoryRegistry;
+
+    @Mock
+    private MonthlyRollupService monthlyRollupService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private Category groceries;
+    private Category fuel;
+    private AutoCategorizationService service;
+
+    @BeforeEach
+    void setUp() {
+        groceries = category(1L, "Groceries");
+        fuel = category(2L, "Fuel");
+        // A run that fails before suggesting never looks categories up
+        lenient().when(categoryRegistry.snapshot()).thenReturn(new CategoryRegistry.Snapshot(1, List.of(groceries, fuel)));
+        when(checkpointRepository.save(any(AutoCategorizationCheckpoint.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        service = service(() -> false);
+    }
+
+    private AutoCategorizationService service(BooleanSupplier poolBusy) {
+        return new AutoCategorizationService(transactionRepository, categoryRepository, checkpointRepository,
+            categorySuggester, categoryRegistry, monthlyRollupService, eventPublisher, transactionManager,
+            false, 2, new RateLimiter(0), poolBusy, Duration.ofMillis(1));
+    }
+
+    private static Category category(long id, String name) {
+        Category category = new Category(name);
+        category.setId(id);
+        return category;
+    }
+
+    private static Transaction transaction(long id, String description) {
+        Transaction transaction = new Transaction(10.0, "Expense", description, LocalDate.of(2024, 3, 5), null);
+        transaction.setId(id);
+        return transaction;
+    }
+
+    @Test
+    void run_AssignsSuggestedCategoriesPageByPageAndCompletes() {
+        // Arrange
+        Transaction aldi = transaction(3L, "ALDI 12");
+        Transaction shell = transaction(5L, "SHELL 5741");
+        Transaction mystery = transaction(8L, "POS 00321");
+        when(checkpointRepository.findById(AutoCategorizationService.CHECKPOINT_ID)).thenReturn(Optional.empty());
+        when(transactionRepository.findUncategorizedAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(aldi, shell));
+        when(transactionRepository.findUncategorizedAfter(eq(5L), any(Pageable.class))).thenReturn(List.of(mystery));
+        when(transactionRepository.findUncategorizedAfter(eq(8L), any(Pageable.class))).thenReturn(List.of());
+        when(categorySuggester.suggestCategories(List.of("ALDI 12", "SHELL 5741"))).thenReturn(List.of("groceries", "Fuel"));
+        when(categorySuggester.suggestCategories(List.of("POS 00321"))).thenReturn(List.of(CategorySuggester.FALLBACK_CATEGORY));
+        when(transactionRepository.lockUncategorized(Set.of(3L, 5L))).thenReturn(List.of(aldi, shell));
+        when(categoryRepository.getReferenceById(1L)).thenReturn(groceries);
+        when(categoryRepository.getReferenceById(2L)).thenReturn(fuel);
+        when(transactionRepository.assignCategory(any(Category.class), any())).thenReturn(1);
+
+        // Act
+        service.run();
+
+        // Assert
+        verify(transactionRepository).assignCategory(groceries, List.of(3L));
+        verify(transactionRepository).assignCategory(fuel, List.of(5L));
+        verify(monthlyRollupService).assignCategory(List.of(aldi), 1L);
+        verify(monthlyRollupService).assignCategory(List.of(shell), 2L);
+        ArgumentCaptor<TransactionChangedEvent> events = ArgumentCaptor.forClass(TransactionChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertNull(events.getAllValues().get(0).getPrevious().getCategoryId());
+        assertEquals(1L, events.getAllValues().get(0).getCurrent().getCategoryId());
+        assertTrue(events.getAllValues().get(0).getCurrent().isAutomatic());
+
+        AutoCategorizationCheckpoint progress = service.getProgress();
+        assertEquals(AutoCategorizationCheckpoint.Status.COMPLETED, progress.getStatus());
+        assertEquals(8L, progress.getLastTransactionId());
+        assertEquals(3, progress.getScanned());
+        assertEquals(2, progress.getAssigned());
+        assertFalse(service.isRunning());
+    }
+
+    @Test
+    void run_WhenPreviousRunWasInterrupted_ResumesAfterCheckpoint() {
+        // Arrange
+        AutoCategorizationCheckpoint interrupted = new AutoCategorizationCheckpoint(AutoCategorizationService.CHECKPOINT_ID);
+        interrupted.start(Instant.now());
+        interrupted.advance(40L, 40, 12, Instant.now());
+        when(checkpointRepository.findById(AutoCategorizationService.CHECKPOINT_ID)).thenReturn(Optional.of(interrupted));
+        when(transactionRepository.findUncategorizedAfter(eq(40L), any(Pageable.class))).thenReturn(List.of());
+
+        // Act
+        service.run();
+
+        // Assert
+        verify(transactionRepository, never()).findUncategorizedAfter(eq(0L), any(Pageable.class));
+        AutoCategorizationCheckpoint progress = service.getProgress();
+        assertEquals(AutoCategorizationCheckpoint.Status.COMPLETED, progress.getStatus());
+        assertEquals(40, progress.getScanned());
+        assertEquals(12, progress.getAssigned());
+    }
+
+    @Test
+    void run_WhenWriteFails_KeepsCursorAtLastCommittedPage() {
+        // Arrange
+        Transaction aldi = transaction(3L, "ALDI 12");
+        when(checkpointRepository.findById(AutoCategorizationService.CHECKPOINT_ID)).thenReturn(Optional.empty());
+        when(transactionRepository.findUncategorizedAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(aldi));
+        when(categorySuggester.suggestCategories(List.of("ALDI 12"))).thenReturn(List.of("groceries"));
+        when(transactionRepository.lockUncategorized(Set.of(3L))).thenThrow(new IllegalStateException("Lock timeout"));
+
+        // Act
+        service.run();
+
+        // Assert
+        AutoCategorizationCheckpoint progress = service.getProgress();
+        assertEquals(AutoCategorizationCheckpoint.Status.FAILED, progress.getStatus());
+        assertEquals("Lock timeout", progress.getError());
+        assertEquals(0L, progress.getLastTransactionId());
+        assertTrue(progress.isResumable());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void run_WhileConnectionPoolIsBusy_WaitsBeforeReading() {
+        // Arrange
+        AtomicInteger checks = new AtomicInteger();
+        service = service(() -> checks.incrementAndGet() <= 3);
+        when(checkpointRepository.findById(AutoCategorizationService.CHECKPOINT_ID)).thenReturn(Optional.empty());
+        when(transactionRepository.findUncategorizedAfter(anyLong(), any(Pageable.class))).thenReturn(List.of());
+
+        // Act
+        service.run();
+
+        // Assert
+        assertEquals(4, checks.get());
+        verify(transactionRepository, times(1)).findUncategorizedAfter(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void run_WhenStopped_RecordsStoppedCheckpoint() {
+        // Arrange
+        when(checkpointRepository.findById(AutoCategorizationService.CHECKPOINT_ID)).thenReturn(Optional.empty());
+        service.stop();
+
+        // Act
+        service.run();
+
+        // Assert
+        assertEquals(AutoCategorizationCheckpoint.Status.STOPPED, service.getProgress().getStatus());
+        verifyNoInteractions(categorySuggester);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.core.model.Category;
+import com.example.Personal_Budget_Tracker.core.repository.CategoryRepository;
+import com.example.Personal_Budget_Tracker.core.repository.TransactionRepository;
+import com.example.Personal_Budget_Tracker.core.repository.projection.DailyCategoryTotal;
+import com.example.Personal_Budget_Tracker.rest.dto.PDFExportRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkExportServiceTest {
+    private static final LocalDate JAN_1 = LocalDate.of(2024, 1, 1);
+    private static final LocalDate JAN_31 = LocalDate.of(2024, 1, 31);
+    private static final LocalDate FEB_1 = LocalDate.of(2024, 2, 1);
+    private static final LocalDate FEB_29 = LocalDate.of(2024, 2, 29);
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private BulkExportService bulkExportService;
+
+    @BeforeEach
+    void setUp() {
+        bulkExportService = new BulkExportService(transactionRepository, new CategoryRegistry(categoryRepository),
+            new PdfReportRenderer(new PdfDocumentFactory(1024 * 1024, ""), new PdfChartRenderer(10)), 2, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkExportService.shutdown();
+    }
+
+    @Test
+    void streamZip_RendersEveryEntryFromOneSharedQuery() throws IOException {
+        // Arrange
+        Category food = new Category("Food");
+        food.setId(1L);
+        when(categoryRepository.findAll()).thenReturn(List.of(food));
+        when(transactionRepository.sumByDayAndCategoryBetween(JAN_1, FEB_29)).thenReturn(List.of(
+            new DailyCategoryTotal(LocalDate.of(2024, 1, 5), 1L, 20.0, 1L),
+            new DailyCategoryTotal(LocalDate.of(2024, 2, 5), null, 5.0, 1L)));
+        List<PDFExportRequest> specs = List.of(
+            new PDFExportRequest(JAN_1, JAN_31, "monthly"),
+            new PDFExportRequest(FEB_1, FEB_29, "monthly"),
+            new PDFExportRequest(JAN_1, JAN_31, "category"),
+            new PDFExportRequest(JAN_1, FEB_29, "spending"),
+            new PDFExportRequest(JAN_1, JAN_31, "monthly"));
+
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bulkExportService.streamZip(specs).writeTo(out);
+
+        // Assert
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                names.add(entry.getName());
+                assertEquals("%PDF", new String(zip.readAllBytes(), 0, 4));
+            }
+        }
+        assertEquals(5, names.size());
+        assertTrue(names.contains("monthly-report-2024-01-01-to-2024-01-31.pdf"));
+        assertTrue(names.contains("monthly-report-2024-01-01-to-2024-01-31-2.pdf"));
+        assertTrue(names.contains("spending-report-2024-01-01-to-2024-02-29.pdf"));
+        verify(transactionRepository, times(1)).sumByDayAndCategoryBetween(any(), any());
+    }
+
+    @Test
+    void aggregate_UsesOnlyDaysInsideTheRange() {
+        // Arrange
+        List<DailyCategoryTotal> days = List.of(
+            new DailyCategoryTotal(LocalDate.of(2024, 1, 31), 1L, 100.0, 1L),
+            new DailyCategoryTotal(LocalDate.of(2024, 2, 1), 1L, 20.0, 2L),
+            new DailyCategoryTotal(LocalDate.of(2024, 2, 29), null, 5.0, 1L),
+            new DailyCategoryTotal(LocalDate.of(2024, 3, 1), 1L, 1000.0, 1L));
+
+        // Act
+        ReportAggregator aggregator = BulkExportService.aggregate(days, Map.of(1L, "Food"), FEB_1, FEB_29);
+
+        // Assert
+        assertEquals(25.0, aggregator.totalSpending(null));
+        assertEquals(20.0, aggregator.categoryTotals().get("Food"));
+    }
+
+    @Test
+    void streamZip_WithUnknownReportType_ThrowsBeforeQuerying() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+            () -> bulkExportService.streamZip(List.of(new PDFExportRequest(JAN_1, JAN_31, "yearly"))));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void streamZip_WithTooManyReports_Throws() {
+        // Arrange
+        List<PDFExportRequest> specs = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            specs.add(new PDFExportRequest(JAN_1, JAN_31, "monthly"));
+        }
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> bulkExportService.streamZip(specs));
+    }
+}
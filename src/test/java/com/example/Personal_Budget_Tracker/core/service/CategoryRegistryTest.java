@@ -0,0 +1,87 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.core.event.CategoryChangedEvent;
+import com.example.Personal_Budget_Tracker.core.model.Category;
+import com.example.Personal_Budget_Tracker.core.repository.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryRegistryTest {
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private CategoryRegistry categoryRegistry;
+
+    @BeforeEach
+    void setUp() {
+        categoryRegistry = new CategoryRegistry(categoryRepository);
+    }
+
+    private static Category category(long id, String name) {
+        Category category = new Category(name);
+        category.setId(id);
+        return category;
+    }
+
+    @Test
+    void snapshot_LoadsOnceAndAnswersLookups() {
+        // Arrange
+        when(categoryRepository.findAll()).thenReturn(List.of(category(1L, "Groceries"), category(2L, "Rent")));
+
+        // Act
+        CategoryRegistry.Snapshot first = categoryRegistry.snapshot();
+        CategoryRegistry.Snapshot second = categoryRegistry.snapshot();
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, first.getVersion());
+        assertEquals("Rent", first.nameOf(2L));
+        assertEquals(1L, first.idOf("Groceries"));
+        assertNull(first.nameOf(null));
+        assertNull(first.idOf("Fuel"));
+        assertEquals("groceries, rent", first.getPromptNames());
+        verify(categoryRepository, times(1)).findAll();
+    }
+
+    @Test
+    void onCategoryChanged_SwapsInNewVersion() {
+        // Arrange
+        when(categoryRepository.findAll()).thenReturn(List.of(category(1L, "Groceries")));
+        CategoryRegistry.Snapshot before = categoryRegistry.snapshot();
+        when(categoryRepository.findAll()).thenReturn(List.of(category(1L, "Food")));
+
+        // Act
+        categoryRegistry.onCategoryChanged(new CategoryChangedEvent(1L, CategoryChangedEvent.Change.UPDATED));
+        CategoryRegistry.Snapshot after = categoryRegistry.snapshot();
+
+        // Assert
+        assertEquals(2, after.getVersion());
+        assertEquals("Food", after.nameOf(1L));
+        // Readers holding the old snapshot keep a consistent view
+        assertEquals("Groceries", before.nameOf(1L));
+    }
+
+    @Test
+    void snapshot_IsNotChangedThroughLoadedEntities() {
+        // Arrange
+        Category groceries = category(1L, "Groceries");
+        when(categoryRepository.findAll()).thenReturn(List.of(groceries));
+        CategoryRegistry.Snapshot snapshot = categoryRegistry.snapshot();
+
+        // Act
+        groceries.setName("Renamed");
+
+        // Assert
+        assertEquals("Groceries", snapshot.getCategories().get(0).getName());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getCategories().add(groceries));
+    }
+}
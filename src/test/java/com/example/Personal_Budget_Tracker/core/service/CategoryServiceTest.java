@@ -1,14 +1,17 @@
 package com.example.Personal_Budget_Tracker.core.service;
 
 import com.example.Personal_Budget_Tracker.core.api.categorysuggester.CategorySuggester;
+import com.example.Personal_Budget_Tracker.core.event.CategoryChangedEvent;
 import com.example.Personal_Budget_Tracker.core.model.Category;
 import com.example.Personal_Budget_Tracker.core.repository.CategoryRepository;
+import com.example.Personal_Budget_Tracker.core.repository.MerchantRuleRepository;
 import com.example.Personal_Budget_Tracker.core.repository.TransactionRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -28,6 +31,15 @@ class CategoryServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
     
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CategoryRegistry categoryRegistry;
+
+    @Mock
+    private MerchantRuleRepository merchantRuleRepository;
+    
     @InjectMocks
     private CategoryService categoryService;
     
@@ -38,7 +50,7 @@ class CategoryServiceTest {
             createCategory(1L, "Groceries"),
             createCategory(2L, "Entertainment")
         );
-        when(categoryRepository.findAll()).thenReturn(categories);
+        when(categoryRegistry.snapshot()).thenReturn(new CategoryRegistry.Snapshot(1, categories));
         
         // Act
         List<Category> result = categoryService.getAllCategories();
@@ -46,7 +58,7 @@ class CategoryServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(categoryRepository).findAll();
+        verify(categoryRepository, never()).findAll();
     }
     
     @Test
@@ -118,7 +130,9 @@ class CategoryServiceTest {
         categoryService.deleteCategory(categoryId);
         
         // Assert
+        verify(merchantRuleRepository).deleteByCategoryId(categoryId);
         verify(categoryRepository).deleteById(categoryId);
+        verify(eventPublisher).publishEvent(any(CategoryChangedEvent.class));
     }
     
     private Category createCategory(Long id, String name) {
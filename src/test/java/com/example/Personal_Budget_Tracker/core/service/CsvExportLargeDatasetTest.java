@@ -0,0 +1,75 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.core.repository.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs only with -Plarge-dataset. Exports every one of the million rows through the
+ * capped heap; the output is counted, not kept, so only the export itself uses memory.
+ */
+@Tag("large-dataset")
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:file:./target/large-dataset/reports;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false",
+    "logging.level.org.hibernate=WARN",
+    "reports.scan.streaming=true",
+    "reports.index.enabled=false"
+})
+@ActiveProfiles("test")
+class CsvExportLargeDatasetTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CsvExportService csvExportService;
+
+    @BeforeEach
+    void seed() {
+        LargeDataset.seed(jdbcTemplate, categoryRepository);
+    }
+
+    @Test
+    void transactionsCsv_StreamsEveryRowWithinCappedHeap() throws IOException {
+        // Arrange
+        LineCounter counter = new LineCounter();
+
+        // Act
+        csvExportService.streamTransactions(LargeDataset.START, LargeDataset.END).writeTo(counter);
+
+        // Assert
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transaction", Integer.class);
+        assertEquals(rows + 1, counter.lines);
+    }
+
+    private static class LineCounter extends OutputStream {
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.core.repository.TransactionRepository;
+import com.example.Personal_Budget_Tracker.core.repository.projection.TransactionExportRow;
+import com.example.Personal_Budget_Tracker.rest.dto.MonthlyReportResponse;
+import com.example.Personal_Budget_Tracker.rest.dto.MonthlySpendingDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CsvExportServiceTest {
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 1, 31);
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private ReportService reportService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CsvExportService csvExportService;
+
+    @BeforeEach
+    void setUp() {
+        csvExportService = new CsvExportService(transactionRepository, reportService, transactionManager);
+    }
+
+    private static String write(StreamingResponseBody body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void streamTransactions_QueriesOnlyWhenWrittenAndEscapesCells() throws IOException {
+        // Arrange
+        when(transactionRepository.streamExportRows(START, END)).thenReturn(Stream.of(
+            new TransactionExportRow(1L, START, "Expense", "Coffee, large", "Food", 3.5),
+            new TransactionExportRow(2L, END, "Expense", "Say \"hi\"", null, 12000000.0)));
+
+        // Act
+        StreamingResponseBody body = csvExportService.streamTransactions(START, END);
+        verifyNoInteractions(transactionRepository);
+        String csv = write(body);
+
+        // Assert
+        assertEquals("id,date,type,description,category,amount\r\n" +
+            "1,2024-01-01,Expense,\"Coffee, large\",Food,3.5\r\n" +
+            "2,2024-01-31,Expense,\"Say \"\"hi\"\"\",,12000000\r\n", csv);
+    }
+
+    @Test
+    void streamTransactions_NeutralizesFormulaCells() throws IOException {
+        // Arrange
+        when(transactionRepository.streamExportRows(START, END)).thenReturn(Stream.of(
+            new TransactionExportRow(1L, START, "Expense", "=HYPERLINK(\"http://x\",\"y\")", "@Food", -3.5),
+            new TransactionExportRow(2L, END, "Expense", "+1 refund", "-Misc", 2.0)));
+
+        // Act
+        String csv = write(csvExportService.streamTransactions(START, END));
+
+        // Assert
+        assertEquals("id,date,type,description,category,amount\r\n" +
+            "1,2024-01-01,Expense,\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\",'@Food,-3.5\r\n" +
+            "2,2024-01-31,Expense,'+1 refund,'-Misc,2.0\r\n", csv);
+    }
+
+    @Test
+    void streamCategoryReport_WritesOneRowPerCategory() throws IOException {
+        // Arrange
+        Map<String, Double> totals = new LinkedHashMap<>();
+        totals.put("Rent", 1000.0);
+        totals.put("Food", 42.25);
+        when(reportService.generateCategoryReport(START, END)).thenReturn(Map.of("categoryTotals", totals));
+
+        // Act
+        String csv = write(csvExportService.streamCategoryReport(START, END));
+
+        // Assert
+        assertEquals("category,total\r\nRent,1000.0\r\nFood,42.25\r\n", csv);
+    }
+
+    @Test
+    void streamMonthlySpending_WritesBreakdown() throws IOException {
+        // Arrange
+        when(reportService.getMonthlySpending(START, END, null)).thenReturn(new MonthlyReportResponse(START, END, 10.0,
+            List.of(new MonthlySpendingDTO("Food", 10.0, 100.0, 2))));
+
+        // Act
+        String csv = write(csvExportService.streamMonthlySpending(START, END, null));
+
+        // Assert
+        assertEquals("category,amount,percentage,transactionCount\r\nFood,10.0,100.0,2\r\n", csv);
+    }
+
+    @Test
+    void gzip_CompressesWholeBody() throws IOException {
+        // Arrange
+        StreamingResponseBody body = out -> out.write("a,b\r\n".repeat(1000).getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvExportService.gzip(body).writeTo(out);
+
+        // Assert
+        assertTrue(out.size() < 5000);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals("a,b\r\n".repeat(1000), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+}
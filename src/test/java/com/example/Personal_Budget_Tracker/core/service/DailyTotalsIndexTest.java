@@ -0,0 +1,230 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.core.event.ReportDataRebuiltEvent;
+import com.example.Personal_Budget_Tracker.core.event.TransactionChangedEvent;
+import com.example.Personal_Budget_Tracker.core.repository.TransactionRepository;
+import com.example.Personal_Budget_Tracker.core.repository.projection.DailyCategoryTotal;
+import com.example.Personal_Budget_Tracker.core.repository.projection.DateSpan;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DailyTotalsIndexTest {
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private DailyTotalsIndex index;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        index = new DailyTotalsIndex(transactionRepository, true, 20000, Duration.ofSeconds(60), () -> now);
+    }
+
+    @Test
+    void whenQueried_thenSumOnlyDaysInRange() {
+        // Arrange
+        when(transactionRepository.sumByDayAndCategory()).thenReturn(Arrays.asList(
+            new DailyCategoryTotal(LocalDate.of(2024, 1, 5), 1L, 10.0, 1L),
+            new DailyCategoryTotal(LocalDate.of(2024, 1, 20), 1L, 20.0, 2L),
+            new DailyCategoryTotal(LocalDate.of(2024, 2, 3), 1L, 40.0, 1L),
+            new DailyCategoryTotal(LocalDate.of(2024, 1, 20), null, 5.0, 1L)
+        ));
+
+        // Act
+        Map<Long, DailyTotalsIndex.RangeTotal> totals = index.sumByCategory(
+            LocalDate.of(2024, 1, 6), LocalDate.of(2024, 2, 3)).orElseThrow();
+
+        // Assert
+        assertEquals(60.0, totals.get(1L).getTotal());
+        assertEquals(3L, totals.get(1L).getCount());
+        assertEquals(5.0, totals.get(null).getTotal());
+    }
+
+    @Test
+    void whenCategoryHasNothingInRange_thenOmitIt() {
+        // Arrange
+        when(transactionRepository.sumByDayAndCategory()).thenReturn(Arrays.asList(
+            new DailyCategoryTotal(LocalDate.of(2024, 1, 5), 1L, 10.0, 1L),
+            new DailyCategoryTotal(LocalDate.of(2024, 3, 5), 2L, 10.0, 1L)
+        ));
+
+        // Act
+        Map<Long, DailyTotalsIndex.RangeTotal> totals = index.sumByCategory(
+            LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31)).orElseThrow();
+
+        // Assert
+        assertEquals(1, totals.size());
+        assertTrue(totals.containsKey(2L));
+    }
+
+    @Test
+    void whenTransactionMoves_thenApplyDeltaWithoutRebuilding() {
+        // Arrange
+        when(transactionRepository.sumByDayAndCategory()).thenReturn(Arrays.asList(
+            new DailyCategoryTotal(LocalDate.of(2024, 1, 5), 1L, 10.0, 1L)
+        ));
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = LocalDate.of(2024, 1, 31);
+        index.sumByCategory(start, end);
+
+        // Act
+        index.onTransactionChanged(new TransactionChangedEvent(
+            new TransactionChangedEvent.Snapshot(LocalDate.of(2024, 1, 5), 1L, 10.0),
+            new TransactionChangedEvent.Snapshot(LocalDate.of(2024, 1, 9), 2L, 15.0)));
+        Map<Long, DailyTotalsIndex.RangeTotal> totals = index.sumByCategory(start, end).orElseThrow();
+
+        // Assert
+        assertFalse(totals.containsKey(1L));
+        assertEquals(15.0, totals.get(2L).getTotal());
+        verify(transactionRepository, times(1)).sumByDayAndCategory();
+    }
+
+    @Test
+    void whenReportIsCachedBetweenCommitAndCacheInvalidation_thenItHoldsTheNewTotal() {
+        // Arrange
+        when(transactionRepository.sumByDayAndCategory()).thenReturn(Arrays.asList(
+            new DailyCategoryTotal(LocalDate.of(2024, 1, 5), 1L, 10.0, 1L)
+        ));
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = LocalDate.of(2024, 1, 31);
+        ReportCache cache = new ReportCache(10);
+        Supplier<Double> report = () -> cache.get("daily", start, end, null,
+            () -> index.sumByCategory(start, end).orElseThrow().get(1L).getTotal());
+        assertEquals(10.0, report.get());
+        TransactionChangedEvent event = new TransactionChangedEvent(null,
+            new TransactionChangedEvent.Snapshot(LocalDate.of(2024, 1, 9), 1L, 15.0));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Stands in for ReportCache's after-commit listener, registered first as the worst case,
+            // with a report request landing right after it invalidates
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.onTransactionChanged(event);
+                    report.get();
+                }
+            });
+            index.onTransactionChanged(event);
+
+            // Act
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertEquals(25.0, report.get());
+    }
+
+    @Test
+    void whenChangeFallsOutsideIndexedDays_thenRebuildOnNextQuery() {
+        // Arrange
+        when(transactionRepository.sumByDayAndCategory()).thenReturn(Arrays.asList(
+            new DailyCategoryTotal(LocalDate.of(2024, 1, 5), 1L, 10.0, 1L)
+        ));
+        index.sumByCategory(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+
+        // Act
+        index.onTransactionChanged(new TransactionChangedEvent(null,
+            new TransactionChangedEvent.Snapshot(LocalDate.of(1990, 1, 1), 1L, 10.0)));
+        index.sumByCategory(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+
+        // Assert
+        verify(transactionRepository, times(2)).sumByDayAndCategory();
+    }
+
+    @Test
+    void whenDateSpanTooWide_thenSkipScanUntilRetryInterval() {
+        // Arrange
+        when(transactionRepository.findDateSpan()).thenReturn(
+            new DateSpan(LocalDate.of(1024, 1, 1), LocalDate.of(2024, 1, 1)));
+
+        // Act
+        Optional<Map<Long, DailyTotalsIndex.RangeTotal>> first =
+            index.sumByCategory(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+        index.sumByCategory(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+        now += Duration.ofSeconds(61).toNanos();
+        index.sumByCategory(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+
+        // Assert
+        assertTrue(first.isEmpty());
+        verify(transactionRepository, times(2)).findDateSpan();
+        verify(transactionRepository, never()).sumByDayAndCategory();
+    }
+
+    @Test
+    void whenBuildFailed_thenRetryAfterNextWrite() {
+        // Arrange
+        when(transactionRepository.sumByDayAndCategory()).thenReturn(List.of(
+            new DailyCategoryTotal(LocalDate.of(1024, 1, 1), 1L, 10.0, 1L)
+        ), List.of(
+            new DailyCategoryTotal(LocalDate.of(2024, 1, 5), 1L, 10.0, 1L)
+        ));
+        index.sumByCategory(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+        index.sumByCategory(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+
+        // Act
+        index.onTransactionChanged(new TransactionChangedEvent(
+            new TransactionChangedEvent.Snapshot(LocalDate.of(1024, 1, 1), 1L, 10.0), null));
+        Optional<Map<Long, DailyTotalsIndex.RangeTotal>> totals =
+            index.sumByCategory(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+
+        // Assert
+        assertEquals(10.0, totals.orElseThrow().get(1L).getTotal());
+        verify(transactionRepository, times(2)).sumByDayAndCategory();
+    }
+
+    @Test
+    void whenReportDataRebuilt_thenRebuildOnNextQuery() {
+        // Arrange
+        when(transactionRepository.sumByDayAndCategory()).thenReturn(List.of(
+            new DailyCategoryTotal(LocalDate.of(2024, 1, 5), 1L, 10.0, 1L)
+        ), List.of(
+            new DailyCategoryTotal(LocalDate.of(2024, 1, 5), 1L, 25.0, 2L)
+        ));
+        index.sumByCategory(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+
+        // Act
+        index.onReportDataRebuilt(new ReportDataRebuiltEvent(1));
+        Map<Long, DailyTotalsIndex.RangeTotal> totals =
+            index.sumByCategory(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)).orElseThrow();
+
+        // Assert
+        assertEquals(25.0, totals.get(1L).getTotal());
+        verify(transactionRepository, times(2)).sumByDayAndCategory();
+    }
+
+    @Test
+    void whenDisabled_thenNeverBuild() {
+        // Arrange
+        DailyTotalsIndex disabled = new DailyTotalsIndex(transactionRepository, false, 20000, Duration.ofSeconds(60), () -> now);
+
+        // Act
+        Optional<Map<Long, DailyTotalsIndex.RangeTotal>> totals =
+            disabled.sumByCategory(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+
+        // Assert
+        assertTrue(totals.isEmpty());
+        verifyNoInteractions(transactionRepository);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportJobServiceTest {
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 1, 31);
+
+    @Mock
+    private PDFExportService pdfExportService;
+
+    @TempDir
+    Path directory;
+
+    private ExportJobService exportJobService;
+
+    @AfterEach
+    void tearDown() {
+        exportJobService.shutdown();
+    }
+
+    @Test
+    void whenSubmitted_thenRenderToFileInBackground() throws Exception {
+        // Arrange
+        exportJobService = new ExportJobService(pdfExportService, directory.toString(), 1, 4, 30);
+        when(pdfExportService.streamReportPDF(START, END, null)).thenReturn(out -> out.write("%PDF-test".getBytes()));
+
+        // Act
+        ExportJob job = exportJobService.submit("monthly", START, END, null);
+        awaitFinished(job);
+
+        // Assert
+        assertEquals(ExportJob.Status.COMPLETED, job.getStatus());
+        assertEquals("%PDF-test", Files.readString(job.getFile()));
+        assertEquals("monthly-report-2024-01-01-to-2024-01-31.pdf", job.getFilename());
+    }
+
+    @Test
+    void whenStarted_thenDeleteFilesLeftByPreviousRun() throws Exception {
+        // Arrange
+        Path finished = Files.writeString(directory.resolve("0b7c-previous.pdf"), "%PDF-old");
+        Path partial = Files.writeString(directory.resolve("5d1e-previous.pdf.part"), "%PDF");
+        Path unrelated = Files.writeString(directory.resolve("notes.txt"), "keep");
+
+        // Act
+        exportJobService = new ExportJobService(pdfExportService, directory.toString(), 1, 4, 30);
+
+        // Assert
+        assertFalse(Files.exists(finished));
+        assertFalse(Files.exists(partial));
+        assertTrue(Files.exists(unrelated));
+    }
+
+    @Test
+    void whenRenderingFails_thenMarkJobFailedAndLeaveNoFile() throws Exception {
+        // Arrange
+        exportJobService = new ExportJobService(pdfExportService, directory.toString(), 1, 4, 30);
+        when(pdfExportService.streamReportPDF(any(), any(), any())).thenThrow(new RuntimeException("boom"));
+
+        // Act
+        ExportJob job = exportJobService.submit("monthly", START, END, null);
+        awaitFinished(job);
+
+        // Assert
+        assertEquals(ExportJob.Status.FAILED, job.getStatus());
+        assertEquals("boom", job.getError());
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void whenQueueIsFull_thenRejectAndForgetJob() throws Exception {
+        // Arrange: one worker blocked, one queue slot taken
+        exportJobService = new ExportJobService(pdfExportService, directory.toString(), 1, 1, 30);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(pdfExportService.streamReportPDF(any(), any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return (StreamingResponseBody) out -> out.write(1);
+        });
+        exportJobService.submit("monthly", START, END, null);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        exportJobService.submit("monthly", START, END, null);
+
+        // Act & Assert
+        assertThrows(RejectedExecutionException.class,
+            () -> exportJobService.submit("monthly", START, END, null));
+        release.countDown();
+    }
+
+    @Test
+    void whenTtlPassed_thenDeleteFileAndJob() throws Exception {
+        // Arrange
+        exportJobService = new ExportJobService(pdfExportService, directory.toString(), 1, 4, 30);
+        when(pdfExportService.streamReportPDF(START, END, null)).thenReturn(out -> out.write(1));
+        ExportJob job = exportJobService.submit("monthly", START, END, null);
+        awaitFinished(job);
+
+        // Act
+        exportJobService.purgeExpired(Instant.now().plus(Duration.ofMinutes(10)));
+        assertTrue(exportJobService.getJob(job.getId()).isPresent());
+        exportJobService.purgeExpired(Instant.now().plus(Duration.ofMinutes(31)));
+
+        // Assert
+        assertTrue(exportJobService.getJob(job.getId()).isEmpty());
+        assertFalse(Files.exists(job.getFile()));
+    }
+
+    private static void awaitFinished(ExportJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (job.getFinishedAt() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
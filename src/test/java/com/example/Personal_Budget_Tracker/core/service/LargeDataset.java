@@ -0,0 +1,38 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.core.model.Category;
+import com.example.Personal_Budget_Tracker.core.repository.CategoryRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+
+/**
+ * The million-row data set shared by the large-dataset tests. It is seeded once into their
+ * file-backed H2 database and reused by later runs.
+ */
+final class LargeDataset {
+    static final int ROWS = 1_000_000;
+    static final LocalDate START = LocalDate.of(2010, 1, 1);
+    static final LocalDate END = LocalDate.of(2019, 12, 31);
+
+    private LargeDataset() {
+    }
+
+    static void seed(JdbcTemplate jdbcTemplate, CategoryRepository categoryRepository) {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transaction", Integer.class);
+        if (existing != null && existing >= ROWS) {
+            return;
+        }
+        Long firstCategoryId = null;
+        for (int i = 0; i < 5; i++) {
+            Long id = categoryRepository.save(new Category("Synthetic" + i)).getId();
+            firstCategoryId = firstCategoryId == null ? id : firstCategoryId;
+        }
+        // One row in six is uncategorized; dates cycle through ten years
+        jdbcTemplate.update(
+            "INSERT INTO transaction (amount, type, description, date, category_id) " +
+            "SELECT MOD(X, 100) + 0.5, 'Expense', 'Synthetic', DATEADD('DAY', MOD(X, 3650), DATE '2010-01-01'), " +
+            "CASE WHEN MOD(X, 6) = 5 THEN NULL ELSE ? + MOD(X, 6) END " +
+            "FROM SYSTEM_RANGE(1, ?)", firstCategoryId, ROWS);
+    }
+}
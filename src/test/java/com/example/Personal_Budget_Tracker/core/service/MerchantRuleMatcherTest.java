@@ -0,0 +1,172 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.core.event.CategoryChangedEvent;
+import com.example.Personal_Budget_Tracker.core.event.MerchantRuleChangedEvent;
+import com.example.Personal_Budget_Tracker.core.model.Category;
+import com.example.Personal_Budget_Tracker.core.model.MerchantRule;
+import com.example.Personal_Budget_Tracker.core.repository.CategoryRepository;
+import com.example.Personal_Budget_Tracker.core.repository.MerchantRuleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MerchantRuleMatcherTest {
+    private static final long GROCERIES = 1L;
+    private static final long FUEL = 2L;
+
+    @Mock
+    private MerchantRuleRepository merchantRuleRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private CategoryRegistry categoryRegistry;
+    private MerchantRuleMatcher matcher;
+
+    @BeforeEach
+    void setUp() {
+        when(categoryRepository.findAll()).thenReturn(List.of(category(GROCERIES, "Groceries"), category(FUEL, "Fuel")));
+        categoryRegistry = new CategoryRegistry(categoryRepository);
+        matcher = new MerchantRuleMatcher(merchantRuleRepository, categoryRegistry);
+    }
+
+    private static Category category(long id, String name) {
+        Category category = new Category(name);
+        category.setId(id);
+        return category;
+    }
+
+    private static MerchantRule rule(long id, String keyword, long categoryId) {
+        MerchantRule rule = new MerchantRule(keyword, categoryId);
+        rule.setId(id);
+        return rule;
+    }
+
+    private void rules(MerchantRule... rules) {
+        when(merchantRuleRepository.findAll(any(Sort.class))).thenReturn(List.of(rules));
+    }
+
+    private static List<Long> ids(List<MerchantRule> rules) {
+        return rules.stream().map(MerchantRule::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void matchAll_MatchesWholeWordsIgnoringCaseAndPunctuation() {
+        // Arrange
+        rules(rule(1, "Whole Foods", GROCERIES), rule(2, "shell", FUEL));
+
+        // Act
+        List<MerchantRule> wholeFoods = matcher.matchAll("WHOLE-FOODS MKT #102");
+        List<MerchantRule> bombshell = matcher.matchAll("Bombshell cosmetics");
+        List<MerchantRule> shellAtEnd = matcher.matchAll("pos purchase: SHELL");
+
+        // Assert
+        assertEquals(List.of(1L), ids(wholeFoods));
+        assertTrue(bombshell.isEmpty());
+        assertEquals(List.of(2L), ids(shellAtEnd));
+    }
+
+    @Test
+    void matchAll_FindsEveryOverlappingRuleInOnePass() {
+        // Arrange
+        rules(rule(1, "shell", FUEL), rule(2, "shell oil", FUEL), rule(3, "oil", FUEL), rule(4, "aldi", GROCERIES));
+
+        // Act
+        List<MerchantRule> matches = matcher.matchAll("SHELL OIL 5741 at aldi");
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(matches));
+    }
+
+    @Test
+    void bestMatch_PrefersLongestKeywordThenOldestRule() {
+        // Arrange
+        rules(rule(1, "shell", GROCERIES), rule(2, "shell oil", FUEL), rule(3, "oil co", GROCERIES),
+            rule(4, "aldi", GROCERIES), rule(5, "ALDI", FUEL));
+
+        // Act & Assert
+        assertEquals(2L, matcher.bestMatch("Shell Oil Co 12").orElseThrow().getId());
+        assertEquals(4L, matcher.bestMatch("Aldi").orElseThrow().getId());
+        assertTrue(matcher.bestMatch("Netflix").isEmpty());
+    }
+
+    @Test
+    void onMerchantRuleChanged_SwapsInRebuiltRules() {
+        // Arrange
+        rules(rule(1, "shell", FUEL));
+        assertEquals(1, matcher.matchAll("shell").size());
+        rules(rule(2, "chevron", FUEL));
+
+        // Act
+        matcher.onMerchantRuleChanged(new MerchantRuleChangedEvent(2L, MerchantRuleChangedEvent.Change.CREATED));
+
+        // Assert
+        assertTrue(matcher.matchAll("shell").isEmpty());
+        assertEquals(List.of(2L), ids(matcher.matchAll("Chevron 0042")));
+        verify(merchantRuleRepository, times(2)).findAll(any(Sort.class));
+    }
+
+    @Test
+    void onCategoryChanged_WhenDeleted_DropsRulesOfCategory() {
+        // Arrange
+        rules(rule(1, "shell", FUEL), rule(2, "aldi", GROCERIES));
+        assertEquals(1, matcher.matchAll("shell").size());
+        when(categoryRepository.findAll()).thenReturn(List.of(category(GROCERIES, "Groceries")));
+        CategoryChangedEvent event = new CategoryChangedEvent(FUEL, CategoryChangedEvent.Change.DELETED);
+
+        // Act
+        categoryRegistry.onCategoryChanged(event);
+        matcher.onCategoryChanged(event);
+
+        // Assert
+        assertTrue(matcher.matchAll("shell").isEmpty());
+        assertEquals(List.of(2L), ids(matcher.matchAll("aldi")));
+    }
+
+    @Test
+    void matchAll_AgreesWithNaiveSearchOnRandomInput() {
+        // Arrange
+        Random random = new Random(42);
+        String[] words = {"a", "ab", "b", "ba", "abc", "c", "cab", "bc"};
+        List<MerchantRule> rules = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            StringBuilder keyword = new StringBuilder(words[random.nextInt(words.length)]);
+            for (int w = random.nextInt(3); w > 0; w--) {
+                keyword.append(' ').append(words[random.nextInt(words.length)]);
+            }
+            rules.add(rule(i + 1, keyword.toString(), GROCERIES));
+        }
+        rules(rules.toArray(new MerchantRule[0]));
+
+        for (int t = 0; t < 500; t++) {
+            StringBuilder description = new StringBuilder();
+            for (int w = random.nextInt(8); w >= 0; w--) {
+                description.append(words[random.nextInt(words.length)]).append(random.nextBoolean() ? " " : "-#");
+            }
+
+            // Act
+            List<Long> found = ids(matcher.matchAll(description.toString()));
+
+            // Assert
+            String padded = " " + TextNormalizer.normalize(description.toString()) + " ";
+            List<Long> expected = rules.stream()
+                .filter(rule -> padded.contains(" " + TextNormalizer.normalize(rule.getKeyword()) + " "))
+                .map(MerchantRule::getId)
+                .collect(Collectors.toList());
+            assertEquals(expected, found, description.toString());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.core.event.MerchantRuleChangedEvent;
+import com.example.Personal_Budget_Tracker.core.model.Category;
+import com.example.Personal_Budget_Tracker.core.model.MerchantRule;
+import com.example.Personal_Budget_Tracker.core.repository.MerchantRuleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MerchantRuleServiceTest {
+
+    @Mock
+    private MerchantRuleRepository merchantRuleRepository;
+
+    @Mock
+    private CategoryRegistry categoryRegistry;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private MerchantRuleService merchantRuleService;
+
+    @BeforeEach
+    void setUp() {
+        Category fuel = new Category("Fuel");
+        fuel.setId(2L);
+        // Rules rejected for their keyword never reach the category check
+        lenient().when(categoryRegistry.snapshot()).thenReturn(new CategoryRegistry.Snapshot(1, List.of(fuel)));
+    }
+
+    @Test
+    void createRule_WithKnownCategory_SavesAndPublishesEvent() {
+        // Arrange
+        MerchantRule rule = new MerchantRule("Shell", 2L);
+        MerchantRule saved = new MerchantRule("Shell", 2L);
+        saved.setId(7L);
+        when(merchantRuleRepository.save(rule)).thenReturn(saved);
+
+        // Act
+        MerchantRule created = merchantRuleService.createRule(rule);
+
+        // Assert
+        assertEquals(7L, created.getId());
+        ArgumentCaptor<MerchantRuleChangedEvent> event = ArgumentCaptor.forClass(MerchantRuleChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(7L, event.getValue().getRuleId());
+        assertEquals(MerchantRuleChangedEvent.Change.CREATED, event.getValue().getChange());
+    }
+
+    @Test
+    void createRule_WithPunctuationOnlyKeyword_ThrowsIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+            () -> merchantRuleService.createRule(new MerchantRule(" #*- ", 2L)));
+        verify(merchantRuleRepository, never()).save(any());
+    }
+
+    @Test
+    void createRule_WithUnknownCategory_ThrowsIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+            () -> merchantRuleService.createRule(new MerchantRule("Shell", 99L)));
+        verify(merchantRuleRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void updateRule_WhenNotFound_ThrowsRuntimeException() {
+        // Arrange
+        when(merchantRuleRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        RuntimeException e = assertThrows(RuntimeException.class,
+            () -> merchantRuleService.updateRule(1L, new MerchantRule("Shell", 2L)));
+        assertTrue(e.getMessage().contains("not found"));
+    }
+
+    @Test
+    void deleteRule_RemovesRuleAndPublishesEvent() {
+        // Arrange
+        when(merchantRuleRepository.existsById(3L)).thenReturn(true);
+
+        // Act
+        merchantRuleService.deleteRule(3L);
+
+        // Assert
+        verify(merchantRuleRepository).deleteById(3L);
+        verify(eventPublisher).publishEvent(any(MerchantRuleChangedEvent.class));
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.core.event.ReportDataRebuiltEvent;
+import com.example.Personal_Budget_Tracker.core.model.Category;
+import com.example.Personal_Budget_Tracker.core.model.MonthlyCategoryRollup;
+import com.example.Personal_Budget_Tracker.core.model.Transaction;
+import com.example.Personal_Budget_Tracker.core.repository.MonthlyCategoryRollupRepository;
+import com.example.Personal_Budget_Tracker.core.repository.TransactionRepository;
+import com.example.Personal_Budget_Tracker.core.repository.projection.MonthlyCategoryTotal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MonthlyRollupServiceTest {
+    @Mock
+    private MonthlyCategoryRollupRepository rollupRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private MonthlyRollupService monthlyRollupService;
+
+    @Test
+    void whenAdd_thenUpsertRollupRowInOneStatement() {
+        // Arrange
+        Transaction transaction = createTransaction(100.0, LocalDate.of(2024, 3, 15), 7L);
+
+        // Act
+        monthlyRollupService.add(transaction);
+
+        // Assert
+        verify(rollupRepository).upsertDelta(202403, 7L, "Expense", 100.0, 1L);
+        verify(rollupRepository, never()).applyDelta(anyInt(), any(), any(), anyDouble(), anyLong());
+        verify(rollupRepository, never()).save(any());
+    }
+
+    @Test
+    void whenAddUncategorized_thenKeyRowByUncategorizedSentinel() {
+        // Arrange
+        Transaction transaction = createTransaction(100.0, LocalDate.of(2024, 3, 15), null);
+
+        // Act
+        monthlyRollupService.add(transaction);
+
+        // Assert
+        verify(rollupRepository).upsertDelta(202403, MonthlyCategoryRollup.UNCATEGORIZED, "Expense", 100.0, 1L);
+    }
+
+    @Test
+    void whenAssignCategory_thenMoveTotalsWithOneDeltaPerMonthAndType() {
+        // Arrange
+        List<Transaction> uncategorized = Arrays.asList(
+                createTransaction(100.0, LocalDate.of(2024, 3, 15), null),
+                createTransaction(50.0, LocalDate.of(2024, 3, 20), null),
+                createTransaction(25.0, LocalDate.of(2024, 4, 1), null));
+
+        // Act
+        monthlyRollupService.assignCategory(uncategorized, 7L);
+
+        // Assert
+        verify(rollupRepository).applyDelta(202403, MonthlyCategoryRollup.UNCATEGORIZED, "Expense", -150.0, -2L);
+        verify(rollupRepository).upsertDelta(202403, 7L, "Expense", 150.0, 2L);
+        verify(rollupRepository).applyDelta(202404, MonthlyCategoryRollup.UNCATEGORIZED, "Expense", -25.0, -1L);
+        verify(rollupRepository).upsertDelta(202404, 7L, "Expense", 25.0, 1L);
+        verify(rollupRepository, never()).save(any());
+    }
+
+    @Test
+    void whenRemove_thenDecrementAndDropEmptyRows() {
+        // Arrange
+        Transaction transaction = createTransaction(100.0, LocalDate.of(2024, 3, 15), 7L);
+        when(rollupRepository.applyDelta(202403, 7L, "Expense", -100.0, -1L)).thenReturn(1);
+
+        // Act
+        monthlyRollupService.remove(transaction);
+
+        // Assert
+        verify(rollupRepository).deleteEmpty(202403);
+        verify(rollupRepository, never()).save(any());
+    }
+
+    @Test
+    void whenRangeCoversWholeMonths_thenReadOnlyRollup() {
+        // Arrange
+        when(rollupRepository.sumByPeriodBetween(202401, 202403)).thenReturn(Arrays.asList(
+            new MonthlyCategoryTotal(202401, "Groceries", 50.0, 2L)
+        ));
+
+        // Act
+        List<MonthlyCategoryTotal> totals = monthlyRollupService.getTotals(
+            LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31));
+
+        // Assert
+        assertEquals(1, totals.size());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void whenRangeHasPartialMonths_thenScanOnlyTheEdges() {
+        // Arrange
+        when(transactionRepository.sumByCategory(any(), any())).thenReturn(Collections.emptyList());
+
+        // Act
+        monthlyRollupService.getTotals(LocalDate.of(2024, 1, 10), LocalDate.of(2024, 4, 5));
+
+        // Assert
+        verify(transactionRepository).sumByCategory(LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 31));
+        verify(transactionRepository).sumByCategory(LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 5));
+        verify(rollupRepository).sumByPeriodBetween(202402, 202403);
+    }
+
+    @Test
+    void whenRangeIsInsideOneMonth_thenScanItDirectly() {
+        // Arrange
+        when(transactionRepository.sumByCategory(any(), any())).thenReturn(Collections.emptyList());
+
+        // Act
+        monthlyRollupService.getTotals(LocalDate.of(2024, 2, 3), LocalDate.of(2024, 2, 20));
+
+        // Assert
+        verify(transactionRepository).sumByCategory(LocalDate.of(2024, 2, 3), LocalDate.of(2024, 2, 20));
+        verify(rollupRepository, never()).sumByPeriodBetween(anyInt(), anyInt());
+    }
+
+    @Test
+    void whenRebuild_thenReplaceRollupWithSummary() {
+        // Arrange
+        List<MonthlyCategoryRollup> summary = Arrays.asList(
+            new MonthlyCategoryRollup(202401, 1L, "Expense", 10.0, 1L),
+            new MonthlyCategoryRollup(202402, null, "Income", 20.0, 2L)
+        );
+        when(transactionRepository.summarizeByMonthCategoryAndType()).thenReturn(summary);
+
+        // Act
+        int rows = monthlyRollupService.rebuild();
+
+        // Assert
+        assertEquals(2, rows);
+        verify(rollupRepository).deleteAllInBatch();
+        verify(rollupRepository).saveAll(summary);
+        verify(eventPublisher).publishEvent(any(ReportDataRebuiltEvent.class));
+    }
+
+    private Transaction createTransaction(Double amount, LocalDate date, Long categoryId) {
+        Category category = null;
+        if (categoryId != null) {
+            category = new Category("Groceries");
+            category.setId(categoryId);
+        }
+        return new Transaction(amount, "Expense", "Test", date, category);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaginatedPdfWriterTest {
+    private static final float[] COLUMNS = {0, 150};
+    private static final String[] HEADERS = {"Category", "Amount"};
+
+    @Test
+    void rowsBeyondOnePage_StartNewPagesWithRepeatedHeaders() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            try (PaginatedPdfWriter writer = new PaginatedPdfWriter(document, PDRectangle.A4, 50, "Footer")) {
+                writer.line("Title", PDType1Font.HELVETICA_BOLD, 16, 24);
+                writer.beginTable(COLUMNS, HEADERS, 12, 18);
+                for (int i = 0; i < 2000; i++) {
+                    writer.row("Row" + i, String.valueOf(i));
+                }
+                writer.endTable();
+            }
+
+            assertTrue(document.getNumberOfPages() > 10);
+            PDFTextStripper stripper = new PDFTextStripper();
+            for (int page = 1; page <= document.getNumberOfPages(); page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                String text = stripper.getText(document);
+                assertTrue(text.contains("Category"), "header missing on page " + page);
+                assertTrue(text.contains("Footer"), "footer missing on page " + page);
+            }
+            stripper.setStartPage(document.getNumberOfPages());
+            stripper.setEndPage(document.getNumberOfPages());
+            assertTrue(stripper.getText(document).contains("Row1999"));
+        }
+    }
+
+    @Test
+    void shortContent_FitsOnOnePage() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            try (PaginatedPdfWriter writer = new PaginatedPdfWriter(document, PDRectangle.LETTER, 50, null)) {
+                writer.line("Title", PDType1Font.HELVETICA_BOLD, 16, 30);
+                writer.beginTable(COLUMNS, HEADERS, 12, 18);
+                writer.row("Groceries", "$10.00");
+                writer.endTable();
+            }
+
+            assertEquals(1, document.getNumberOfPages());
+        }
+    }
+
+    @Test
+    void emptyReport_StillProducesOnePage() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            new PaginatedPdfWriter(document, PDRectangle.LETTER, 50, null).close();
+
+            assertEquals(1, document.getNumberOfPages());
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.rest.dto.CategoryTrendResponse;
+import com.example.Personal_Budget_Tracker.rest.dto.MonthlyReportResponse;
+import com.example.Personal_Budget_Tracker.rest.dto.MonthlySpendingDTO;
+import com.example.Personal_Budget_Tracker.rest.dto.MonthlyTrendData;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.graphics.PDXObject;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfChartRendererTest {
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 3, 31);
+
+    private final PdfChartRenderer chartRenderer = new PdfChartRenderer(10);
+    private final PdfReportRenderer renderer = new PdfReportRenderer(new PdfDocumentFactory(1024, ""), chartRenderer);
+
+    private PdfReportLayout layout() {
+        MonthlyReportResponse report = new MonthlyReportResponse(START, END, 450.0, List.of(
+            new MonthlySpendingDTO("Rent", 300.0, 66.7, 3),
+            new MonthlySpendingDTO("Groceries", 150.0, 33.3, 6)));
+        CategoryTrendResponse trends = new CategoryTrendResponse(List.of(
+            new MonthlyTrendData("2024-01", Map.of("Rent", 100.0, "Groceries", 40.0)),
+            new MonthlyTrendData("2024-02", Map.of("Rent", 100.0, "Groceries", 60.0)),
+            new MonthlyTrendData("2024-03", Map.of("Rent", 100.0, "Groceries", 50.0))));
+        return PDFExportService.breakdownLayout(report, trends, START, END);
+    }
+
+    private byte[] render(PdfReportLayout layout) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        renderer.render(layout, out);
+        return out.toByteArray();
+    }
+
+    @Test
+    void breakdownLayout_DrawsChartsAsVectorForms() throws IOException {
+        // Act
+        byte[] pdf = render(layout());
+
+        // Assert
+        try (PDDocument document = PDDocument.load(pdf)) {
+            PDPage page = document.getPage(0);
+            int forms = 0;
+            for (COSName name : page.getResources().getXObjectNames()) {
+                PDXObject xObject = page.getResources().getXObject(name);
+                assertInstanceOf(PDFormXObject.class, xObject, "charts must not be embedded as images");
+                try (InputStream content = ((PDFormXObject) xObject).getContents()) {
+                    String operators = new String(content.readAllBytes(), StandardCharsets.ISO_8859_1);
+                    assertTrue(operators.contains(" re\n") || operators.contains(" l\n"));
+                }
+                forms++;
+            }
+            assertEquals(2, forms);
+
+            String text = new PDFTextStripper().getText(document);
+            assertTrue(text.contains("Spending by Category"));
+            assertTrue(text.contains("Monthly Trends"));
+            assertTrue(text.contains("$300.00"));
+            assertTrue(text.contains("2024-02"));
+        }
+    }
+
+    @Test
+    void sameData_ReusesCachedChartsInNewDocument() throws IOException {
+        // Act
+        byte[] first = render(layout());
+        byte[] second = render(layout());
+
+        // Assert
+        assertEquals(2, chartRenderer.getMisses());
+        assertEquals(2, chartRenderer.getHits());
+        try (PDDocument document = PDDocument.load(second)) {
+            String text = new PDFTextStripper().getText(document);
+            assertTrue(text.contains("Spending by Category"));
+            assertTrue(text.contains("Groceries"));
+        }
+        assertTrue(first.length > 0);
+    }
+
+    @Test
+    void changedData_RendersNewChart() throws IOException {
+        // Arrange
+        render(layout());
+        MonthlyReportResponse report = new MonthlyReportResponse(START, END, 10.0,
+            List.of(new MonthlySpendingDTO("Rent", 10.0, 100.0, 1)));
+
+        // Act
+        PdfReportLayout.Chart chart = PDFExportService.spendingChart(report);
+        try (PDDocument document = new PDDocument()) {
+            chartRenderer.form(document, chart);
+        }
+
+        // Assert
+        assertEquals(3, chartRenderer.getMisses());
+    }
+
+    @Test
+    void trendChart_KeepsLargestCategoriesWithSpending() {
+        // Arrange
+        CategoryTrendResponse trends = new CategoryTrendResponse(List.of(
+            new MonthlyTrendData("2024-01", Map.of("A", 1.0, "B", 7.0, "C", 3.0, "D", 4.0, "E", 5.0, "F", 6.0,
+                "G", 2.0, "Filtered", 0.0))));
+
+        // Act
+        PdfReportLayout.Chart chart = PDFExportService.trendChart(trends);
+
+        // Assert
+        assertEquals(List.of("B", "F", "E", "D", "C", "G"), List.copyOf(chart.getSeries().keySet()));
+        assertEquals(List.of("2024-01"), chart.getLabels());
+    }
+
+    @Test
+    void spendingChart_WithMoreCategoriesThanBars_DrawsTheLargestInDescendingOrder() {
+        // Arrange
+        // First-seen order, as the aggregator returns it; the two smallest come first
+        double[] amounts = {1, 2, 50, 30, 80, 10, 70, 20, 60, 40, 90, 100, 5, 45};
+        List<MonthlySpendingDTO> spending = new ArrayList<>();
+        for (int i = 0; i < amounts.length; i++) {
+            spending.add(new MonthlySpendingDTO("Category " + (char) ('A' + i), amounts[i], 0.0, 1));
+        }
+        MonthlyReportResponse report = new MonthlyReportResponse(START, END, 553.0, spending);
+
+        // Act
+        PdfReportLayout.Chart chart = PDFExportService.spendingChart(report);
+
+        // Assert
+        assertEquals(PdfChartRenderer.MAX_BARS, chart.getLabels().size());
+        assertEquals(List.of("Category L", "Category K", "Category E", "Category G", "Category I", "Category C",
+            "Category N", "Category J", "Category D", "Category H", "Category F", "Category M"), chart.getLabels());
+        assertArrayEquals(new double[] {100, 90, 80, 70, 60, 50, 45, 40, 30, 20, 10, 5},
+            chart.getSeries().get("Spending"));
+    }
+}
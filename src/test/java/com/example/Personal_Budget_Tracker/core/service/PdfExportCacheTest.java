@@ -0,0 +1,200 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.core.event.CategoryChangedEvent;
+import com.example.Personal_Budget_Tracker.core.event.ReportDataRebuiltEvent;
+import com.example.Personal_Budget_Tracker.core.event.TransactionChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfExportCacheTest {
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 1, 31);
+
+    @TempDir
+    Path dir;
+
+    private PdfExportCache cache;
+    private AtomicInteger renders;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PdfExportCache(dir.toString(), 2);
+        renders = new AtomicInteger();
+    }
+
+    private PdfExportCache.CachedPdf get(String report, List<String> categories, String content) {
+        return cache.get(report, START, END, categories, () -> {
+            renders.incrementAndGet();
+            return out -> out.write(content.getBytes());
+        });
+    }
+
+    @Test
+    void repeatedRequest_IsServedFromDiskWithSameETag() throws Exception {
+        // Act
+        PdfExportCache.CachedPdf first = get("monthly", null, "pdf");
+        PdfExportCache.CachedPdf second = get("monthly", null, "pdf");
+
+        // Assert
+        assertEquals(1, renders.get());
+        assertEquals(first.getEtag(), second.getEtag());
+        assertTrue(first.getEtag().startsWith("\"") && first.getEtag().endsWith("\""));
+        assertEquals("pdf", Files.readString(second.getFile()));
+        assertEquals(3, second.getSize());
+    }
+
+    @Test
+    void categoryOrder_DoesNotChangeKey() {
+        // Act
+        get("export-pdf", List.of("Food", "Rent"), "pdf");
+        get("export-pdf", List.of("Rent", "Food"), "pdf");
+        get("export-pdf", List.of("Food"), "pdf");
+
+        // Assert
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    void transactionChange_BumpsVersionAndRerenders() {
+        // Arrange
+        PdfExportCache.CachedPdf before = get("monthly", null, "old");
+        before.release();
+
+        // Act
+        cache.onTransactionChanged(new TransactionChangedEvent(null, null));
+        PdfExportCache.CachedPdf after = get("monthly", null, "new");
+
+        // Assert
+        assertEquals(2, renders.get());
+        assertEquals(1, cache.getDataVersion());
+        assertNotEquals(before.getEtag(), after.getEtag());
+        assertNotEquals(before.getFile(), after.getFile());
+        assertFalse(Files.exists(before.getFile()));
+    }
+
+    @Test
+    void categoryCreation_KeepsCachedEntries() {
+        // Arrange
+        get("category", null, "pdf");
+
+        // Act
+        cache.onCategoryChanged(new CategoryChangedEvent(1L, CategoryChangedEvent.Change.CREATED));
+        get("category", null, "pdf");
+        cache.onCategoryChanged(new CategoryChangedEvent(1L, CategoryChangedEvent.Change.UPDATED));
+        get("category", null, "pdf");
+
+        // Assert
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    void reportDataRebuild_BumpsVersionAndRerenders() {
+        // Arrange
+        get("monthly", null, "pdf").release();
+
+        // Act
+        cache.onReportDataRebuilt(new ReportDataRebuiltEvent(3));
+        get("monthly", null, "pdf");
+
+        // Assert
+        assertEquals(2, renders.get());
+        assertEquals(1, cache.getDataVersion());
+    }
+
+    @Test
+    void entriesBeyondCapacity_AreEvictedFromDisk() {
+        // Arrange
+        PdfExportCache.CachedPdf eldest = get("monthly", null, "a");
+        eldest.release();
+        get("category", null, "b");
+
+        // Act
+        get("export-pdf", null, "c");
+
+        // Assert
+        assertFalse(Files.exists(eldest.getFile()));
+    }
+
+    @Test
+    void evictedFile_IsKeptUntilItsReaderClosesTheStream() throws Exception {
+        // Arrange
+        PdfExportCache.CachedPdf held = get("monthly", null, "pdf");
+        InputStream stream = held.toResource().getInputStream();
+
+        // Act
+        cache.onTransactionChanged(new TransactionChangedEvent(null, null));
+        boolean existsWhileStreaming = Files.exists(held.getFile());
+        String content = new String(stream.readAllBytes());
+        stream.close();
+
+        // Assert
+        assertTrue(existsWhileStreaming);
+        assertEquals("pdf", content);
+        assertFalse(Files.exists(held.getFile()));
+    }
+
+    @Test
+    void concurrentMisses_ShareOneRender() throws Exception {
+        // Arrange
+        CountDownLatch rendering = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        CompletableFuture<PdfExportCache.CachedPdf> first = CompletableFuture.supplyAsync(() ->
+            cache.get("monthly", START, END, null, () -> {
+                renders.incrementAndGet();
+                rendering.countDown();
+                return out -> {
+                    try {
+                        proceed.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    out.write("pdf".getBytes());
+                };
+            }));
+        assertTrue(rendering.await(5, TimeUnit.SECONDS));
+
+        // Act
+        CompletableFuture<PdfExportCache.CachedPdf> second = CompletableFuture.supplyAsync(() ->
+            get("monthly", null, "other"));
+        Thread.sleep(50);
+        proceed.countDown();
+
+        // Assert
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, renders.get());
+        assertEquals("pdf", Files.readString(first.get().getFile()));
+    }
+
+    @Test
+    void renderOverlappingVersionBump_IsServedButNotCached() {
+        // Arrange
+        PdfExportCache.CachedPdf stale = cache.get("monthly", START, END, null, () -> {
+            renders.incrementAndGet();
+            return out -> {
+                out.write("old".getBytes());
+                cache.onTransactionChanged(new TransactionChangedEvent(null, null));
+            };
+        });
+
+        // Act
+        stale.release();
+        get("monthly", null, "new");
+
+        // Assert
+        assertEquals(2, renders.get());
+        assertFalse(Files.exists(stale.getFile()));
+    }
+}
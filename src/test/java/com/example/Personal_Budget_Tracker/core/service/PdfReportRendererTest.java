@@ -0,0 +1,73 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfReportRendererTest {
+    private final PdfReportRenderer renderer = new PdfReportRenderer(new PdfDocumentFactory(1024, ""),
+            new PdfChartRenderer(10));
+
+    private String renderText(PdfReportLayout layout) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        renderer.render(layout, out);
+        try (PDDocument document = PDDocument.load(out.toByteArray())) {
+            return new PDFTextStripper().getText(document);
+        }
+    }
+
+    @Test
+    void totalsLayout_RendersEveryTotalAndTheSum() throws IOException {
+        // Arrange
+        Map<String, Object> reportData = Map.of(
+            "startDate", "2024-01-01",
+            "endDate", "2024-01-31",
+            "categoryTotals", Map.of("Groceries", 120.5),
+            "totalSpending", 120.5);
+
+        // Act
+        String text = renderText(PdfReportLayout.totals("Category Spending Report", reportData));
+
+        // Assert
+        assertTrue(text.contains("Category Spending Report"));
+        assertTrue(text.contains("Period: 2024-01-01 to 2024-01-31"));
+        assertTrue(text.contains("Groceries: $120.50"));
+        assertTrue(text.contains("Total Spending: $120.50"));
+    }
+
+    @Test
+    void tableLayout_FormatsCellsByColumn() throws IOException {
+        // Arrange
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] {"Rent", 1000.0, 66.666, 1});
+        PdfReportLayout layout = new PdfReportLayout("Report", "Period", "Footer")
+            .table(new PdfReportLayout.Table(new float[] {0, 150, 250, 350},
+                new String[] {"Category", "Amount", "Percentage", "Count"},
+                new PdfReportLayout.CellFormat[] {PdfReportLayout.CellFormat.TEXT, PdfReportLayout.CellFormat.MONEY,
+                    PdfReportLayout.CellFormat.PERCENT, PdfReportLayout.CellFormat.COUNT},
+                rows));
+
+        // Act
+        String text = renderText(layout);
+
+        // Assert
+        assertTrue(text.contains("Rent $1000.00 66.7% 1"), text);
+        assertTrue(text.contains("Footer"));
+    }
+
+    @Test
+    void appendMoney_MatchesStringFormat() {
+        for (double amount : new double[] {0, 0.5, 1.005, 12.345, 99.999, -5, 1234567.89}) {
+            assertEquals(String.format("$%.2f", amount),
+                PdfReportRenderer.appendMoney(new StringBuilder(), amount).toString(), "amount " + amount);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    @Test
+    void reserve_SpacesPermitsAtTheConfiguredRate() {
+        // Arrange
+        AtomicLong now = new AtomicLong(0);
+        RateLimiter limiter = new RateLimiter(10, now::get);
+
+        // Act
+        long first = limiter.reserve(5);
+        long second = limiter.reserve(5);
+        now.set(2_000_000_000L);
+        long afterIdle = limiter.reserve(1);
+        long next = limiter.reserve(1);
+
+        // Assert
+        assertEquals(0, first);
+        assertEquals(500_000_000L, second);
+        assertEquals(0, afterIdle);
+        assertEquals(100_000_000L, next);
+    }
+
+    @Test
+    void reserve_WithoutRate_NeverWaits() {
+        // Arrange
+        RateLimiter limiter = new RateLimiter(0, () -> 0L);
+
+        // Act & Assert
+        assertEquals(0, limiter.reserve(1_000));
+        assertEquals(0, limiter.reserve(1_000));
+    }
+}
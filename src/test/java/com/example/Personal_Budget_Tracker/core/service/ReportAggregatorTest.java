@@ -0,0 +1,102 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.rest.dto.MonthlySpendingDTO;
+import com.example.Personal_Budget_Tracker.rest.dto.MonthlyTrendData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportAggregatorTest {
+    private ReportAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new ReportAggregator(LocalDate.of(2023, 11, 15), LocalDate.of(2024, 2, 10));
+        aggregator.add(202311, "Groceries", 100.0, 2);
+        aggregator.add(202401, "Groceries", 50.0, 1);
+        aggregator.add(202401, "Rent", 800.0, 1);
+        aggregator.add(202401, null, 25.0, 1);
+    }
+
+    @Test
+    void monthlyTotals_IncludeUncategorizedAndSkipEmptyMonths() {
+        Map<String, Double> totals = aggregator.monthlyTotals();
+
+        assertEquals(2, totals.size());
+        assertEquals(100.0, totals.get("2023-11"));
+        assertEquals(875.0, totals.get("2024-01"));
+        assertNull(totals.get("2023-12"));
+    }
+
+    @Test
+    void categoryTotals_ExcludeUncategorized() {
+        Map<String, Double> totals = aggregator.categoryTotals();
+
+        assertEquals(2, totals.size());
+        assertEquals(150.0, totals.get("Groceries"));
+        assertEquals(800.0, totals.get("Rent"));
+    }
+
+    @Test
+    void spendingByCategory_WithFilter_UsesFilteredTotal() {
+        List<MonthlySpendingDTO> spending = aggregator.spendingByCategory(Arrays.asList("Groceries"));
+
+        assertEquals(1, spending.size());
+        assertEquals(150.0, spending.get(0).getAmount());
+        assertEquals(100.0, spending.get(0).getPercentage());
+        assertEquals(3, spending.get(0).getTransactionCount());
+        assertEquals(150.0, aggregator.totalSpending(Arrays.asList("Groceries")));
+        assertEquals(975.0, aggregator.totalSpending(null));
+    }
+
+    @Test
+    void trends_CoverEveryMonthWithZeroFill() {
+        List<MonthlyTrendData> trends = aggregator.trends(Arrays.asList("Rent"));
+
+        assertEquals(4, trends.size());
+        assertEquals("2023-11", trends.get(0).getMonth());
+        assertEquals("2024-02", trends.get(3).getMonth());
+        assertEquals(0.0, trends.get(0).getCategoryData().get("Groceries"));
+        assertEquals(800.0, trends.get(2).getCategoryData().get("Rent"));
+        assertEquals(0.0, trends.get(1).getCategoryData().get("Rent"));
+    }
+
+    @Test
+    void add_GrowsPastInitialCategoryCapacity() {
+        for (int i = 0; i < 40; i++) {
+            aggregator.add(202402, "Category " + i, i, 1);
+        }
+
+        assertEquals(42, aggregator.getCategories().size());
+        assertEquals(39.0, aggregator.categoryTotals().get("Category 39"));
+        assertEquals(150.0, aggregator.categoryTotals().get("Groceries"));
+    }
+
+    @Test
+    void add_IgnoresRowsOutsideTheRange() {
+        aggregator.add(202403, "Groceries", 999.0, 1);
+
+        assertEquals(150.0, aggregator.categoryTotals().get("Groceries"));
+    }
+
+    @Test
+    void merge_AddsPartialResultsIntoMatchingMonths() {
+        ReportAggregator partial = new ReportAggregator(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 10));
+        partial.add(202401, "Rent", 200.0, 1);
+        partial.add(202402, "Travel", 60.0, 2);
+        partial.add(202402, null, 5.0, 1);
+
+        aggregator.merge(partial);
+
+        Map<String, Double> totals = aggregator.categoryTotals();
+        assertEquals(1000.0, totals.get("Rent"));
+        assertEquals(60.0, totals.get("Travel"));
+        assertEquals(65.0, aggregator.monthlyTotals().get("2024-02"));
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.core.event.CategoryChangedEvent;
+import com.example.Personal_Budget_Tracker.core.event.ReportDataRebuiltEvent;
+import com.example.Personal_Budget_Tracker.core.event.TransactionChangedEvent;
+import com.example.Personal_Budget_Tracker.rest.dto.CacheStatsResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportCacheTest {
+    private ReportCache reportCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        reportCache = new ReportCache(2);
+        loads = new AtomicInteger();
+    }
+
+    private String load(String report, LocalDate start, LocalDate end) {
+        return reportCache.get(report, start, end, null, () -> report + "-" + loads.incrementAndGet());
+    }
+
+    @Test
+    void whenSameKeyRequested_thenLoadOnce() {
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = LocalDate.of(2024, 1, 31);
+
+        assertEquals("monthly-1", load("monthly", start, end));
+        assertEquals("monthly-1", load("monthly", start, end));
+
+        CacheStatsResponse stats = reportCache.getStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.5, stats.getHitRate());
+    }
+
+    @Test
+    void whenCategoryFilterOrderDiffers_thenShareEntry() {
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = LocalDate.of(2024, 1, 31);
+
+        reportCache.get("trends", start, end, Arrays.asList("Food", "Rent"), loads::incrementAndGet);
+        reportCache.get("trends", start, end, Arrays.asList("Rent", "Food"), loads::incrementAndGet);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void whenFull_thenEvictLeastRecentlyUsed() {
+        LocalDate jan = LocalDate.of(2024, 1, 1);
+        LocalDate feb = LocalDate.of(2024, 2, 1);
+        LocalDate mar = LocalDate.of(2024, 3, 1);
+
+        load("monthly", jan, jan);
+        load("monthly", feb, feb);
+        load("monthly", jan, jan); // jan is now most recently used
+        load("monthly", mar, mar); // evicts feb
+
+        assertEquals(1, reportCache.getStats().getEvictions());
+        assertEquals(2, reportCache.getStats().getSize());
+        load("monthly", jan, jan);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void whenTransactionChanges_thenEvictOnlyCoveringRanges() {
+        LocalDate janStart = LocalDate.of(2024, 1, 1);
+        LocalDate janEnd = LocalDate.of(2024, 1, 31);
+        LocalDate febStart = LocalDate.of(2024, 2, 1);
+        LocalDate febEnd = LocalDate.of(2024, 2, 29);
+        load("monthly", janStart, janEnd);
+        load("monthly", febStart, febEnd);
+
+        reportCache.onTransactionChanged(new TransactionChangedEvent(null,
+            new TransactionChangedEvent.Snapshot(LocalDate.of(2024, 1, 31), 1L, 10.0)));
+
+        assertEquals(1, reportCache.getStats().getInvalidations());
+        load("monthly", febStart, febEnd);
+        assertEquals(2, loads.get());
+        load("monthly", janStart, janEnd);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void whenCategoryRenamed_thenClearEverything() {
+        load("category", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+
+        reportCache.onCategoryChanged(new CategoryChangedEvent(1L, CategoryChangedEvent.Change.CREATED));
+        assertEquals(1, reportCache.getStats().getSize());
+
+        reportCache.onCategoryChanged(new CategoryChangedEvent(1L, CategoryChangedEvent.Change.UPDATED));
+        assertEquals(0, reportCache.getStats().getSize());
+    }
+
+    @Test
+    void whenReportDataRebuilt_thenClearEverything() {
+        load("category", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+
+        reportCache.onReportDataRebuilt(new ReportDataRebuiltEvent(3));
+
+        assertEquals(0, reportCache.getStats().getSize());
+    }
+
+    @Test
+    void whenWriteHappensDuringLoad_thenResultIsNotCached() {
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = LocalDate.of(2024, 1, 31);
+
+        reportCache.get("monthly", start, end, null, () -> {
+            reportCache.invalidate(Arrays.asList(LocalDate.of(2024, 1, 15)));
+            return "stale";
+        });
+
+        assertEquals(0, reportCache.getStats().getSize());
+    }
+}
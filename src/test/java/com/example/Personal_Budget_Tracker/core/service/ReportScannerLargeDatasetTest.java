@@ -0,0 +1,85 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.core.repository.CategoryRepository;
+import com.example.Personal_Budget_Tracker.core.repository.TransactionRepository;
+import com.example.Personal_Budget_Tracker.core.repository.projection.CategoryTotal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs only with -Plarge-dataset, which caps the heap well below what a materialized
+ * million-row result would need. The data lives in a file-backed H2 database so it does
+ * not count against the heap either.
+ */
+@Tag("large-dataset")
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:file:./target/large-dataset/reports;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false",
+    "logging.level.org.hibernate=WARN",
+    "reports.scan.streaming=true",
+    "reports.index.enabled=false"
+})
+@ActiveProfiles("test")
+class ReportScannerLargeDatasetTest {
+    private static final LocalDate START = LargeDataset.START;
+    private static final LocalDate END = LargeDataset.END;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ReportScanner reportScanner;
+
+    @Autowired
+    private ReportService reportService;
+
+    @BeforeEach
+    void seed() {
+        LargeDataset.seed(jdbcTemplate, categoryRepository);
+    }
+
+    @Test
+    void scan_MatchesDatabaseTotalsWithinCappedHeap() {
+        // Act
+        ReportAggregator aggregator = reportScanner.scan(START, END);
+
+        // Assert
+        Double expectedTotal = jdbcTemplate.queryForObject("SELECT SUM(amount) FROM transaction", Double.class);
+        assertEquals(expectedTotal, aggregator.totalSpending(null), 0.01);
+        Map<String, Double> categoryTotals = aggregator.categoryTotals();
+        for (CategoryTotal expected : transactionRepository.sumByCategory(START, END)) {
+            if (expected.getCategory() != null) {
+                assertEquals(expected.getTotal(), categoryTotals.get(expected.getCategory()), 0.01);
+            }
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void monthlyReport_StreamsEveryMonth() {
+        // Act
+        Map<String, Object> report = reportService.generateMonthlyReport(START, END);
+
+        // Assert
+        Map<String, Double> monthlyTotals = (Map<String, Double>) report.get("monthlyTotals");
+        assertEquals(120, monthlyTotals.size());
+        Double expectedTotal = jdbcTemplate.queryForObject("SELECT SUM(amount) FROM transaction", Double.class);
+        assertEquals(expectedTotal, (Double) report.get("totalSpending"), 0.01);
+    }
+}
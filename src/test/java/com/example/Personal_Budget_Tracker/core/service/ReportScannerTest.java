@@ -0,0 +1,94 @@
+package com.example.Personal_Budget_Tracker.core.service;
+
+import com.example.Personal_Budget_Tracker.core.repository.TransactionRepository;
+import com.example.Personal_Budget_Tracker.core.repository.projection.ReportRow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportScannerTest {
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReportScanner reportScanner;
+
+    @AfterEach
+    void tearDown() {
+        reportScanner.shutdown();
+    }
+
+    @Test
+    void whenRangeBelowCutoff_thenScanSequentially() {
+        // Arrange
+        reportScanner = new ReportScanner(transactionRepository, transactionManager, true, 4, 12);
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = LocalDate.of(2024, 6, 30);
+        when(transactionRepository.streamReportRows(start, end)).thenReturn(Stream.of(
+            new ReportRow(LocalDate.of(2024, 1, 3), "Groceries", 10.0),
+            new ReportRow(LocalDate.of(2024, 6, 3), null, 5.0)
+        ));
+
+        // Act
+        ReportAggregator aggregator = reportScanner.scan(start, end);
+
+        // Assert
+        assertEquals(15.0, aggregator.totalSpending(null));
+        verify(transactionRepository, times(1)).streamReportRows(any(), any());
+    }
+
+    @Test
+    void whenRangeAboveCutoff_thenSplitIntoMonthPartitions() {
+        // Arrange
+        reportScanner = new ReportScanner(transactionRepository, transactionManager, true, 4, 12);
+
+        // Act
+        List<LocalDate[]> partitions = reportScanner.partition(LocalDate.of(2020, 1, 15), LocalDate.of(2024, 12, 20));
+
+        // Assert: 60 months in four runs of 15
+        assertEquals(4, partitions.size());
+        assertEquals(LocalDate.of(2020, 1, 15), partitions.get(0)[0]);
+        assertEquals(LocalDate.of(2021, 3, 31), partitions.get(0)[1]);
+        assertEquals(LocalDate.of(2021, 4, 1), partitions.get(1)[0]);
+        assertEquals(LocalDate.of(2024, 12, 20), partitions.get(3)[1]);
+    }
+
+    @Test
+    void whenScannedInParallel_thenMergePartialResults() {
+        // Arrange
+        reportScanner = new ReportScanner(transactionRepository, transactionManager, true, 2, 2);
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = LocalDate.of(2024, 4, 30);
+        when(transactionRepository.streamReportRows(start, LocalDate.of(2024, 2, 29))).thenReturn(Stream.of(
+            new ReportRow(LocalDate.of(2024, 1, 3), "Groceries", 10.0),
+            new ReportRow(LocalDate.of(2024, 2, 3), "Rent", 500.0)
+        ));
+        when(transactionRepository.streamReportRows(LocalDate.of(2024, 3, 1), end)).thenReturn(Stream.of(
+            new ReportRow(LocalDate.of(2024, 4, 3), "Groceries", 20.0)
+        ));
+
+        // Act
+        ReportAggregator aggregator = reportScanner.scan(start, end);
+
+        // Assert
+        Map<String, Double> totals = aggregator.categoryTotals();
+        assertEquals(30.0, totals.get("Groceries"));
+        assertEquals(500.0, totals.get("Rent"));
+        assertEquals(20.0, aggregator.monthlyTotals().get("2024-04"));
+    }
+}
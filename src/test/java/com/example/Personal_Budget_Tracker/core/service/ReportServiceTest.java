@@ -1,8 +1,9 @@
 package com.example.Personal_Budget_Tracker.core.service;
 
 import com.example.Personal_Budget_Tracker.core.model.Category;
-import com.example.Personal_Budget_Tracker.core.model.Transaction;
-import com.example.Personal_Budget_Tracker.core.repository.TransactionRepository;
+import com.example.Personal_Budget_Tracker.core.repository.projection.MonthlyCategoryTotal;
+import com.example.Personal_Budget_Tracker.rest.dto.CategoryTrendResponse;
+import com.example.Personal_Budget_Tracker.rest.dto.DashboardResponse;
 import com.example.Personal_Budget_Tracker.rest.dto.MonthlyReportResponse;
 import com.example.Personal_Budget_Tracker.rest.dto.MonthlySpendingDTO;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,12 +11,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,13 +31,27 @@ import static org.mockito.Mockito.*;
 class ReportServiceTest {
 
     @Mock
-    private TransactionRepository transactionRepository;
+    private MonthlyRollupService monthlyRollupService;
+
+    @Mock
+    private DailyTotalsIndex dailyTotalsIndex;
+
+    @Mock
+    private CategoryRegistry categoryRegistry;
+
+    @Mock
+    private ReportScanner reportScanner;
+
+    @Spy
+    private ReportCache reportCache = new ReportCache(16);
+
+    @Spy
+    private PdfReportRenderer pdfReportRenderer = new PdfReportRenderer(new PdfDocumentFactory(1024, ""),
+            new PdfChartRenderer(10));
 
     @InjectMocks
     private ReportService reportService;
 
-    private Transaction transaction1;
-    private Transaction transaction2;
     private LocalDate startDate;
     private LocalDate endDate;
 
@@ -38,33 +59,15 @@ class ReportServiceTest {
     void setUp() {
         startDate = LocalDate.of(2024, 1, 1);
         endDate = LocalDate.of(2024, 1, 31);
-
-        Category category1 = new Category();
-        category1.setId(1L);
-        category1.setName("Groceries");
-
-        Category category2 = new Category();
-        category2.setId(2L);
-        category2.setName("Entertainment");
-
-        transaction1 = new Transaction();
-        transaction1.setId(1L);
-        transaction1.setAmount(100.0);
-        transaction1.setDate(LocalDate.of(2024, 1, 15));
-        transaction1.setCategory(category1);
-
-        transaction2 = new Transaction();
-        transaction2.setId(2L);
-        transaction2.setAmount(200.0);
-        transaction2.setDate(LocalDate.of(2024, 1, 20));
-        transaction2.setCategory(category2);
     }
 
     @Test
     void getMonthlySpending_WithoutCategories_ReturnsAllTransactions() {
         // Arrange
-        List<Transaction> transactions = Arrays.asList(transaction1, transaction2);
-        when(transactionRepository.findByDateBetween(startDate, endDate)).thenReturn(transactions);
+        when(monthlyRollupService.getTotals(startDate, endDate)).thenReturn(Arrays.asList(
+            categoryTotal("Groceries", 100.0, 1L),
+            categoryTotal("Entertainment", 200.0, 1L)
+        ));
 
         // Act
         MonthlyReportResponse response = reportService.getMonthlySpending(startDate, endDate, null);
@@ -73,15 +76,34 @@ class ReportServiceTest {
         assertNotNull(response);
         assertEquals(300.0, response.getTotalSpending());
         assertEquals(2, response.getSpendingByCategory().size());
-        verify(transactionRepository).findByDateBetween(startDate, endDate);
+        verify(monthlyRollupService).getTotals(startDate, endDate);
+    }
+
+    @Test
+    void getMonthlySpending_WithUncategorizedTransactions_CountsThemInTotalOnly() {
+        // Arrange
+        when(monthlyRollupService.getTotals(startDate, endDate)).thenReturn(Arrays.asList(
+            categoryTotal("Groceries", 100.0, 1L),
+            categoryTotal(null, 100.0, 2L)
+        ));
+
+        // Act
+        MonthlyReportResponse response = reportService.getMonthlySpending(startDate, endDate, null);
+
+        // Assert
+        assertEquals(200.0, response.getTotalSpending());
+        assertEquals(1, response.getSpendingByCategory().size());
+        assertEquals(50.0, response.getSpendingByCategory().get(0).getPercentage());
     }
 
     @Test
     void getMonthlySpending_WithCategories_ReturnsFilteredTransactions() {
         // Arrange
-        List<Transaction> transactions = Arrays.asList(transaction1, transaction2);
         List<String> categories = Arrays.asList("Groceries");
-        when(transactionRepository.findByDateBetween(startDate, endDate)).thenReturn(transactions);
+        when(monthlyRollupService.getTotals(startDate, endDate)).thenReturn(Arrays.asList(
+            categoryTotal("Groceries", 100.0, 1L),
+            categoryTotal("Entertainment", 200.0, 1L)
+        ));
 
         // Act
         MonthlyReportResponse response = reportService.getMonthlySpending(startDate, endDate, categories);
@@ -100,8 +122,10 @@ class ReportServiceTest {
     @Test
     void generateMonthlyReport_ReturnsCorrectTotals() {
         // Arrange
-        List<Transaction> transactions = Arrays.asList(transaction1, transaction2);
-        when(transactionRepository.findByDateBetween(startDate, endDate)).thenReturn(transactions);
+        when(monthlyRollupService.getTotals(startDate, endDate)).thenReturn(Arrays.asList(
+            categoryTotal("Groceries", 100.0, 1L),
+            categoryTotal("Entertainment", 200.0, 1L)
+        ));
 
         // Act
         Map<String, Object> report = reportService.generateMonthlyReport(startDate, endDate);
@@ -120,8 +144,11 @@ class ReportServiceTest {
     @Test
     void generateCategoryReport_ReturnsCorrectTotals() {
         // Arrange
-        List<Transaction> transactions = Arrays.asList(transaction1, transaction2);
-        when(transactionRepository.findByDateBetween(startDate, endDate)).thenReturn(transactions);
+        when(monthlyRollupService.getTotals(startDate, endDate)).thenReturn(Arrays.asList(
+            categoryTotal("Groceries", 100.0, 1L),
+            categoryTotal("Entertainment", 200.0, 1L),
+            categoryTotal(null, 50.0, 1L)
+        ));
 
         // Act
         Map<String, Object> report = reportService.generateCategoryReport(startDate, endDate);
@@ -141,7 +168,7 @@ class ReportServiceTest {
     @Test
     void getMonthlySpending_WithEmptyTransactions_ReturnsZeroTotals() {
         // Arrange
-        when(transactionRepository.findByDateBetween(startDate, endDate)).thenReturn(Arrays.asList());
+        when(monthlyRollupService.getTotals(startDate, endDate)).thenReturn(Arrays.asList());
 
         // Act
         MonthlyReportResponse response = reportService.getMonthlySpending(startDate, endDate, null);
@@ -155,7 +182,7 @@ class ReportServiceTest {
     @Test
     void generateMonthlyReport_WithEmptyTransactions_ReturnsZeroTotals() {
         // Arrange
-        when(transactionRepository.findByDateBetween(startDate, endDate)).thenReturn(Arrays.asList());
+        when(monthlyRollupService.getTotals(startDate, endDate)).thenReturn(Arrays.asList());
 
         // Act
         Map<String, Object> report = reportService.generateMonthlyReport(startDate, endDate);
@@ -169,7 +196,7 @@ class ReportServiceTest {
     @Test
     void generateCategoryReport_WithEmptyTransactions_ReturnsZeroTotals() {
         // Arrange
-        when(transactionRepository.findByDateBetween(startDate, endDate)).thenReturn(Arrays.asList());
+        when(monthlyRollupService.getTotals(startDate, endDate)).thenReturn(Arrays.asList());
 
         // Act
         Map<String, Object> report = reportService.generateCategoryReport(startDate, endDate);
@@ -179,4 +206,120 @@ class ReportServiceTest {
         assertEquals(0.0, report.get("totalSpending"));
         assertTrue(((Map<?, ?>) report.get("categoryTotals")).isEmpty());
     }
+
+    @Test
+    void getCategoryTrends_FillsMissingMonthsWithZero() {
+        // Arrange
+        LocalDate trendEnd = LocalDate.of(2024, 2, 29);
+        when(monthlyRollupService.getTotals(startDate, trendEnd)).thenReturn(Arrays.asList(
+            new MonthlyCategoryTotal(202401, "Groceries", 100.0, 1L)
+        ));
+
+        // Act
+        CategoryTrendResponse response = reportService.getCategoryTrends(startDate, trendEnd, null);
+
+        // Assert
+        assertEquals(2, response.getTrends().size());
+        assertEquals("2024-01", response.getTrends().get(0).getMonth());
+        assertEquals(100.0, response.getTrends().get(0).getCategoryData().get("Groceries"));
+        assertEquals(0.0, response.getTrends().get(1).getCategoryData().get("Groceries"));
+    }
+
+    @Test
+    void generateCategoryReport_RepeatedRange_IsServedFromCache() {
+        // Arrange
+        when(monthlyRollupService.getTotals(startDate, endDate)).thenReturn(Arrays.asList(
+            categoryTotal("Groceries", 100.0, 1L)
+        ));
+
+        // Act
+        Map<String, Object> first = reportService.generateCategoryReport(startDate, endDate);
+        Map<String, Object> second = reportService.generateCategoryReport(startDate, endDate);
+
+        // Assert
+        assertSame(first, second);
+        verify(monthlyRollupService, times(1)).getTotals(startDate, endDate);
+        assertEquals(1, reportCache.getStats().getHits());
+    }
+
+    @Test
+    void generateCategoryReport_WhenIndexAvailable_SkipsRollup() {
+        // Arrange
+        Category groceries = new Category("Groceries");
+        groceries.setId(1L);
+        Map<Long, DailyTotalsIndex.RangeTotal> totals = new HashMap<>();
+        totals.put(1L, new DailyTotalsIndex.RangeTotal(120.0, 3L));
+        totals.put(null, new DailyTotalsIndex.RangeTotal(30.0, 1L));
+        LocalDate end = LocalDate.of(2024, 3, 15);
+        when(dailyTotalsIndex.sumByCategory(startDate, end)).thenReturn(Optional.of(totals));
+        when(categoryRegistry.snapshot()).thenReturn(new CategoryRegistry.Snapshot(1, Arrays.asList(groceries)));
+
+        // Act
+        Map<String, Object> report = reportService.generateCategoryReport(startDate, end);
+        MonthlyReportResponse spending = reportService.getMonthlySpending(startDate, end, null);
+
+        // Assert
+        assertEquals(120.0, report.get("totalSpending"));
+        assertEquals(150.0, spending.getTotalSpending());
+        assertEquals(3, spending.getSpendingByCategory().get(0).getTransactionCount());
+        verifyNoInteractions(monthlyRollupService);
+    }
+
+    @Test
+    void generateMonthlyReport_WhenStreamingScanEnabled_AggregatesFromScan() {
+        // Arrange
+        ReportAggregator scanned = new ReportAggregator(startDate, endDate);
+        scanned.add(202401, "Groceries", 75.0, 3L);
+        when(reportScanner.isEnabled()).thenReturn(true);
+        when(reportScanner.scan(startDate, endDate)).thenReturn(scanned);
+
+        // Act
+        Map<String, Object> report = reportService.generateMonthlyReport(startDate, endDate);
+
+        // Assert
+        assertEquals(75.0, report.get("totalSpending"));
+        verifyNoInteractions(monthlyRollupService);
+    }
+
+    @Test
+    void getDashboard_BuildsEveryViewFromOneRead() {
+        // Arrange
+        when(monthlyRollupService.getTotals(startDate, endDate)).thenReturn(Arrays.asList(
+            categoryTotal("Groceries", 100.0, 1L),
+            categoryTotal("Rent", 300.0, 1L),
+            categoryTotal(null, 100.0, 1L)
+        ));
+
+        // Act
+        DashboardResponse dashboard = reportService.getDashboard(startDate, endDate, Arrays.asList("Groceries"));
+
+        // Assert
+        assertEquals(500.0, dashboard.getMonthlyTotals().get("2024-01"));
+        assertEquals(400.0, dashboard.getCategoryTotals().values().stream().mapToDouble(Double::doubleValue).sum());
+        assertEquals(100.0, dashboard.getMonthlySpending().getTotalSpending());
+        assertEquals(0.0, dashboard.getTrends().get(0).getCategoryData().get("Rent"));
+        verify(monthlyRollupService, times(1)).getTotals(startDate, endDate);
+    }
+
+    @Test
+    void streamCategoryReportPdf_LoadsDataEagerlyAndWritesPdfOnDemand() throws IOException {
+        // Arrange
+        when(monthlyRollupService.getTotals(startDate, endDate)).thenReturn(Arrays.asList(
+            categoryTotal("Groceries", 100.0, 1L)
+        ));
+
+        // Act
+        StreamingResponseBody body = reportService.streamCategoryReportPdf(startDate, endDate);
+        verify(monthlyRollupService).getTotals(startDate, endDate);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+
+        // Assert
+        assertTrue(out.toString().startsWith("%PDF"));
+        verify(pdfReportRenderer).render(any(PdfReportLayout.class), eq(out));
+    }
+
+    private static MonthlyCategoryTotal categoryTotal(String category, Double total, Long count) {
+        return new MonthlyCategoryTotal(202401, category, total, count);
+    }
 }
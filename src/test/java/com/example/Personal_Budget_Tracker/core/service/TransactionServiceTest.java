@@ -1,13 +1,16 @@
 package com.example.Personal_Budget_Tracker.core.service;
 
+import com.example.Personal_Budget_Tracker.core.event.TransactionChangedEvent;
 import com.example.Personal_Budget_Tracker.core.model.Transaction;
 import com.example.Personal_Budget_Tracker.core.repository.TransactionRepository;
 import com.theokanning.openai.service.OpenAiService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -29,6 +32,12 @@ class TransactionServiceTest {
     @Mock
     private BudgetGoalService budgetGoalService;
     
+    @Mock
+    private MonthlyRollupService monthlyRollupService;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
     @InjectMocks
     private TransactionService transactionService;
     
@@ -93,6 +102,7 @@ class TransactionServiceTest {
         assertEquals(1L, result.getId());
         assertEquals(100.0, result.getAmount());
         verify(transactionRepository).save(transaction);
+        verify(monthlyRollupService).add(savedTransaction);
     }
     
     @Test
@@ -120,6 +130,68 @@ class TransactionServiceTest {
             transactionService.createTransaction(transaction);
         });
         verify(transactionRepository, never()).save(any());
+        verify(monthlyRollupService, never()).add(any());
+    }
+    
+    @Test
+    void whenUpdateTransaction_thenMoveAmountInRollup() {
+        // Arrange
+        Transaction existing = createTransaction(1L, 100.0, "Groceries");
+        Transaction updated = createTransaction(null, 150.0, "Groceries");
+        updated.setDate(LocalDate.of(2024, 5, 1));
+        when(transactionRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(transactionRepository.save(existing)).thenReturn(existing);
+        doAnswer(invocation -> {
+            // The old amount must still be in place when it is removed
+            assertEquals(100.0, ((Transaction) invocation.getArgument(0)).getAmount());
+            return null;
+        }).when(monthlyRollupService).remove(existing);
+        
+        // Act
+        transactionService.updateTransaction(1L, updated);
+        
+        // Assert
+        verify(monthlyRollupService).remove(existing);
+        verify(monthlyRollupService).add(existing);
+        assertEquals(150.0, existing.getAmount());
+        ArgumentCaptor<TransactionChangedEvent> event = ArgumentCaptor.forClass(TransactionChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertTrue(event.getValue().getAffectedDates().contains(LocalDate.now()));
+        assertTrue(event.getValue().getAffectedDates().contains(LocalDate.of(2024, 5, 1)));
+    }
+    
+    @Test
+    void whenUpdateAutoCategorizedTransaction_thenCategoryBecomesTheUsers() {
+        // Arrange
+        Transaction existing = createTransaction(1L, 100.0, "Groceries");
+        existing.setAutoCategorized(true);
+        Transaction updated = createTransaction(null, 100.0, "Groceries");
+        when(transactionRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(transactionRepository.save(existing)).thenReturn(existing);
+
+        // Act
+        transactionService.updateTransaction(1L, updated);
+
+        // Assert
+        assertFalse(existing.isAutoCategorized());
+        ArgumentCaptor<TransactionChangedEvent> event = ArgumentCaptor.forClass(TransactionChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertTrue(event.getValue().getPrevious().isAutomatic());
+        assertFalse(event.getValue().getCurrent().isAutomatic());
+    }
+    
+    @Test
+    void whenDeleteTransaction_thenRemoveFromRollup() {
+        // Arrange
+        Transaction existing = createTransaction(1L, 100.0, "Groceries");
+        when(transactionRepository.findById(1L)).thenReturn(Optional.of(existing));
+        
+        // Act
+        transactionService.deleteTransaction(1L);
+        
+        // Assert
+        verify(monthlyRollupService).remove(existing);
+        verify(transactionRepository).delete(existing);
     }
     
     @Test
@@ -1,13 +1,15 @@
 package com.example.Personal_Budget_Tracker.rest.controller;
 
+import com.example.Personal_Budget_Tracker.api.impl.CachingCategorySuggester;
 import com.example.Personal_Budget_Tracker.core.model.Category;
 import com.example.Personal_Budget_Tracker.core.service.CategoryService;
 import com.example.Personal_Budget_Tracker.core.api.categorysuggester.CategorySuggester;
+import com.example.Personal_Budget_Tracker.rest.dto.CategorySuggestionDTO;
 import com.example.Personal_Budget_Tracker.rest.dto.ErrorResponse;
+import com.example.Personal_Budget_Tracker.rest.dto.SuggestionCacheStatsResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
@@ -15,6 +17,7 @@ import org.springframework.http.ResponseEntity;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -29,13 +32,17 @@ class CategoryControllerTest {
     @Mock
     private CategorySuggester categorySuggester;
 
-    @InjectMocks
+    @Mock
+    private CachingCategorySuggester suggestionCache;
+
     private CategoryController categoryController;
 
     private Category testCategory;
 
     @BeforeEach
     void setUp() {
+        // Both suggester mocks match the CategorySuggester parameter, so wire explicitly
+        categoryController = new CategoryController(categoryService, categorySuggester, suggestionCache);
         testCategory = new Category();
         testCategory.setId(1L);
         testCategory.setName("Groceries");
@@ -192,29 +199,73 @@ class CategoryControllerTest {
         // Arrange
         String description = "grocery shopping at walmart";
         String expectedSuggestion = "Groceries";
-        when(categorySuggester.suggestCategory(description)).thenReturn(expectedSuggestion);
+        when(categorySuggester.suggestCategoryAsync(description))
+            .thenReturn(CompletableFuture.completedFuture(expectedSuggestion));
 
         // Act
-        ResponseEntity<String> response = categoryController.suggestCategory(description);
+        ResponseEntity<String> response = categoryController.suggestCategory(description).join();
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(expectedSuggestion, response.getBody());
-        verify(categorySuggester).suggestCategory(description);
+        verify(categorySuggester).suggestCategoryAsync(description);
     }
 
     @Test
     void suggestCategory_WhenError_ReturnsInternalServerError() {
         // Arrange
         String description = "grocery shopping at walmart";
-        when(categorySuggester.suggestCategory(description))
-            .thenThrow(new RuntimeException("Error suggesting category"));
+        when(categorySuggester.suggestCategoryAsync(description))
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Error suggesting category")));
 
         // Act
-        ResponseEntity<String> response = categoryController.suggestCategory(description);
+        ResponseEntity<String> response = categoryController.suggestCategory(description).join();
 
         // Assert
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
-        verify(categorySuggester).suggestCategory(description);
+        verify(categorySuggester).suggestCategoryAsync(description);
+    }
+
+    @Test
+    void suggestCategories_ReturnsSuggestionPerDescriptionInOrder() {
+        // Arrange
+        List<String> descriptions = Arrays.asList("walmart", "shell station");
+        when(categorySuggester.suggestCategories(descriptions)).thenReturn(Arrays.asList("groceries", "fuel"));
+
+        // Act
+        ResponseEntity<?> response = categoryController.suggestCategories(descriptions);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<?> suggestions = (List<?>) response.getBody();
+        assertEquals(2, suggestions.size());
+        CategorySuggestionDTO second = (CategorySuggestionDTO) suggestions.get(1);
+        assertEquals("shell station", second.getDescription());
+        assertEquals("fuel", second.getCategory());
+    }
+
+    @Test
+    void suggestCategories_WithNoDescriptions_ReturnsBadRequest() {
+        // Act
+        ResponseEntity<?> response = categoryController.suggestCategories(List.of());
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(categorySuggester, never()).suggestCategories(any());
+    }
+
+    @Test
+    void getSuggestionCacheStats_ReturnsCacheStats() {
+        // Arrange
+        SuggestionCacheStatsResponse stats = new SuggestionCacheStatsResponse(1, 3, 1, 0, 0, 0, 250.0, 750);
+        when(suggestionCache.getStats()).thenReturn(stats);
+
+        // Act
+        ResponseEntity<SuggestionCacheStatsResponse> response = categoryController.getSuggestionCacheStats();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(0.75, response.getBody().getHitRate());
+        assertEquals(750, response.getBody().getEstimatedTimeSavedMillis());
     }
 }
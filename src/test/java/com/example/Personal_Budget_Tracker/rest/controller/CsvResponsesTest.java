@@ -0,0 +1,21 @@
+package com.example.Personal_Budget_Tracker.rest.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvResponsesTest {
+
+    @Test
+    void acceptsGzip_HonoursQualityValues() {
+        // Act & Assert
+        assertTrue(CsvResponses.acceptsGzip("gzip"));
+        assertTrue(CsvResponses.acceptsGzip("deflate, GZIP;q=0.5"));
+        assertTrue(CsvResponses.acceptsGzip("br;q=1.0, *;q=0.1"));
+        assertFalse(CsvResponses.acceptsGzip(null));
+        assertFalse(CsvResponses.acceptsGzip("identity"));
+        assertFalse(CsvResponses.acceptsGzip("gzip;q=0"));
+        assertFalse(CsvResponses.acceptsGzip("gzip; q=0.000, *"));
+        assertFalse(CsvResponses.acceptsGzip("*;q=0"));
+    }
+}
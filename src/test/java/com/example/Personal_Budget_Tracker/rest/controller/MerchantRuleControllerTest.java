@@ -0,0 +1,105 @@
+package com.example.Personal_Budget_Tracker.rest.controller;
+
+import com.example.Personal_Budget_Tracker.core.model.MerchantRule;
+import com.example.Personal_Budget_Tracker.core.service.MerchantRuleMatcher;
+import com.example.Personal_Budget_Tracker.core.service.MerchantRuleService;
+import com.example.Personal_Budget_Tracker.rest.dto.ErrorResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MerchantRuleControllerTest {
+
+    @Mock
+    private MerchantRuleService merchantRuleService;
+
+    @Mock
+    private MerchantRuleMatcher merchantRuleMatcher;
+
+    @InjectMocks
+    private MerchantRuleController merchantRuleController;
+
+    private MerchantRule testRule;
+
+    @BeforeEach
+    void setUp() {
+        testRule = new MerchantRule("shell", 2L);
+        testRule.setId(1L);
+    }
+
+    @Test
+    void createRule_ReturnsCreatedRule() {
+        // Arrange
+        when(merchantRuleService.createRule(any(MerchantRule.class))).thenReturn(testRule);
+
+        // Act
+        ResponseEntity<?> response = merchantRuleController.createRule(new MerchantRule("shell", 2L));
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(testRule, response.getBody());
+    }
+
+    @Test
+    void createRule_WhenInvalid_ReturnsBadRequestWithMessage() {
+        // Arrange
+        when(merchantRuleService.createRule(any(MerchantRule.class)))
+            .thenThrow(new IllegalArgumentException("Category not found with ID: 9"));
+
+        // Act
+        ResponseEntity<?> response = merchantRuleController.createRule(new MerchantRule("shell", 9L));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Category not found with ID: 9", ((ErrorResponse) response.getBody()).getMessage());
+    }
+
+    @Test
+    void updateRule_WhenNotFound_ReturnsNotFound() {
+        // Arrange
+        when(merchantRuleService.updateRule(eq(5L), any(MerchantRule.class)))
+            .thenThrow(new RuntimeException("Merchant rule not found with ID: 5"));
+
+        // Act
+        ResponseEntity<?> response = merchantRuleController.updateRule(5L, testRule);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void deleteRule_ReturnsNoContent() {
+        // Act
+        ResponseEntity<Void> response = merchantRuleController.deleteRule(1L);
+
+        // Assert
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(merchantRuleService).deleteRule(1L);
+    }
+
+    @Test
+    void matchRules_ReturnsMatchingRules() {
+        // Arrange
+        when(merchantRuleMatcher.matchAll("SHELL 5741")).thenReturn(List.of(testRule));
+
+        // Act
+        ResponseEntity<List<MerchantRule>> response = merchantRuleController.matchRules("SHELL 5741");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(testRule), response.getBody());
+    }
+}
@@ -1,28 +1,45 @@
 package com.example.Personal_Budget_Tracker.rest.controller;
 
 import com.example.Personal_Budget_Tracker.core.model.Transaction;
+import com.example.Personal_Budget_Tracker.core.service.ExportJob;
+import com.example.Personal_Budget_Tracker.core.service.ExportJobService;
+import com.example.Personal_Budget_Tracker.core.service.MonthlyRollupService;
+import com.example.Personal_Budget_Tracker.core.service.PdfExportCache;
+import com.example.Personal_Budget_Tracker.core.service.ReportCache;
 import com.example.Personal_Budget_Tracker.core.service.ReportService;
 import com.example.Personal_Budget_Tracker.core.service.PDFExportService;
+import com.example.Personal_Budget_Tracker.rest.dto.DashboardResponse;
+import com.example.Personal_Budget_Tracker.rest.dto.ExportJobResponse;
 import com.example.Personal_Budget_Tracker.rest.dto.MonthlyReportResponse;
 import com.example.Personal_Budget_Tracker.rest.dto.MonthlySpendingDTO;
 import com.example.Personal_Budget_Tracker.rest.dto.PDFExportRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -37,6 +54,21 @@ class ReportControllerTest {
     @Mock
     private PDFExportService pdfExportService;
 
+    @Mock
+    private MonthlyRollupService monthlyRollupService;
+
+    @Mock
+    private ReportCache reportCache;
+
+    @Mock
+    private ExportJobService exportJobService;
+
+    @TempDir
+    static Path cacheDir;
+
+    @Spy
+    private PdfExportCache pdfExportCache = new PdfExportCache(cacheDir.toString(), 10);
+
     @InjectMocks
     private ReportController reportController;
 
@@ -99,33 +131,145 @@ class ReportControllerTest {
     }
 
     @Test
-    void exportReportPDF_ReturnsPdfResource() {
+    void getDashboard_ReturnsAllViews() {
+        // Arrange
+        DashboardResponse dashboard = new DashboardResponse(startDate, endDate, Map.of("2024-01", 500.0),
+            Map.of("Groceries", 500.0), testReport, Collections.emptyList());
+        when(reportService.getDashboard(eq(startDate), eq(endDate), any())).thenReturn(dashboard);
+
+        // Act
+        ResponseEntity<?> response = reportController.getDashboard(startDate, endDate, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(dashboard, response.getBody());
+    }
+
+    @Test
+    void getDashboard_WithInvertedRange_ReturnsBadRequest() {
+        // Act
+        ResponseEntity<?> response = reportController.getDashboard(endDate, startDate, null);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(reportService);
+    }
+
+    @Test
+    void submitExportJob_ReturnsAcceptedWithJobId() {
+        // Arrange
+        ExportJob job = new ExportJob("job-1", "monthly", startDate, endDate, Instant.now());
+        when(exportJobService.submit("monthly", startDate, endDate, null)).thenReturn(job);
+
+        // Act
+        ResponseEntity<ExportJobResponse> response = reportController.submitExportJob(startDate, endDate, null, "monthly");
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals("job-1", response.getBody().getId());
+        assertEquals("QUEUED", response.getBody().getStatus());
+        assertNull(response.getBody().getDownloadUrl());
+    }
+
+    @Test
+    void submitExportJob_WhenQueueFull_ReturnsServiceUnavailable() {
+        // Arrange
+        when(exportJobService.submit(any(), any(), any(), any())).thenThrow(new RejectedExecutionException());
+
+        // Act
+        ResponseEntity<ExportJobResponse> response = reportController.submitExportJob(startDate, endDate, null, "monthly");
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+    }
+
+    @Test
+    void downloadExport_WhenNotFinished_ReturnsConflict() {
+        // Arrange
+        ExportJob job = new ExportJob("job-1", "monthly", startDate, endDate, Instant.now());
+        when(exportJobService.getJob("job-1")).thenReturn(Optional.of(job));
+
+        // Act
+        ResponseEntity<Resource> response = reportController.downloadExport("job-1");
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
+    @Test
+    void downloadExport_WhenUnknown_ReturnsNotFound() {
+        // Arrange
+        when(exportJobService.getJob("missing")).thenReturn(Optional.empty());
+
+        // Act
+        ResponseEntity<Resource> response = reportController.downloadExport("missing");
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void exportReportPDF_ReturnsPdfResource() throws IOException {
         // Arrange
-        byte[] pdfContent = "PDF Content".getBytes();
-        when(pdfExportService.generateReportPDF(eq(startDate), eq(endDate), any()))
+        StreamingResponseBody pdfContent = out -> out.write("PDF Content".getBytes());
+        when(pdfExportService.streamReportPDF(eq(startDate), eq(endDate), any()))
             .thenReturn(pdfContent);
 
         // Act
-        ResponseEntity<byte[]> response = reportController.exportReportPDF(startDate, endDate, null, "monthly");
+        ResponseEntity<Resource> response = reportController.exportReportPDF(startDate, endDate, null, "monthly", null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertTrue(response.getHeaders().getContentType().equals(MediaType.APPLICATION_PDF));
-        verify(pdfExportService).generateReportPDF(eq(startDate), eq(endDate), any());
+        assertNotNull(response.getHeaders().getETag());
+        assertEquals("PDF Content", new String(response.getBody().getContentAsByteArray()));
+        verify(pdfExportService).streamReportPDF(eq(startDate), eq(endDate), any());
+    }
+
+    @Test
+    void exportReportPDF_WithMatchingETag_ReturnsNotModifiedWithoutRendering() {
+        // Arrange
+        when(pdfExportService.streamReportPDF(eq(startDate), eq(endDate), any()))
+            .thenReturn(out -> out.write("PDF Content".getBytes()));
+        String etag = reportController.exportReportPDF(startDate, endDate, null, "monthly", null)
+            .getHeaders().getETag();
+
+        // Act
+        ResponseEntity<Resource> response = reportController.exportReportPDF(startDate, endDate, null, "monthly", etag);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(etag, response.getHeaders().getETag());
+        verify(pdfExportService, times(1)).streamReportPDF(eq(startDate), eq(endDate), any());
     }
 
     @Test
     void exportReportPDF_WhenError_ReturnsInternalServerError() {
         // Arrange
-        when(pdfExportService.generateReportPDF(eq(startDate), eq(endDate), any()))
+        when(pdfExportService.streamReportPDF(eq(startDate), eq(endDate), any()))
             .thenThrow(new RuntimeException("Error generating PDF"));
 
         // Act
-        ResponseEntity<byte[]> response = reportController.exportReportPDF(startDate, endDate, null, "monthly");
+        ResponseEntity<Resource> response = reportController.exportReportPDF(startDate, endDate, null, "monthly", null);
 
         // Assert
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
-        verify(pdfExportService).generateReportPDF(eq(startDate), eq(endDate), any());
+        verify(pdfExportService).streamReportPDF(eq(startDate), eq(endDate), any());
+    }
+
+    @Test
+    void rebuildRollup_ReturnsRowCount() {
+        // Arrange
+        when(monthlyRollupService.rebuild()).thenReturn(12);
+
+        // Act
+        ResponseEntity<Map<String, Integer>> response = reportController.rebuildRollup();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(12, response.getBody().get("rows"));
+        verify(monthlyRollupService).rebuild();
     }
 }
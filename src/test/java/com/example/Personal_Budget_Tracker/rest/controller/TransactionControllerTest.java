@@ -1,7 +1,10 @@
 package com.example.Personal_Budget_Tracker.rest.controller;
 
+import com.example.Personal_Budget_Tracker.core.model.AutoCategorizationCheckpoint;
 import com.example.Personal_Budget_Tracker.core.model.Transaction;
+import com.example.Personal_Budget_Tracker.core.service.AutoCategorizationService;
 import com.example.Personal_Budget_Tracker.core.service.TransactionService;
+import com.example.Personal_Budget_Tracker.rest.dto.AutoCategorizationResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,6 +14,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
@@ -26,6 +30,9 @@ class TransactionControllerTest {
     @Mock
     private TransactionService transactionService;
 
+    @Mock
+    private AutoCategorizationService autoCategorizationService;
+
     @InjectMocks
     private TransactionController transactionController;
 
@@ -187,4 +194,39 @@ class TransactionControllerTest {
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         verify(transactionService).deleteTransaction(transactionId);
     }
+
+    @Test
+    void startAutoCategorization_WhenIdle_ReturnsAcceptedWithProgress() {
+        // Arrange
+        AutoCategorizationCheckpoint checkpoint = new AutoCategorizationCheckpoint(1L);
+        checkpoint.start(Instant.now());
+        checkpoint.advance(20L, 20, 15, Instant.now());
+        when(autoCategorizationService.start()).thenReturn(true);
+        when(autoCategorizationService.getProgress()).thenReturn(checkpoint);
+        when(autoCategorizationService.isRunning()).thenReturn(true);
+        when(autoCategorizationService.countUncategorized()).thenReturn(30L);
+
+        // Act
+        ResponseEntity<AutoCategorizationResponse> response = transactionController.startAutoCategorization();
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals("RUNNING", response.getBody().getStatus());
+        assertEquals(15, response.getBody().getAssigned());
+        assertEquals(5, response.getBody().getSkipped());
+        assertEquals(30, response.getBody().getRemaining());
+    }
+
+    @Test
+    void startAutoCategorization_WhenAlreadyRunning_ReturnsConflict() {
+        // Arrange
+        when(autoCategorizationService.start()).thenReturn(false);
+        when(autoCategorizationService.getProgress()).thenReturn(new AutoCategorizationCheckpoint(1L));
+
+        // Act
+        ResponseEntity<AutoCategorizationResponse> response = transactionController.startAutoCategorization();
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
 }